@@ -0,0 +1,26 @@
+package com.game.ramudu_sita.bench;
+
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+final class BenchSupport {
+
+    private BenchSupport() {
+    }
+
+    /**
+     * Template with the converters Spring configures for the broker channel;
+     * the channel itself drops every message.
+     */
+    static SimpMessagingTemplate noopMessagingTemplate() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        template.setMessageConverter(new CompositeMessageConverter(List.of(
+                new StringMessageConverter(), new ByteArrayMessageConverter(), new MappingJackson2MessageConverter())));
+        return template;
+    }
+}
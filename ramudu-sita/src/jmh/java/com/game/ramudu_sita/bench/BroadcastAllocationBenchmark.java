@@ -0,0 +1,82 @@
+package com.game.ramudu_sita.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.model.Player;
+import com.game.ramudu_sita.model.RoundState;
+import com.game.ramudu_sita.model.RoundSummary;
+import com.game.ramudu_sita.model.RoundStatus;
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.service.GameBroadcaster;
+import com.game.ramudu_sita.service.GameStateMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one public-state broadcast, up to the broker channel.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes/op):
+ * <ul>
+ *   <li>{@code convertAndSend} - the old path: map to a DTO and let the template run Jackson</li>
+ *   <li>{@code cachedNewVersion} - state changed: map + serialize once into the version cache</li>
+ *   <li>{@code cachedSameVersion} - duplicate broadcast of an unchanged version</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadcastAllocationBenchmark {
+
+    private SimpMessagingTemplate template;
+    private GameBroadcaster broadcaster;
+    private GameState game;
+    private String destination;
+
+    @Setup
+    public void setup() {
+        template = BenchSupport.noopMessagingTemplate();
+        broadcaster = new GameBroadcaster(template, new ObjectMapper(), null);
+
+        game = fivePlayerGameInReveal();
+        destination = "/topic/games/" + game.getId() + "/state";
+        game.markChanged();
+    }
+
+    @Benchmark
+    public void convertAndSend() {
+        template.convertAndSend(destination, GameStateMapper.toPublicState(game));
+    }
+
+    @Benchmark
+    public void cachedNewVersion() {
+        game.markChanged();
+        broadcaster.publishPublicState(game);
+    }
+
+    @Benchmark
+    public void cachedSameVersion() {
+        broadcaster.publishPublicState(game);
+    }
+
+    static GameState fivePlayerGameInReveal() {
+        GameState game = new GameState("Pz3vX9qL0cTm4wKa", "ABC234", 5);
+        ChitType[] chits = ChitType.values();
+        RoundState round = new RoundState(1, 5);
+        for (int i = 0; i < 5; i++) {
+            Player p = game.addPlayer("Player " + i);
+            round.assign(p.getSeat(), chits[i]);
+            p.addScore(chits[i].getBasePoints());
+        }
+        round.scoreGuess(1); // Ramudu found Sita
+        round.setStatus(RoundStatus.COMPLETED);
+        game.startRound(round);
+        game.archiveRound(RoundSummary.of(round));
+        game.setStatus(GameStatus.REVEAL);
+        return game;
+    }
+}
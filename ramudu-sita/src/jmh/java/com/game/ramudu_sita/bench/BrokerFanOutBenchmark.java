@@ -0,0 +1,188 @@
+package com.game.ramudu_sita.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.RamuduSitaApplication;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.service.GameService;
+import com.game.ramudu_sita.service.GameStateMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One game state broadcast fanned out to {@code subscribers} WebSocket
+ * clients, with the simple broker or through the STOMP relay to an embedded
+ * Artemis broker. The score is the time until every subscriber has the
+ * message; clients and broker run in the same JVM.
+ * <p>
+ * The figure that matters is printed at the end of the trial: application
+ * CPU per broadcast, i.e. CPU time of the app's own threads (Tomcat, the
+ * STOMP channels, the relay connection and the benchmark thread that
+ * publishes), leaving out the clients and the broker. The relay moves
+ * subscription matching and message retention into the broker, but every
+ * WebSocket session still has its own broker connection, so each subscriber's
+ * copy comes back through the app: expect relay mode to cost more app CPU per
+ * broadcast on one node. What it buys is sharing subscriptions between nodes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class BrokerFanOutBenchmark {
+
+    public enum Broker {SIMPLE, RELAY}
+
+    private static final String[] APP_THREADS = {
+            "http-nio-", "clientInboundChannel", "clientOutboundChannel", "brokerChannel",
+            "MessageBroker", "tcp-client-loop", "reactor-tcp", "jmh-worker"};
+
+    @Param({"SIMPLE", "RELAY"})
+    public Broker broker;
+
+    @Param({"200"})
+    public int subscribers;
+
+    private ConfigurableApplicationContext app;
+    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketStompClient stompClient;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final Semaphore delivered = new Semaphore(0);
+    private Message<byte[]> state;
+    private String destination;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long broadcasts;
+    private long appCpuNanos;
+    private long iterationBroadcasts;
+    private long iterationCpuStart;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        app = new SpringApplicationBuilder(RamuduSitaApplication.class).run(
+                "--server.port=" + freePort(),
+                "--app.broker.mode=" + broker,
+                "--app.broker.embedded=" + (broker == Broker.RELAY),
+                "--app.broker.relay-port=" + freePort(),
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        messagingTemplate = app.getBean(SimpMessagingTemplate.class);
+        if (broker == Broker.RELAY) {
+            StompBrokerRelayMessageHandler relay = app.getBean(StompBrokerRelayMessageHandler.class);
+            while (!relay.isBrokerAvailable()) {
+                Thread.sleep(50);
+            }
+        }
+
+        // a realistic payload: the public state of a 5-player game
+        GameService gameService = app.getBean(GameService.class);
+        var host = gameService.createGame("Host", 5, null);
+        for (int i = 0; i < 4; i++) {
+            gameService.joinGame(host.code(), "Player " + i);
+        }
+        gameService.startGame(host.gameId(), host.seat());
+        GameState game = gameService.getGame(host.gameId());
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        state = MessageBuilder.createMessage(
+                new ObjectMapper().writeValueAsBytes(GameStateMapper.toPublicState(game)), headers.getMessageHeaders());
+        destination = "/topic/games/" + game.getId() + "/spectate"; // the topic anyone may subscribe to
+
+        String url = "ws://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/ws";
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        for (int i = 0; i < subscribers; i++) {
+            StompSession session = stompClient.connectAsync(url, new WebSocketHttpHeaders(),
+                    new StompSessionHandlerAdapter() {
+                    }).get(10, TimeUnit.SECONDS);
+            session.subscribe(destination, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return byte[].class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    delivered.release();
+                }
+            });
+            sessions.add(session);
+        }
+        // subscriptions are confirmed once a broadcast reaches every client
+        do {
+            messagingTemplate.send(destination, state);
+        } while (!delivered.tryAcquire(subscribers, 1, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        delivered.drainPermits();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuClock() {
+        iterationBroadcasts = 0;
+        iterationCpuStart = appCpuNanos();
+    }
+
+    @Benchmark
+    public void broadcast() throws InterruptedException {
+        messagingTemplate.send(destination, state);
+        delivered.acquire(subscribers);
+        iterationBroadcasts++;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopCpuClock() {
+        appCpuNanos += appCpuNanos() - iterationCpuStart;
+        broadcasts += iterationBroadcasts;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws InterruptedException {
+        // warmup iterations are included; their share is small next to the measured ones
+        System.out.printf("%n%s, %d subscribers: app CPU per broadcast %.1f us (%d broadcasts)%n",
+                broker, subscribers, appCpuNanos / 1000.0 / Math.max(1, broadcasts), broadcasts);
+        sessions.forEach(StompSession::disconnect);
+        Thread.sleep(500); // let the relay forward the DISCONNECTs before the broker goes away
+        stompClient.stop();
+        app.close();
+    }
+
+    private long appCpuNanos() {
+        long total = 0;
+        for (ThreadInfo info : threads.dumpAllThreads(false, false)) {
+            for (String prefix : APP_THREADS) {
+                if (info.getThreadName().contains(prefix)) {
+                    long cpu = threads.getThreadCpuTime(info.getThreadId());
+                    total += Math.max(0, cpu);
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.service.GameCommandExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Command throughput when 16 request threads spread their commands over
+ * {@code games} games: a single global lock (what the service needed before
+ * per-game mailboxes) versus {@link GameCommandExecutor}.
+ * <p>
+ * With the global lock throughput stays flat as games are added; with the
+ * mailbox executor it grows with the game count until cores are saturated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class GameCommandThroughputBenchmark {
+
+    public enum Mode { GLOBAL_LOCK, MAILBOX }
+
+    @Param({"1", "4", "16", "64"})
+    public int games;
+
+    @Param({"GLOBAL_LOCK", "MAILBOX"})
+    public Mode mode;
+
+    private final Object globalLock = new Object();
+    private GameCommandExecutor executor;
+    private String[] gameIds;
+    private long[][] gameState;
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Caller {
+        int game;
+
+        @Setup
+        public void setup(GameCommandThroughputBenchmark bench) {
+            game = bench.nextThread.getAndIncrement() % bench.games;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        executor = new GameCommandExecutor();
+        gameIds = new String[games];
+        gameState = new long[games][8];
+        for (int i = 0; i < games; i++) {
+            gameIds[i] = "game-" + i;
+            executor.register(gameIds[i]);
+        }
+    }
+
+    @Benchmark
+    public long command(Caller caller) {
+        int g = caller.game;
+        if (mode == Mode.GLOBAL_LOCK) {
+            synchronized (globalLock) {
+                return mutate(gameState[g]);
+            }
+        }
+        return executor.execute(gameIds[g], () -> mutate(gameState[g]));
+    }
+
+    /**
+     * Roughly the work of a join/guess: a few field updates plus some scoring.
+     */
+    private static long mutate(long[] state) {
+        long acc = 0;
+        for (int i = 0; i < state.length; i++) {
+            state[i] += i;
+            acc += state[i];
+        }
+        Blackhole.consumeCPU(200);
+        return acc;
+    }
+}
@@ -0,0 +1,78 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.model.RoundState;
+import com.game.ramudu_sita.model.RoundStatus;
+import com.game.ramudu_sita.service.GameService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by one 5-player, 5-round game, measured with JOL at three
+ * points of its life:
+ * <ul>
+ *   <li>{@code LOBBY} - everyone has joined</li>
+ *   <li>{@code TWO_ROUNDS} - two guesses in, round 3 dealt</li>
+ *   <li>{@code FINISHED} - all five rounds played</li>
+ * </ul>
+ * The timed part only plays a game to that point; the footprint of the last
+ * game played, with a per-class breakdown, is printed when the trial ends.
+ * Enum constants are shared by every game and are not counted.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Djdk.attach.allowAttachSelf=true", "-XX:+EnableDynamicAgentLoading"})
+@State(Scope.Benchmark)
+public class GameFootprintBenchmark {
+
+    public enum Stage {LOBBY, TWO_ROUNDS, FINISHED}
+
+    @Param
+    public Stage stage;
+
+    private GameService gameService;
+    private GameState last;
+    private int played;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        gameService = new GameService(BenchSupport.noopMessagingTemplate(), new AppProperties());
+    }
+
+    @Benchmark
+    public GameState play() {
+        int n = played++;
+        var host = gameService.createGame("Host " + n, 5, null);
+        for (int i = 0; i < 4; i++) {
+            gameService.joinGame(host.code(), "Player " + n + "." + i);
+        }
+        GameState game = gameService.getGame(host.gameId());
+        if (stage != Stage.LOBBY) {
+            gameService.startGame(host.gameId(), host.seat());
+            int guesses = stage == Stage.TWO_ROUNDS ? 2 : 5;
+            for (int g = 0; g < guesses; g++) {
+                RoundState round = game.getCurrentRound();
+                gameService.makeGuess(host.gameId(), round.getRamuduSeat(), round.getSitaSeat());
+            }
+        }
+        last = game;
+        return game;
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        last.setStatusListener(null); // leads back to the whole service
+        GraphLayout shared = GraphLayout.parseInstance(
+                (Object[]) new Object[][]{ChitType.values(), GameStatus.values(), RoundStatus.values()});
+        GraphLayout game = GraphLayout.parseInstance(last).subtract(shared);
+        System.out.printf("%n%s: %d bytes in %d objects per game%n%s",
+                stage, game.totalSize(), game.totalCount(), game.toFootprint());
+    }
+}
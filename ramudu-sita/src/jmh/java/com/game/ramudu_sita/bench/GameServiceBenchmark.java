@@ -0,0 +1,136 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.model.RoundState;
+import com.game.ramudu_sita.service.GameService;
+import com.game.ramudu_sita.service.GameStateMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game engine hot paths with {@code games} lobbies already in memory, so map
+ * lookups and GC work against a realistically sized heap.
+ * <ul>
+ *   <li>{@code createGame} - one new lobby</li>
+ *   <li>{@code joinGame} - one join; every 4th op also creates the lobby being filled</li>
+ *   <li>{@code makeGuess} - one guess including scoring and dealing the next round;
+ *       every 10th op also sets up the next 5-player game</li>
+ *   <li>{@code toPublicState} - map a random in-memory game to its broadcast DTO</li>
+ * </ul>
+ * Games created during an iteration are finished and evicted after it, so the
+ * population stays at {@code games}. Broadcasts go through the real broadcaster
+ * into a channel that drops them. Run with {@code -prof gc} for allocation rate;
+ * 1M games needs a few GB of heap.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int games;
+
+    private GameService gameService;
+    private String[] gameIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        AppProperties props = new AppProperties();
+        props.getGames().setFinishedTtl(Duration.ZERO); // lets teardown evict what the benchmark created
+        gameService = new GameService(BenchSupport.noopMessagingTemplate(), props);
+
+        gameIds = new String[games];
+        for (int i = 0; i < games; i++) {
+            gameIds[i] = gameService.createGame("Host " + i, 5, null).gameId();
+        }
+    }
+
+    /**
+     * Games one benchmark thread created, finished and evicted after each iteration.
+     */
+    @State(Scope.Thread)
+    public static class Created {
+        final List<String> gameIds = new ArrayList<>();
+
+        String lobbyCode;
+        int joinsLeft;
+
+        GameState inRound;
+
+        @TearDown(Level.Iteration)
+        public void evict(GameServiceBenchmark bench) {
+            for (String id : gameIds) {
+                GameState game = bench.gameService.getGame(id);
+                if (game != null) {
+                    game.setStatus(GameStatus.FINISHED);
+                }
+            }
+            gameIds.clear();
+            lobbyCode = null;
+            joinsLeft = 0;
+            inRound = null;
+            while (bench.gameService.cleanupOldGames() > 0) {
+                // evicts in batches
+            }
+        }
+    }
+
+    @Benchmark
+    public String createGame(Created created) {
+        String id = gameService.createGame("Host", 5, null).gameId();
+        created.gameIds.add(id);
+        return id;
+    }
+
+    @Benchmark
+    public int joinGame(Created created) {
+        if (created.joinsLeft == 0) {
+            var lobby = gameService.createGame("Host", 5, null);
+            created.gameIds.add(lobby.gameId());
+            created.lobbyCode = lobby.code();
+            created.joinsLeft = 4;
+        }
+        created.joinsLeft--;
+        return gameService.joinGame(created.lobbyCode, "Player").seat();
+    }
+
+    @Benchmark
+    public GameStatus makeGuess(Created created) {
+        GameState game = created.inRound;
+        if (game == null || game.getStatus() == GameStatus.FINISHED) {
+            game = startFivePlayerGame(created);
+        }
+        RoundState round = game.getCurrentRound();
+        gameService.makeGuess(game.getId(), round.getRamuduSeat(), round.getSitaSeat());
+        return game.getStatus();
+    }
+
+    @Benchmark
+    public GamePublicState toPublicState() {
+        String id = gameIds[ThreadLocalRandom.current().nextInt(games)];
+        return GameStateMapper.toPublicState(gameService.getGame(id));
+    }
+
+    private GameState startFivePlayerGame(Created created) {
+        var host = gameService.createGame("Host", 10, null);
+        for (int i = 0; i < 4; i++) {
+            gameService.joinGame(host.code(), "Player " + i);
+        }
+        gameService.startGame(host.gameId(), host.seat());
+        created.gameIds.add(host.gameId());
+        created.inRound = gameService.getGame(host.gameId());
+        return created.inRound;
+    }
+}
@@ -0,0 +1,109 @@
+package com.game.ramudu_sita.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.journal.GameJournal;
+import com.game.ramudu_sita.journal.MappedGameJournal;
+import com.game.ramudu_sita.model.RoundState;
+import com.game.ramudu_sita.service.GameBroadcaster;
+import com.game.ramudu_sita.service.GameService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from start to all {@code games} live games back in memory.
+ * <ul>
+ *   <li>{@code JOURNAL} - every create/join/start/guess since the games began is replayed</li>
+ *   <li>{@code SNAPSHOT} - one snapshot taken after the games were played, nothing after it</li>
+ * </ul>
+ * Games are 5 players each; half are still in the lobby and half are two
+ * guesses into a 5-round game. The journal directory is written once per trial
+ * and read back, from the page cache, on every iteration.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class JournalRestartBenchmark {
+
+    public enum Source {JOURNAL, SNAPSHOT}
+
+    @Param({"100000"})
+    public int games;
+
+    @Param({"JOURNAL", "SNAPSHOT"})
+    public Source source;
+
+    private Path dir;
+    private AppProperties props;
+    private GameJournal restoredJournal;
+
+    @Setup(Level.Trial)
+    public void writeJournal() {
+        try {
+            dir = Files.createTempDirectory("journal-bench");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        props = new AppProperties();
+        props.getJournal().setDirectory(dir.toString());
+        props.getJournal().setFsync(AppProperties.Journal.Fsync.NEVER);
+
+        MappedGameJournal journal = new MappedGameJournal(props.getJournal());
+        GameService gameService = newService(journal);
+        for (int i = 0; i < games; i++) {
+            var host = gameService.createGame("Host " + i, 5, null);
+            for (int p = 0; p < 4; p++) {
+                gameService.joinGame(host.code(), "Player " + p);
+            }
+            if (i % 2 == 0) {
+                gameService.startGame(host.gameId(), host.seat());
+                for (int g = 0; g < 2; g++) {
+                    RoundState round = gameService.getGame(host.gameId()).getCurrentRound();
+                    gameService.makeGuess(host.gameId(), round.getRamuduSeat(), round.getSitaSeat());
+                }
+            }
+        }
+        if (source == Source.SNAPSHOT) {
+            gameService.snapshotToJournal();
+        }
+        journal.close();
+    }
+
+    @Benchmark
+    public int restart() {
+        restoredJournal = new MappedGameJournal(props.getJournal());
+        return newService(restoredJournal).restoreFromJournal();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRestored() {
+        if (restoredJournal != null) {
+            restoredJournal.close();
+            restoredJournal = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    private GameService newService(GameJournal journal) {
+        GameBroadcaster broadcaster = new GameBroadcaster(BenchSupport.noopMessagingTemplate(),
+                new ObjectMapper(), null, props);
+        return new GameService(broadcaster, props, journal);
+    }
+}
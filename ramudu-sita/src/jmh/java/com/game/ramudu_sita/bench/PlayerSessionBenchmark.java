@@ -0,0 +1,43 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.service.PlayerSessionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PlayerSessionService#requireValidSession} with one session per game
+ * for {@code games} games, each op validating a random one.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class PlayerSessionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int games;
+
+    private PlayerSessionService sessions;
+    private PlayerSessionService.PlayerSession[] created;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sessions = new PlayerSessionService();
+        created = new PlayerSessionService.PlayerSession[games];
+        for (int i = 0; i < games; i++) {
+            created[i] = sessions.createSession(UUID.randomUUID().toString(), i % 5);
+        }
+    }
+
+    @Benchmark
+    public PlayerSessionService.PlayerSession requireValidSession() {
+        PlayerSessionService.PlayerSession s = created[ThreadLocalRandom.current().nextInt(games)];
+        return sessions.requireValidSession(s.token(), s.gameId());
+    }
+}
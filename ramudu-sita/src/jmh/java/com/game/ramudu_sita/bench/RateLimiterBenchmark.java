@@ -0,0 +1,46 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.rate.RateLimiterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimiterService#checkRate} with {@code keys} distinct client keys
+ * already tracked, each op hitting a random one (never over the limit).
+ * The key cap is raised so none of them is evicted.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int keys;
+
+    private RateLimiterService rateLimiter;
+    private String[] clientKeys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        AppProperties props = new AppProperties();
+        props.getRateLimit().setMaxKeys(2 * keys + 2);
+        rateLimiter = new RateLimiterService(props);
+        clientKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clientKeys[i] = "GUESS:10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+            rateLimiter.checkRate(clientKeys[i], Integer.MAX_VALUE, 60);
+        }
+    }
+
+    @Benchmark
+    public void checkRate() {
+        rateLimiter.checkRate(clientKeys[ThreadLocalRandom.current().nextInt(keys)], Integer.MAX_VALUE, 60);
+    }
+}
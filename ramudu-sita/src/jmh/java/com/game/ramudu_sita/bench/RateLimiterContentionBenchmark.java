@@ -0,0 +1,84 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.rate.RateLimitAlgorithm;
+import com.game.ramudu_sita.rate.RateLimiterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 threads hammering one key (a NAT'd office, or one abusive client): the
+ * monitor-based fixed window the limiter used to have versus each lock-free
+ * {@link RateLimitAlgorithm}.
+ * <p>
+ * The limit is high enough that calls are allowed, so each op is a real state
+ * update rather than a read-only rejection (except SLIDING_WINDOW, whose count
+ * caps at 2^20 per window). Run with {@code -prof gc} to check the CAS paths
+ * allocate nothing.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class RateLimiterContentionBenchmark {
+
+    private static final String KEY = "GUESS:203.0.113.7";
+
+    public enum Engine { SYNCHRONIZED, FIXED_WINDOW, TOKEN_BUCKET, SLIDING_WINDOW }
+
+    @Param({"SYNCHRONIZED", "FIXED_WINDOW", "TOKEN_BUCKET", "SLIDING_WINDOW"})
+    public Engine engine;
+
+    private RateLimiterService rateLimiter;
+    private RateLimitAlgorithm algorithm;
+    private SynchronizedFixedWindow legacy;
+
+    @Setup
+    public void setup() {
+        rateLimiter = new RateLimiterService();
+        legacy = new SynchronizedFixedWindow();
+        algorithm = engine == Engine.SYNCHRONIZED ? null : RateLimitAlgorithm.valueOf(engine.name());
+    }
+
+    @Benchmark
+    public boolean acquire() {
+        if (algorithm == null) {
+            return legacy.tryAcquire(KEY, Integer.MAX_VALUE, 60);
+        }
+        return rateLimiter.tryAcquire(KEY, Integer.MAX_VALUE, 60, algorithm);
+    }
+
+    /**
+     * The limiter before it went lock-free: a monitor per key and {@code Instant.now()} per call.
+     */
+    static final class SynchronizedFixedWindow {
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+        private static final class Counter {
+            long windowStartEpochSeconds;
+            int count;
+        }
+
+        boolean tryAcquire(String key, int limit, long windowSeconds) {
+            long now = Instant.now().getEpochSecond();
+            Counter counter = counters.computeIfAbsent(key, k -> new Counter());
+            synchronized (counter) {
+                if (now - counter.windowStartEpochSeconds >= windowSeconds) {
+                    counter.windowStartEpochSeconds = now;
+                    counter.count = 0;
+                }
+                if (counter.count >= limit) {
+                    return false;
+                }
+                counter.count++;
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.game.ramudu_sita.bench;
+
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.RoundState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The scoring half of {@code makeGuess}: score Ramudu's guess on a dealt
+ * 5-seat round and add each seat's delta to its player, alternating a right
+ * and a wrong guess. Run with {@code -prof gc}; it should allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundScoringBenchmark {
+
+    private GameState game;
+    private RoundState round;
+    private int guess;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = new GameState("Pz3vX9qL0cTm4wKa", "ABC234", 5);
+        round = new RoundState(1, 5);
+        ChitType[] chits = ChitType.values();
+        for (int seat = 0; seat < 5; seat++) {
+            game.addPlayer("Player " + seat);
+            round.assign(seat, chits[(seat + 2) % 5]);
+        }
+    }
+
+    @Benchmark
+    public int scoreGuess() {
+        guess = guess == round.getSitaSeat() ? (round.getSitaSeat() + 1) % 5 : round.getSitaSeat();
+        round.scoreGuess(guess);
+        for (int seat = 0; seat < round.getSeats(); seat++) {
+            game.getPlayer(seat).addScore(round.getScoreDelta(seat));
+        }
+        return game.getPlayer(0).getTotalScore();
+    }
+}
@@ -0,0 +1,135 @@
+package com.game.ramudu_sita.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A client that watches every game in play and then stops reading, like a
+ * phone that went into a tunnel. Player topics are for seated players only,
+ * so it subscribes to each game's spectator topic. Its socket buffers fill and the
+ * server's sends to it block until they time out, tying up whichever thread
+ * was writing. Every {@code reconnectEvery} it drops the connection and makes
+ * a new one, so the pressure lasts for the whole run.
+ * <p>
+ * Speaks just enough WebSocket and STOMP over a raw socket to get subscribed;
+ * a real client library would keep reading.
+ */
+final class FrozenClient implements Runnable {
+
+    private final LoadRunner runner;
+    private final URI baseUri;
+    private final long reconnectEveryNanos;
+    private final LoadStats stats;
+    private volatile boolean stopped;
+
+    FrozenClient(LoadRunner runner, URI baseUri, long reconnectEveryNanos) {
+        this.runner = runner;
+        this.baseUri = baseUri;
+        this.reconnectEveryNanos = reconnectEveryNanos;
+        this.stats = runner.stats();
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void run() {
+        while (!stopped) {
+            List<String> games = runner.gameIdsInPlay();
+            if (games.isEmpty()) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100); // nothing to watch yet
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            try (Socket socket = new Socket()) {
+                socket.setReceiveBufferSize(4096); // fill up after a handful of frames
+                socket.connect(new InetSocketAddress(baseUri.getHost(), baseUri.getPort()), 10_000);
+                handshake(socket, games);
+                stats.frozenConnects.increment();
+
+                long until = System.nanoTime() + reconnectEveryNanos;
+                while (!stopped && System.nanoTime() < until) {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                }
+            } catch (IOException e) {
+                stats.recordError("frozen client: " + e.getClass().getSimpleName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void handshake(Socket socket, List<String> games) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /ws HTTP/1.1\r\n"
+                + "Host: " + baseUri.getHost() + ":" + baseUri.getPort() + "\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+                + "Sec-WebSocket-Version: 13\r\n"
+                + "Sec-WebSocket-Protocol: v12.stomp\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        // read up to the end of the response headers, and not a byte more
+        InputStream in = socket.getInputStream();
+        StringBuilder response = new StringBuilder();
+        while (response.length() < 4 || !response.substring(response.length() - 4).equals("\r\n\r\n")) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("connection closed during handshake");
+            }
+            response.append((char) b);
+        }
+        if (response.indexOf("HTTP/1.1 101") != 0) {
+            throw new IOException("handshake refused: " + response.substring(0, response.indexOf("\r\n")));
+        }
+
+        // no heart-beats, so the server has no reason to drop us for being quiet
+        writeFrame(out, "CONNECT\naccept-version:1.2\nhost:" + baseUri.getHost() + "\nheart-beat:0,0\n\n\0");
+        for (int i = 0; i < games.size(); i++) {
+            try {
+                // a game only has a spectator feed once someone asked to watch it
+                runner.get("spectate", "/api/games/" + games.get(i) + "/spectate", runner.nextClientIp());
+            } catch (LoadRunner.OperationFailedException e) {
+                continue; // ended meanwhile; already counted
+            }
+            writeFrame(out, "SUBSCRIBE\nid:" + i + "\ndestination:/topic/games/" + games.get(i) + "/spectate\n\n\0");
+        }
+        out.flush();
+    }
+
+    /**
+     * One masked text frame, as every client-to-server frame must be.
+     */
+    private static void writeFrame(OutputStream out, String text) throws IOException {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        out.write(0x81);
+        if (payload.length < 126) {
+            out.write(0x80 | payload.length);
+        } else {
+            out.write(0x80 | 126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length & 0xFF);
+        }
+        byte[] mask = new byte[4];
+        ThreadLocalRandom.current().nextBytes(mask);
+        out.write(mask);
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] ^= mask[i & 3];
+        }
+        out.write(payload);
+    }
+}
@@ -0,0 +1,94 @@
+package com.game.ramudu_sita.loadtest;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds with log-linear buckets
+ * (8 per power of two, so values are reported within ~12%).
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketOf(Long.MAX_VALUE) + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucketOf(micros));
+        total.incrementAndGet();
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @return upper bound (in microseconds) of the bucket holding the given percentile
+     */
+    long percentileMicros(double percentile) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * n);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * One line per non-empty bucket: range, count and a bar scaled to the largest bucket.
+     */
+    void printDistribution(PrintStream out) {
+        long largest = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            largest = Math.max(largest, counts.get(i));
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            if (c == 0) {
+                continue;
+            }
+            int bar = (int) Math.max(1, c * 40 / largest);
+            out.printf("    %10.3f - %10.3f ms %9d %s%n",
+                    lowerBound(i) / 1000.0, upperBound(i) / 1000.0, c, "#".repeat(bar));
+        }
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket + 1 < bucketOf(Long.MAX_VALUE) + 1 ? lowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,197 @@
+package com.game.ramudu_sita.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps {@code games} simulated games in play, starting new ones at the ramp
+ * rate until the test duration is over, then waits for the last ones to finish.
+ */
+final class LoadRunner {
+
+    /**
+     * @param body        parsed JSON body, or null if there is none
+     * @param playerToken PLAYER_TOKEN cookie set by the response, if any
+     */
+    record Reply(JsonNode body, String playerToken) {
+    }
+
+    // how long a frozen client holds its connection before replacing it; longer than the server's send timeouts
+    private static final Duration FROZEN_RECONNECT = Duration.ofSeconds(30);
+
+    static final class OperationFailedException extends RuntimeException {
+        OperationFailedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final LoadStats stats = new LoadStats();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http;
+    private final WebSocketStompClient stompClient;
+
+    private final Set<SimulatedGame> inPlay = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger clients = new AtomicInteger();
+
+    LoadRunner(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        this.stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    /**
+     * @return wall-clock nanoseconds the run took
+     */
+    long run() throws InterruptedException {
+        long started = System.nanoTime();
+        long end = started + config.duration().toNanos();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / config.rampPerSecond());
+
+        List<FrozenClient> frozen = new ArrayList<>();
+        for (int i = 0; i < config.frozenClients(); i++) {
+            FrozenClient client = new FrozenClient(this, baseUri, FROZEN_RECONNECT.toNanos());
+            frozen.add(client);
+            Thread.startVirtualThread(client);
+        }
+
+        long next = started;
+        while (System.nanoTime() < end) {
+            if (inPlay.size() >= config.games()) {
+                Thread.sleep(5);
+                next = System.nanoTime(); // at capacity: don't burst to catch up afterwards
+                continue;
+            }
+            SimulatedGame game = new SimulatedGame(this);
+            inPlay.add(game);
+            Thread.startVirtualThread(game::play);
+
+            next += interval;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+
+        // games still in play finish (or time out) on their own
+        while (!inPlay.isEmpty()) {
+            Thread.sleep(50);
+        }
+        frozen.forEach(FrozenClient::stop);
+        return System.nanoTime() - started;
+    }
+
+    /**
+     * POST with the client's own X-Forwarded-For and, if given, its PLAYER_TOKEN cookie.
+     *
+     * @throws OperationFailedException on a non-2xx response or I/O error (already counted)
+     */
+    Reply post(String operation, String path, String clientIp, String token, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", clientIp)
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Cookie", "PLAYER_TOKEN=" + token);
+        }
+        return send(operation, request);
+    }
+
+    /**
+     * GET with the client's own X-Forwarded-For; fails like {@link #post}.
+     */
+    Reply get(String operation, String path, String clientIp) {
+        return send(operation, HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-Forwarded-For", clientIp)
+                .GET());
+    }
+
+    private Reply send(String operation, HttpRequest.Builder request) {
+        long started = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            stats.recordError(operation + ": " + e.getClass().getSimpleName());
+            throw new OperationFailedException(operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationFailedException(operation);
+        }
+        stats.recordOperation(operation, System.nanoTime() - started);
+
+        if (response.statusCode() / 100 != 2) {
+            stats.recordError(operation + ": HTTP " + response.statusCode());
+            throw new OperationFailedException(operation);
+        }
+        String playerToken = response.headers().allValues("Set-Cookie").stream()
+                .filter(c -> c.startsWith("PLAYER_TOKEN="))
+                .map(c -> c.substring("PLAYER_TOKEN=".length()).split(";", 2)[0])
+                .findFirst()
+                .orElse(null);
+        try {
+            return new Reply(response.body().isEmpty() ? null : objectMapper.readTree(response.body()), playerToken);
+        } catch (IOException e) {
+            stats.recordError(operation + ": bad JSON");
+            throw new OperationFailedException(operation);
+        }
+    }
+
+    /**
+     * A fresh address per simulated device, so per-IP rate limits apply per player as in production.
+     */
+    String nextClientIp() {
+        int n = clients.incrementAndGet();
+        return "10." + (n >>> 16 & 0xFF) + "." + (n >>> 8 & 0xFF) + "." + (n & 0xFF);
+    }
+
+    List<String> gameIdsInPlay() {
+        return inPlay.stream().map(SimulatedGame::gameId).filter(Objects::nonNull).toList();
+    }
+
+    void gameEnded(SimulatedGame game) {
+        inPlay.remove(game);
+    }
+
+    String webSocketUrl() {
+        return "ws://" + baseUri.getHost() + ":" + baseUri.getPort() + "/ws";
+    }
+
+    WebSocketStompClient stompClient() {
+        return stompClient;
+    }
+
+    LoadTestConfig config() {
+        return config;
+    }
+
+    LoadStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,82 @@
+package com.game.ramudu_sita.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Everything the simulated clients measure, shared by all of them.
+ */
+final class LoadStats {
+
+    // REST operations and STOMP connects, request sent -> response received
+    private final Map<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+    // command sent -> state frame received, per subscriber
+    private final Map<String, LatencyHistogram> deliveries = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    final LongAdder gamesStarted = new LongAdder();
+    final LongAdder gamesCompleted = new LongAdder();
+    final LongAdder gamesStalled = new LongAdder();
+    final LongAdder framesReceived = new LongAdder();
+    final LongAdder frozenConnects = new LongAdder();
+    final LongAdder spectatorsConnected = new LongAdder();
+    final LongAdder spectatorsSawFinish = new LongAdder();
+
+    void recordOperation(String operation, long nanos) {
+        operations.computeIfAbsent(operation, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    void recordDelivery(String destination, long nanos) {
+        deliveries.computeIfAbsent(destination, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    void recordError(String what) {
+        errors.computeIfAbsent(what, k -> new LongAdder()).increment();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void print(PrintStream out, LoadTestConfig config, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n== Load test: games=%d ramp=%.1f/s duration=%s players=%d rounds=%d frozen=%d spectators=%d ==%n",
+                config.games(), config.rampPerSecond(), config.duration(), config.playersPerGame(), config.rounds(),
+                config.frozenClients(), config.spectators());
+        out.printf("games started %d, completed %d, stalled %d in %.1fs (%.1f completed games/s), %d state frames%n",
+                gamesStarted.sum(), gamesCompleted.sum(), gamesStalled.sum(), seconds,
+                gamesCompleted.sum() / seconds, framesReceived.sum());
+        if (config.frozenClients() > 0) {
+            out.printf("frozen clients: %d connections made%n", frozenConnects.sum());
+        }
+        if (config.spectators() > 0) {
+            out.printf("spectators: %d connected, %d saw their game finish%n",
+                    spectatorsConnected.sum(), spectatorsSawFinish.sum());
+        }
+
+        out.printf("%n%-22s %9s %9s %9s %9s %9s %9s%n", "latency (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        printTable(out, operations, config.histograms());
+        out.printf("%n%-22s %9s %9s %9s %9s %9s %9s%n", "delivery lag (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        printTable(out, deliveries, config.histograms());
+
+        long requests = operations.values().stream().mapToLong(LatencyHistogram::count).sum();
+        out.printf("%nerrors: %d (%.3f%% of %d operations)%n", errorCount(),
+                requests == 0 ? 0.0 : 100.0 * errorCount() / requests, requests);
+        new TreeMap<>(errors).forEach((what, count) -> out.printf("  %-40s %9d%n", what, count.sum()));
+    }
+
+    private static void printTable(PrintStream out, Map<String, LatencyHistogram> histograms, boolean distribution) {
+        new TreeMap<>(histograms).forEach((name, h) -> {
+            out.printf("%-22s %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, h.count(),
+                    h.percentileMicros(50) / 1000.0, h.percentileMicros(90) / 1000.0,
+                    h.percentileMicros(99) / 1000.0, h.percentileMicros(99.9) / 1000.0,
+                    h.maxMicros() / 1000.0);
+            if (distribution) {
+                h.printDistribution(out);
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.game.ramudu_sita.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, given as {@code key=value} program arguments.
+ *
+ * @param games          games kept in play at the same time
+ * @param rampPerSecond  new games started per second until {@code games} are in play
+ * @param duration       how long new games keep being started
+ * @param playersPerGame players per game, host included (3-5)
+ * @param rounds         rounds per game
+ * @param gameTimeout    a game that doesn't finish within this is counted as stalled
+ * @param target         server to test; null starts one in this JVM
+ * @param frozenClients clients watching every game in play that never read (see {@link FrozenClient})
+ * @param spectators     clients watching each game on its throttled spectator topic
+ */
+record LoadTestConfig(int games, double rampPerSecond, Duration duration, int playersPerGame,
+                      int rounds, Duration gameTimeout, URI target, boolean histograms, int frozenClients,
+                      int spectators) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("games", "100")),
+                Double.parseDouble(values.getOrDefault("ramp", "20")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("players", "5")),
+                Integer.parseInt(values.getOrDefault("rounds", "3")),
+                DurationStyle.detectAndParse(values.getOrDefault("game-timeout", "60s")),
+                values.containsKey("target") ? URI.create(values.get("target")) : null,
+                Boolean.parseBoolean(values.getOrDefault("histograms", "false")),
+                Integer.parseInt(values.getOrDefault("frozen", "0")),
+                Integer.parseInt(values.getOrDefault("spectators", "0")));
+
+        if (config.playersPerGame() < 3 || config.playersPerGame() > 5) {
+            throw new IllegalArgumentException("players must be between 3 and 5");
+        }
+        if (config.rounds() < 1 || config.rounds() > 10) {
+            throw new IllegalArgumentException("rounds must be between 1 and 10");
+        }
+        if (config.games() < 1 || config.rampPerSecond() <= 0) {
+            throw new IllegalArgumentException("games and ramp must be positive");
+        }
+        if (config.frozenClients() < 0 || config.spectators() < 0) {
+            throw new IllegalArgumentException("frozen and spectators must not be negative");
+        }
+        return config;
+    }
+}
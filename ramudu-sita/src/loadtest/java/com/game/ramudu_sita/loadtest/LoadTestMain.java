@@ -0,0 +1,54 @@
+package com.game.ramudu_sita.loadtest;
+
+import com.game.ramudu_sita.RamuduSitaApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+
+/**
+ * Plays many complete games over REST and STOMP against a local server and
+ * reports latency, delivery lag and error rates. Run with:
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="games=500 ramp=50 duration=2m"
+ * </pre>
+ * See {@link LoadTestConfig} for all parameters. Without {@code target=http://host:port}
+ * the server is started in this JVM on a random port; server settings go in as system
+ * properties, e.g. to compare thread models with clients that stop reading:
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="games=200 frozen=32" \
+ *     -Dloadtest.jvmArgs="-Xmx2g -Dspring.threads.virtual.enabled=true"
+ * </pre>
+ * or one game with a large audience on the throttled spectator topic:
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="games=1 ramp=1 duration=1s spectators=5000"
+ * </pre>
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        ConfigurableApplicationContext server = null;
+        URI target = config.target();
+        if (target == null) {
+            server = new SpringApplicationBuilder(RamuduSitaApplication.class)
+                    .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                    .run();
+            target = URI.create("http://localhost:" + ((WebServerApplicationContext) server).getWebServer().getPort());
+        }
+
+        LoadRunner runner = new LoadRunner(config, target);
+        long elapsed = runner.run();
+        runner.stats().print(System.out, config, elapsed);
+
+        if (server != null) {
+            server.close();
+        }
+        System.exit(0); // HTTP and WebSocket client threads would keep the JVM alive
+    }
+}
@@ -0,0 +1,277 @@
+package com.game.ramudu_sita.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One game played start to finish by simulated players: the host creates it,
+ * the others join, everyone connects over STOMP, the host starts it, and
+ * whoever gets the RAMUDU chit (learned from their private state push) guesses.
+ * Spectators, if any, start watching before the game starts and are each a
+ * STOMP connection of their own on the game's spectator topic.
+ */
+final class SimulatedGame {
+
+    private static final int SPECTATORS_CONNECTING = 64; // at a time, so 5,000 don't all handshake at once
+    private static final long SPECTATOR_GRACE_MILLIS = 2_000; // for the throttled final state to reach them
+
+    private final LoadRunner runner;
+    private final LoadStats stats;
+
+    private final List<Player> players = new ArrayList<>();
+    private final Queue<Spectator> spectators = new ConcurrentLinkedQueue<>();
+    private CountDownLatch spectatorsFinished;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicInteger lastGuessedRound = new AtomicInteger();
+
+    private volatile String gameId; // read by frozen clients
+    // when the last state-changing command was sent; delivery lag is measured from here
+    private volatile long lastCommandAt;
+
+    SimulatedGame(LoadRunner runner) {
+        this.runner = runner;
+        this.stats = runner.stats();
+    }
+
+    /**
+     * @return the game's id, or null until it has been created
+     */
+    String gameId() {
+        return gameId;
+    }
+
+    private final class Player {
+        final String name;
+        final String clientIp = runner.nextClientIp(); // own rate-limit bucket, like a separate device
+        String playerId;
+        String token;
+        StompSession session;
+        volatile long lastSeenVersion = -1;
+
+        Player(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class Spectator {
+        StompSession session;
+        long lastSeenVersion = -1; // frames of one session arrive one at a time
+        boolean sawFinish;
+    }
+
+    void play() {
+        LoadTestConfig config = runner.config();
+        stats.gamesStarted.increment();
+        try {
+            Player host = new Player("Host");
+            LoadRunner.Reply created = runner.post("create", "/api/games", host.clientIp, null,
+                    "{\"playerName\":\"Host\",\"totalRounds\":" + config.rounds() + "}");
+            gameId = created.body().get("gameId").asText();
+            String code = created.body().get("gameCode").asText();
+            enter(host, created);
+
+            for (int i = 1; i < config.playersPerGame(); i++) {
+                Player player = new Player("P" + (i + 1));
+                lastCommandAt = System.nanoTime();
+                LoadRunner.Reply joined = runner.post("join", "/api/games/join", player.clientIp, null,
+                        "{\"code\":\"" + code + "\",\"playerName\":\"" + player.name + "\"}");
+                enter(player, joined);
+            }
+            watch(config.spectators());
+            Thread.sleep(100); // SUBSCRIBEs are processed asynchronously and there is no RECEIPT to wait for
+
+            lastCommandAt = System.nanoTime();
+            runner.post("start", "/api/games/" + gameId + "/start", host.clientIp, host.token, "");
+
+            if (finished.await(config.gameTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                stats.gamesCompleted.increment();
+                if (!spectatorsFinished.await(SPECTATOR_GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
+                    stats.recordError("spectators did not see the game finish");
+                }
+            } else {
+                stats.gamesStalled.increment();
+                stats.recordError("game did not finish in " + config.gameTimeout());
+            }
+        } catch (LoadRunner.OperationFailedException e) {
+            // already counted by the runner
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            stats.recordError("client: " + e.getClass().getSimpleName());
+        } finally {
+            for (Player p : players) {
+                if (p.session != null && p.session.isConnected()) {
+                    p.session.disconnect();
+                }
+            }
+            for (Spectator s : spectators) {
+                if (s.session.isConnected()) {
+                    s.session.disconnect();
+                }
+            }
+            runner.gameEnded(this);
+        }
+    }
+
+    private void enter(Player player, LoadRunner.Reply reply) throws Exception {
+        player.playerId = reply.body().get("playerId").asText();
+        player.token = reply.playerToken();
+        players.add(player);
+
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Cookie", "PLAYER_TOKEN=" + player.token);
+        long started = System.nanoTime();
+        player.session = runner.stompClient()
+                .connectAsync(runner.webSocketUrl(), headers, new ErrorCounter())
+                .get(10, TimeUnit.SECONDS);
+        stats.recordOperation("stomp connect", System.nanoTime() - started);
+
+        player.session.subscribe("/topic/games/" + gameId + "/state", frames(node -> onPublicState(player, node)));
+        player.session.subscribe("/user/queue/games/" + gameId + "/me", frames(node -> onMyState(player, node)));
+    }
+
+    /**
+     * Connects {@code count} spectators, each from its own address, and returns once all have tried.
+     */
+    private void watch(int count) throws InterruptedException {
+        spectatorsFinished = new CountDownLatch(count);
+        Semaphore connecting = new Semaphore(SPECTATORS_CONNECTING);
+        CountDownLatch tried = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            connecting.acquire();
+            Thread.startVirtualThread(() -> {
+                try {
+                    spectate();
+                } catch (LoadRunner.OperationFailedException e) {
+                    // already counted by the runner
+                } catch (Exception e) {
+                    stats.recordError("spectator: " + e.getClass().getSimpleName());
+                } finally {
+                    connecting.release();
+                    tried.countDown();
+                }
+            });
+        }
+        tried.await();
+    }
+
+    private void spectate() throws Exception {
+        runner.get("spectate", "/api/games/" + gameId + "/spectate", runner.nextClientIp());
+
+        Spectator spectator = new Spectator();
+        long started = System.nanoTime();
+        spectator.session = runner.stompClient()
+                .connectAsync(runner.webSocketUrl(), new ErrorCounter())
+                .get(30, TimeUnit.SECONDS);
+        stats.recordOperation("spectator connect", System.nanoTime() - started);
+        spectators.add(spectator);
+
+        spectator.session.subscribe("/topic/games/" + gameId + "/spectate",
+                frames(node -> onSpectatorState(spectator, node)));
+        stats.spectatorsConnected.increment();
+    }
+
+    private void onSpectatorState(Spectator spectator, JsonNode state) {
+        long version = state.path("version").asLong();
+        if (version > spectator.lastSeenVersion) {
+            spectator.lastSeenVersion = version;
+            stats.recordDelivery("/topic/.../spectate", System.nanoTime() - lastCommandAt);
+        }
+        if (!spectator.sawFinish && "FINISHED".equals(state.path("gameStatus").asText())) {
+            spectator.sawFinish = true;
+            stats.spectatorsSawFinish.increment();
+            spectatorsFinished.countDown();
+        }
+    }
+
+    private void onPublicState(Player player, JsonNode state) {
+        long version = state.path("version").asLong();
+        if (version > player.lastSeenVersion) {
+            player.lastSeenVersion = version;
+            stats.recordDelivery("/topic/.../state", System.nanoTime() - lastCommandAt);
+        }
+        if ("FINISHED".equals(state.path("gameStatus").asText())) {
+            finished.countDown();
+        }
+    }
+
+    private void onMyState(Player player, JsonNode my) {
+        stats.recordDelivery("/user/queue/.../me", System.nanoTime() - lastCommandAt);
+
+        int round = my.path("currentRoundNumber").asInt();
+        if (!"RAMUDU".equals(my.path("myChit").asText())
+                || !"WAITING_FOR_RAMUDU".equals(my.path("roundStatus").asText())) {
+            return;
+        }
+        int previous = lastGuessedRound.get();
+        if (previous >= round || !lastGuessedRound.compareAndSet(previous, round)) {
+            return; // this round's guess is already on its way
+        }
+
+        // Ramudu doesn't know who Sita is: pick anyone else, like a player would
+        List<String> others = new ArrayList<>();
+        for (JsonNode p : my.path("players")) {
+            if (!p.path("id").asText().equals(player.playerId)) {
+                others.add(p.path("id").asText());
+            }
+        }
+        String target = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+
+        // never block the WebSocket thread on a REST call
+        Thread.startVirtualThread(() -> {
+            lastCommandAt = System.nanoTime();
+            try {
+                runner.post("guess", "/api/games/" + gameId + "/rounds/current/guess", player.clientIp, player.token,
+                        "{\"guessedPlayerId\":\"" + target + "\"}");
+            } catch (Exception e) {
+                // counted by the runner; the game stalls and is reported as such
+            }
+        });
+    }
+
+    private StompFrameHandler frames(java.util.function.Consumer<JsonNode> onFrame) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                stats.framesReceived.increment();
+                onFrame.accept((JsonNode) payload);
+            }
+        };
+    }
+
+    private final class ErrorCounter extends StompSessionHandlerAdapter {
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            stats.recordError("stomp: " + exception.getClass().getSimpleName());
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            if (finished.getCount() > 0) {
+                stats.recordError("stomp transport: " + exception.getClass().getSimpleName());
+            }
+        }
+    }
+}
@@ -3,14 +3,19 @@ package com.game.ramudu_sita.api;
 
 import com.game.ramudu_sita.api.dto.*;
 import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.rate.RateLimited;
 import com.game.ramudu_sita.service.GameService;
+import com.game.ramudu_sita.service.GameStateMapper;
 import com.game.ramudu_sita.service.PlayerSessionService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/games")
@@ -26,14 +31,15 @@ public class GameController {
         this.appProperties = appProperties;
     }
 
+    @RateLimited(rule = "CREATE_GAME", limit = 10, window = 60)
     @PostMapping
-    public ResponseEntity<CreateOrJoinGameResponse> createGame(@RequestBody CreateGameRequest req, HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<CreateOrJoinGameResponse> createGame(@Valid @RequestBody CreateGameRequest req, HttpServletRequest request, HttpServletResponse response) {
         String ipKey = extractClientIp(request);
         if (req.getTotalRounds() < 1 || req.getTotalRounds() > 10) {
             throw new IllegalArgumentException("totalRounds must be between 1 and 10");
         }
         var result = gameService.createGame(req.getPlayerName(), req.getTotalRounds(), ipKey);
-        var session = playerSessionService.createSession(result.gameId(), result.playerId());
+        var session = playerSessionService.createSession(result.gameId(), result.seat());
 
         // Set HttpOnly cookie with player token
         ResponseCookie cookie = ResponseCookie.from("PLAYER_TOKEN", session.token())
@@ -45,7 +51,7 @@ public class GameController {
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
         return ResponseEntity.ok(
-                new CreateOrJoinGameResponse(result.gameId(), result.code(), result.playerId(), session.token())
+                new CreateOrJoinGameResponse(result.gameId(), result.code(), PlayerIds.format(result.seat()), session.token())
         );
     }
 
@@ -57,10 +63,11 @@ public class GameController {
         return request.getRemoteAddr();
     }
 
+    @RateLimited(rule = "JOIN_GAME", limit = 60, window = 60)
     @PostMapping("/join")
-    public ResponseEntity<CreateOrJoinGameResponse> joinGame(@RequestBody JoinGameRequest req, HttpServletResponse response) {
+    public ResponseEntity<CreateOrJoinGameResponse> joinGame(@Valid @RequestBody JoinGameRequest req, HttpServletResponse response) {
         var result = gameService.joinGame(req.getCode(), req.getPlayerName());
-        var session = playerSessionService.createSession(result.gameId(), result.playerId());
+        var session = playerSessionService.createSession(result.gameId(), result.seat());
 
         ResponseCookie cookie = ResponseCookie.from("PLAYER_TOKEN", session.token())
                 .httpOnly(true)
@@ -71,17 +78,18 @@ public class GameController {
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
         return ResponseEntity.ok(
-                new CreateOrJoinGameResponse(result.gameId(), result.code(), result.playerId(), session.token())
+                new CreateOrJoinGameResponse(result.gameId(), result.code(), PlayerIds.format(result.seat()), session.token())
         );
     }
 
+    @RateLimited(rule = "START", limit = 20, window = 60)
     @PostMapping("/{gameId}/start")
     public ResponseEntity<Void> startGame(
             @PathVariable String gameId,
             @CookieValue("PLAYER_TOKEN") String token
     ) {
         var session = playerSessionService.requireValidSession(token, gameId);
-        gameService.startGame(gameId, session.playerId());
+        gameService.startGame(gameId, session.seat());
         return ResponseEntity.ok().build();
     }
 
@@ -91,9 +99,40 @@ public class GameController {
             @CookieValue("PLAYER_TOKEN") String token
     ) {
         var session = playerSessionService.requireValidSession(token, gameId);
-        return ResponseEntity.ok(gameService.getMyState(gameId, session.playerId()));
+        return ResponseEntity.ok(gameService.getMyState(gameId, session.seat()));
     }
 
+    /**
+     * Watch a game without joining it: the current public state, after which
+     * updates arrive on /topic/games/{gameId}/spectate at a throttled rate.
+     * Use /rounds for results a throttled update skipped.
+     */
+    @RateLimited(rule = "SPECTATE", limit = 60, window = 60)
+    @GetMapping("/{gameId}/spectate")
+    public ResponseEntity<GamePublicState> spectate(@PathVariable String gameId) {
+        return ResponseEntity.ok(gameService.spectate(gameId));
+    }
+
+    /**
+     * Scored rounds, oldest first. The ETag is the game id and version, plus the
+     * history's length, which can run ahead of a coalesced version bump; a
+     * client that has the history already gets a bodiless 304.
+     */
+    @RateLimited(rule = "ROUND_HISTORY", limit = 60, window = 60)
+    @GetMapping("/{gameId}/rounds")
+    public ResponseEntity<RoundHistoryResponse> getRoundHistory(@PathVariable String gameId, WebRequest request) {
+        GameService.RoundHistory history = gameService.getRoundHistory(gameId);
+        String etag = "\"" + gameId + "." + history.version() + "." + history.rounds().size() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already set up
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(GameStateMapper.toRoundHistory(gameId, history.rounds()));
+    }
+
+    @RateLimited(rule = "GUESS", limit = 20, window = 60)
     @PostMapping("/{gameId}/rounds/current/guess")
     public ResponseEntity<Void> makeGuess(
             @PathVariable String gameId,
@@ -101,7 +140,11 @@ public class GameController {
             @RequestBody GuessRequest req
     ) {
         var session = playerSessionService.requireValidSession(token, gameId);
-        gameService.makeGuess(gameId, session.playerId(), req.getGuessedPlayerId());
+        int guessedSeat = PlayerIds.parse(req.getGuessedPlayerId());
+        if (guessedSeat == PlayerIds.NONE) {
+            throw new IllegalArgumentException("Player not in game");
+        }
+        gameService.makeGuess(gameId, session.seat(), guessedSeat);
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,34 @@
+package com.game.ramudu_sita.api;
+
+import com.game.ramudu_sita.api.dto.GameStateDelta;
+import com.game.ramudu_sita.config.PlayerPrincipal;
+import com.game.ramudu_sita.service.GameService;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+@Controller
+public class GameStompController {
+
+    private final GameService gameService;
+
+    public GameStompController(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    // Client noticed a gap on /topic/games/{gameId}/delta: reply with a snapshot on its own queue
+    @MessageMapping("/games/{gameId}/resync")
+    @SendToUser(destinations = "/queue/games/{gameId}/delta", broadcast = false)
+    public GameStateDelta resync(@DestinationVariable String gameId, Principal principal) {
+        if (!(principal instanceof PlayerPrincipal player)) {
+            throw new IllegalStateException("Missing player token");
+        }
+        if (!player.gameId().equals(gameId)) {
+            throw new IllegalStateException("Player does not belong to this game");
+        }
+        return gameService.resync(gameId, player.seat());
+    }
+}
@@ -3,6 +3,8 @@ package com.game.ramudu_sita.api;
 import com.game.ramudu_sita.rate.RateLimitExceededException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -29,6 +31,14 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", "BAD_REQUEST", "message", ex.getMessage()));
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidBody(MethodArgumentNotValidException ex) {
+        FieldError field = ex.getBindingResult().getFieldError();
+        String message = field == null ? "Invalid request" : field.getField() + " " + field.getDefaultMessage();
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", "INVALID_REQUEST", "message", message));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
         return ResponseEntity
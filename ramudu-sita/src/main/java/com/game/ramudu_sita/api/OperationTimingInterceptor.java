@@ -0,0 +1,56 @@
+package com.game.ramudu_sita.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Times every GameController call as {@code games.operations}, tagged with the
+ * handler method (createGame, joinGame, ...) and the outcome. Rate-limited
+ * requests are included, as long as this interceptor is registered first.
+ */
+public class OperationTimingInterceptor implements HandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = OperationTimingInterceptor.class.getName() + ".sample";
+
+    private final MeterRegistry meterRegistry;
+
+    public OperationTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample)
+                || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        sample.stop(Timer.builder("games.operations")
+                .description("GameController operations")
+                .tag("operation", method.getMethod().getName())
+                .tag("outcome", outcome(ex == null ? response.getStatus() : 500))
+                .register(meterRegistry));
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status == 429) {
+            return "RATE_LIMITED";
+        }
+        return status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+    }
+}
@@ -1,9 +1,14 @@
 package com.game.ramudu_sita.api.dto;
 
+import com.game.ramudu_sita.model.Player;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public class CreateGameRequest {
+    @NotBlank
+    @Size(max = Player.MAX_NAME_LENGTH)
     private String playerName;
 
     @Min(1)
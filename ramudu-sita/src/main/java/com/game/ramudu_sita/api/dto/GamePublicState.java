@@ -14,6 +14,7 @@ public class GamePublicState {
 
     private String gameId;
     private String gameCode;
+    private long version;
     private GameStatus gameStatus;
     private int totalRounds;
     private int currentRoundNumber;
@@ -39,6 +40,14 @@ public class GamePublicState {
         this.gameCode = gameCode;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public GameStatus getGameStatus() {
         return gameStatus;
     }
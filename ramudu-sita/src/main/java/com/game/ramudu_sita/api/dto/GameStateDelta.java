@@ -0,0 +1,104 @@
+package com.game.ramudu_sita.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.model.RoundStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned update on /topic/games/{gameId}/delta.
+ * <p>
+ * A snapshot carries the full {@link GamePublicState}; otherwise {@code patches}
+ * turn the state at {@code baseVersion} into the state at {@code version}.
+ * A client whose version differs from {@code baseVersion} has missed an update
+ * and should ask for a resync (SEND /app/games/{gameId}/resync).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameStateDelta {
+
+    public enum Op {
+        PLAYER_ADDED,   // player
+        STATUS_CHANGED, // gameStatus, currentRoundNumber, currentRoundStatus
+        SCORES_APPLIED  // scoreDelta (replaces lastRoundScoreDelta), totals (changed totals only)
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Patch(Op op,
+                        GamePublicState.PlayerSummary player,
+                        GameStatus gameStatus,
+                        Integer currentRoundNumber,
+                        RoundStatus currentRoundStatus,
+                        Map<String, Integer> scoreDelta,
+                        Map<String, Integer> totals) {
+
+        public static Patch playerAdded(GamePublicState.PlayerSummary player) {
+            return new Patch(Op.PLAYER_ADDED, player, null, null, null, null, null);
+        }
+
+        public static Patch statusChanged(GameStatus gameStatus, int currentRoundNumber, RoundStatus currentRoundStatus) {
+            return new Patch(Op.STATUS_CHANGED, null, gameStatus, currentRoundNumber, currentRoundStatus, null, null);
+        }
+
+        public static Patch scoresApplied(Map<String, Integer> scoreDelta, Map<String, Integer> totals) {
+            return new Patch(Op.SCORES_APPLIED, null, null, null, null, scoreDelta, totals);
+        }
+    }
+
+    private String gameId;
+    private long version;
+    private long baseVersion;
+    private boolean snapshot;
+
+    private GamePublicState state;  // snapshot only
+    private List<Patch> patches;    // delta only
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public GamePublicState getState() {
+        return state;
+    }
+
+    public void setState(GamePublicState state) {
+        this.state = state;
+    }
+
+    public List<Patch> getPatches() {
+        return patches;
+    }
+
+    public void setPatches(List<Patch> patches) {
+        this.patches = patches;
+    }
+}
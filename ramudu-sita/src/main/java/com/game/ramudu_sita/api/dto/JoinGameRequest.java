@@ -1,7 +1,14 @@
 package com.game.ramudu_sita.api.dto;
 
+import com.game.ramudu_sita.model.Player;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
 public class JoinGameRequest {
     private String code;
+
+    @NotBlank
+    @Size(max = Player.MAX_NAME_LENGTH)
     private String playerName;
 
     public String getCode() {
@@ -0,0 +1,49 @@
+package com.game.ramudu_sita.api.dto;
+
+/**
+ * External form of a player's seat (see Player). The engine, sessions and
+ * journal only deal in seats; ids are made and parsed where requests come in
+ * and DTOs go out. Clients must treat an id as an opaque string that is
+ * unique within its game.
+ */
+public final class PlayerIds {
+
+    public static final int NONE = -1; // not an id
+
+    private static final String PREFIX = "p";
+    private static final String[] COMMON = new String[16]; // the ids every broadcast uses, made once
+
+    static {
+        for (int seat = 0; seat < COMMON.length; seat++) {
+            COMMON[seat] = PREFIX + seat;
+        }
+    }
+
+    private PlayerIds() {
+    }
+
+    public static String format(int seat) {
+        if (seat < 0) {
+            throw new IllegalArgumentException("Not a seat: " + seat);
+        }
+        return seat < COMMON.length ? COMMON[seat] : PREFIX + seat;
+    }
+
+    /**
+     * @return the seat, or {@link #NONE} if {@code id} isn't a player id
+     */
+    public static int parse(String id) {
+        if (id == null || id.length() < 2 || id.length() > 4 || !id.startsWith(PREFIX)) {
+            return NONE;
+        }
+        int seat = 0;
+        for (int i = PREFIX.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9' || (c == '0' && i == PREFIX.length() && id.length() > 2)) {
+                return NONE;
+            }
+            seat = seat * 10 + (c - '0');
+        }
+        return seat;
+    }
+}
@@ -0,0 +1,34 @@
+package com.game.ramudu_sita.api.dto;
+
+import com.game.ramudu_sita.model.ChitType;
+
+import java.util.List;
+import java.util.Map;
+
+public class RoundHistoryResponse {
+
+    public record Round(
+            int roundNumber,
+            Map<String, ChitType> chits,     // playerId -> chit held that round
+            String guessedPlayerId,
+            Map<String, Integer> deltas,     // playerId -> score delta
+            Map<String, Integer> totals      // playerId -> total after that round
+    ) {
+    }
+
+    private final String gameId;
+    private final List<Round> rounds;
+
+    public RoundHistoryResponse(String gameId, List<Round> rounds) {
+        this.gameId = gameId;
+        this.rounds = rounds;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public List<Round> getRounds() {
+        return rounds;
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.ramudu_sita.cluster;
+
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.journal.GameStateCodec;
+import com.game.ramudu_sita.model.GameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+
+/**
+ * HTTP calls from this node to its peers. Every call carries the shared
+ * cluster secret, which the receiving side checks with {@link #isTrusted}.
+ */
+public class ClusterClient {
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final HttpClient http;
+    private final byte[] secret;
+    private final Duration timeout;
+
+    public ClusterClient(AppProperties.Cluster settings) {
+        this.secret = settings.getSecret().getBytes(StandardCharsets.UTF_8);
+        this.timeout = settings.getRequestTimeout();
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public boolean isTrusted(String providedSecret) {
+        return providedSecret != null
+                && MessageDigest.isEqual(secret, providedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public HttpRequest.Builder request(String node, String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+                .timeout(timeout)
+                .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8));
+    }
+
+    public HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cluster node unreachable: " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + request.uri(), e);
+        }
+    }
+
+    /**
+     * @return true once {@code node} has taken the game over
+     */
+    boolean sendGame(String node, GameState game) {
+        HttpRequest request = request(node, "/internal/cluster/games")
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(GameStateCodec.encode(game)))
+                .build();
+        try {
+            return send(request).statusCode() / 100 == 2;
+        } catch (UncheckedIOException e) {
+            return false; // stays here; the next rebalance pass retries
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the node did not take the batch (see ClusterRelay for the format)
+     */
+    void relay(String node, byte[] batch) {
+        HttpRequest request = request(node, "/internal/cluster/relay")
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(batch))
+                .build();
+        int status = send(request).statusCode();
+        if (status / 100 != 2) {
+            throw new IllegalStateException("Relay to " + node + " rejected: " + status);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.game.ramudu_sita.cluster;
+
+import com.game.ramudu_sita.journal.GameStateCodec;
+import com.game.ramudu_sita.service.GameService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node-to-node endpoints; every call must carry the cluster secret.
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ClusterClient client;
+    private final ClusterRelay relay;
+    private final ClusterRebalancer rebalancer;
+    private final GameService gameService;
+
+    public ClusterController(ClusterClient client, ClusterRelay relay, ClusterRebalancer rebalancer,
+                             GameService gameService) {
+        this.client = client;
+        this.relay = relay;
+        this.rebalancer = rebalancer;
+        this.gameService = gameService;
+    }
+
+    // A game handed off by its previous owner
+    @PostMapping(path = "/games", consumes = "application/octet-stream")
+    public ResponseEntity<Void> importGame(@RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret,
+                                           @RequestBody byte[] game) {
+        if (!client.isTrusted(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        gameService.importGame(GameStateCodec.decode(game));
+        return ResponseEntity.ok().build();
+    }
+
+    // A batch of broker messages from the node that owns the games
+    @PostMapping(value = "/relay", consumes = "application/octet-stream")
+    public ResponseEntity<Void> relay(@RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret,
+                                      @RequestBody byte[] batch) {
+        if (!client.isTrusted(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        relay.deliver(batch);
+        return ResponseEntity.ok().build();
+    }
+
+    // Send the full member list to every node when one joins or leaves
+    @PutMapping("/members")
+    public ResponseEntity<Map<String, Integer>> updateMembers(
+            @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret,
+            @RequestBody List<String> members) {
+        if (!client.isTrusted(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("handedOff", rebalancer.updateMembers(members)));
+    }
+}
@@ -0,0 +1,185 @@
+package com.game.ramudu_sita.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends game requests to the node that owns the game and relays its response.
+ * <p>
+ * The owner is found from the game code: in the body for a join, as the
+ * prefix of the game id in the path otherwise. Creating a game needs no
+ * routing, the receiving node picks a code it owns. A forwarded request is
+ * always handled where it lands, so nodes that briefly disagree about the
+ * ring cannot bounce it around. Only a request that also carries the cluster
+ * secret counts as forwarded; a client sending the forwarded header itself
+ * is routed like any other.
+ */
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+    private static final String GAMES_PATH = "/api/games/";
+    private static final List<String> REQUEST_HEADERS = List.of("Cookie", "Content-Type", "Accept", "If-None-Match");
+    private static final List<String> RESPONSE_HEADERS = List.of("Content-Type", "Set-Cookie", "ETag", "Cache-Control");
+
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final ObjectMapper objectMapper;
+
+    public ClusterForwardingFilter(ClusterMembership membership, ClusterClient client, ObjectMapper objectMapper) {
+        this.membership = membership;
+        this.client = client;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(GAMES_PATH) || isForwarded(request);
+    }
+
+    private boolean isForwarded(HttpServletRequest request) {
+        return request.getHeader(FORWARDED_HEADER) != null
+                && client.isTrusted(request.getHeader(ClusterClient.SECRET_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String rest = request.getRequestURI().substring(GAMES_PATH.length());
+        byte[] body = null;
+        String code;
+        if (rest.equals("join")) {
+            body = request.getInputStream().readAllBytes();
+            request = new CachedBodyRequest(request, body);
+            code = codeFromJoin(body);
+        } else {
+            int slash = rest.indexOf('/');
+            code = HashRing.routingKey(slash < 0 ? rest : rest.substring(0, slash));
+        }
+
+        if (code == null || code.isEmpty() || membership.isLocal(code)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        forward(membership.ownerOf(code), request, body, response);
+    }
+
+    private String codeFromJoin(byte[] body) {
+        try {
+            JsonNode code = objectMapper.readTree(body).get("code");
+            return code == null || !code.isTextual() ? null : code.asText();
+        } catch (IOException e) {
+            return null; // let the controller reject it
+        }
+    }
+
+    private void forward(String owner, HttpServletRequest request, byte[] body, HttpServletResponse response)
+            throws IOException {
+        if (body == null) {
+            body = request.getInputStream().readAllBytes();
+        }
+        String query = request.getQueryString();
+        HttpRequest.Builder forwarded = client.request(owner, request.getRequestURI() + (query == null ? "" : "?" + query))
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_HEADER, membership.self());
+        for (String name : REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                forwarded.header(name, value);
+            }
+        }
+        // the owner rate-limits and counts games by the original client
+        String xff = request.getHeader("X-Forwarded-For");
+        forwarded.header("X-Forwarded-For", xff != null && !xff.isBlank() ? xff : request.getRemoteAddr());
+
+        HttpResponse<byte[]> reply;
+        try {
+            reply = client.send(forwarded.build());
+        } catch (UncheckedIOException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("error", "GAME_NODE_UNAVAILABLE", "message", "The node running this game is unreachable"));
+            return;
+        }
+        response.setStatus(reply.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            for (String value : reply.headers().allValues(name)) {
+                response.addHeader(name, value);
+            }
+        }
+        response.getOutputStream().write(reply.body());
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("A ReadListener needs an async request");
+                    }
+                    // the whole body is already in memory: it is all available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+    }
+}
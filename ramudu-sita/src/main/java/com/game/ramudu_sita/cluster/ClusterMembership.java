@@ -0,0 +1,52 @@
+package com.game.ramudu_sita.cluster;
+
+import com.game.ramudu_sita.config.AppProperties;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This node's current view of the cluster.
+ */
+public class ClusterMembership {
+
+    private final String self;
+    private final int virtualNodes;
+    private volatile HashRing ring;
+
+    public ClusterMembership(AppProperties.Cluster settings) {
+        this.self = settings.getSelfUrl();
+        this.virtualNodes = settings.getVirtualNodes();
+        this.ring = new HashRing(settings.getMembers().isEmpty() ? List.of(self) : settings.getMembers(), virtualNodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String ownerOf(String routingKey) {
+        return ring.ownerOf(routingKey);
+    }
+
+    public boolean isLocal(String routingKey) {
+        return self.equals(ring.ownerOf(routingKey));
+    }
+
+    /**
+     * Every member except this node.
+     */
+    public List<String> peers() {
+        return ring.nodes().stream().filter(node -> !node.equals(self)).toList();
+    }
+
+    public Collection<String> members() {
+        return ring.nodes();
+    }
+
+    void update(Collection<String> members) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A cluster needs at least one member");
+        }
+        this.ring = new HashRing(members, virtualNodes);
+    }
+}
@@ -0,0 +1,46 @@
+package com.game.ramudu_sita.cluster;
+
+import com.game.ramudu_sita.service.GameService;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Collection;
+
+/**
+ * Keeps games on the node the ring says owns them.
+ */
+public class ClusterRebalancer {
+
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final GameService gameService;
+
+    public ClusterRebalancer(ClusterMembership membership, ClusterClient client, GameService gameService) {
+        this.membership = membership;
+        this.client = client;
+        this.gameService = gameService;
+        gameService.setCodeOwnership(membership::isLocal);
+    }
+
+    /**
+     * A node joined or left: switch to the new ring, then hand every game this
+     * node no longer owns to its new owner. Requests are forwarded by the new
+     * ring straight away, so a command that races its game's move may see
+     * "Game not found" once.
+     *
+     * @return number of games handed off
+     */
+    public int updateMembers(Collection<String> members) {
+        membership.update(members);
+        return rebalance();
+    }
+
+    /**
+     * Hand off games this node does not own, e.g. ones a previous pass could
+     * not deliver because the owner was unreachable.
+     */
+    @Scheduled(initialDelay = 30_000, fixedDelay = 30_000)
+    public int rebalance() {
+        return gameService.handOffGames(membership::isLocal,
+                game -> client.sendGame(membership.ownerOf(game.getCode()), game));
+    }
+}
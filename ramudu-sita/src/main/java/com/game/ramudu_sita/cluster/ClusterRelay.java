@@ -0,0 +1,217 @@
+package com.game.ramudu_sita.cluster;
+
+import com.game.ramudu_sita.service.GameService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Copies game updates to every other node, so players see them whichever
+ * node their WebSocket is connected to.
+ * <p>
+ * Sits on the broker channel: every public game topic message and every
+ * per-player message the owner sends is queued for each peer, which feeds it
+ * into its own broker. A peer's queue is drained by one virtual thread at a
+ * time, in batches of up to {@value #MAX_BATCH} messages per request, so
+ * updates arrive in order.
+ * <p>
+ * Nothing is dropped silently. If a peer's queue fills up, or a batch cannot
+ * be delivered, every message still queued for it is dropped. The games those
+ * messages were about are then sent again in full, public and private state,
+ * once the peer takes a batch again. Clients on that node may miss an
+ * intermediate state, such as a REVEAL, but never the latest one.
+ */
+public class ClusterRelay implements ChannelInterceptor {
+
+    static final String RELAYED_HEADER = "clusterRelayed";
+    private static final int MAX_QUEUED_PER_PEER = 10_000;
+    private static final int MAX_BATCH = 256;
+
+    record Frame(String destination, String contentType, byte[] payload) {
+    }
+
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final ObjectProvider<GameService> gameService;
+    private final int maxQueuedPerPeer;
+    private final Map<String, Peer> peers = new ConcurrentHashMap<>();
+
+    public ClusterRelay(ClusterMembership membership, ClusterClient client,
+                        ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                        ObjectProvider<GameService> gameService) {
+        this(membership, client, messagingTemplate, gameService, MAX_QUEUED_PER_PEER);
+    }
+
+    ClusterRelay(ClusterMembership membership, ClusterClient client,
+                 ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                 ObjectProvider<GameService> gameService, int maxQueuedPerPeer) {
+        this.membership = membership;
+        this.client = client;
+        this.messagingTemplate = messagingTemplate;
+        this.gameService = gameService;
+        this.maxQueuedPerPeer = maxQueuedPerPeer;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (message.getHeaders().containsKey(RELAYED_HEADER) || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !(destination.startsWith("/topic/games/") || destination.startsWith("/user/"))) {
+            return message;
+        }
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        Frame frame = new Frame(destination, contentType == null ? null : contentType.toString(), payload);
+        for (String peer : membership.peers()) {
+            peers.computeIfAbsent(peer, Peer::new).offer(frame);
+        }
+        return message;
+    }
+
+    /**
+     * A batch relayed from a game's owner: hand each message to the local broker, in order.
+     */
+    public void deliver(byte[] batch) {
+        for (Frame frame : decode(batch)) {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+            if (frame.contentType() != null) {
+                headers.setContentType(MimeType.valueOf(frame.contentType()));
+            }
+            headers.setHeader(RELAYED_HEADER, Boolean.TRUE);
+            messagingTemplate.getObject().send(frame.destination(),
+                    MessageBuilder.createMessage(frame.payload(), headers.getMessageHeaders()));
+        }
+    }
+
+    private final class Peer implements Runnable {
+        private final String url;
+        private final BlockingQueue<Frame> queue = new LinkedBlockingQueue<>(maxQueuedPerPeer);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // games with messages this peer never got; sent again in full once it takes a batch
+        private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+        Peer(String url) {
+            this.url = url;
+        }
+
+        void offer(Frame frame) {
+            if (!queue.offer(frame)) {
+                dropQueued(List.of(frame));
+            }
+            if (draining.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("cluster-relay").start(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Frame> batch = new ArrayList<>(MAX_BATCH);
+            do {
+                while (queue.drainTo(batch, MAX_BATCH) > 0) {
+                    boolean delivered;
+                    try {
+                        client.relay(url, encode(batch));
+                        delivered = true;
+                    } catch (RuntimeException e) {
+                        delivered = false; // peer down or slow: what it missed is resent once it is back
+                    }
+                    if (delivered) {
+                        batch.clear();
+                        resendStale();
+                    } else {
+                        dropQueued(batch);
+                        batch.clear();
+                    }
+                }
+                draining.set(false);
+                // a producer may have enqueued after our last drain but before the flag was cleared
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void dropQueued(List<Frame> alsoDropped) {
+            List<Frame> dropped = new ArrayList<>(alsoDropped);
+            queue.drainTo(dropped);
+            for (Frame frame : dropped) {
+                String gameId = gameIdOf(frame.destination());
+                if (gameId != null) {
+                    stale.add(gameId);
+                }
+            }
+        }
+
+        private void resendStale() {
+            for (Iterator<String> it = stale.iterator(); it.hasNext(); ) {
+                String gameId = it.next();
+                it.remove();
+                gameService.getObject().resendState(gameId); // queued for every peer, this one included
+            }
+        }
+    }
+
+    /**
+     * @return the game in /topic/games/{id}/... or /user/{name}/queue/games/{id}/..., or null
+     */
+    static String gameIdOf(String destination) {
+        int start = destination.lastIndexOf("/games/");
+        if (start < 0) {
+            return null;
+        }
+        start += "/games/".length();
+        int end = destination.indexOf('/', start);
+        return end < 0 ? null : destination.substring(start, end);
+    }
+
+    // --- Batch format: [int count] then per message [utf destination][utf content type or ""][int length][payload] ---
+
+    static byte[] encode(List<Frame> frames) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(frames.size());
+            for (Frame frame : frames) {
+                out.writeUTF(frame.destination());
+                out.writeUTF(frame.contentType() == null ? "" : frame.contentType());
+                out.writeInt(frame.payload().length);
+                out.write(frame.payload());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<Frame> decode(byte[] batch) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(batch))) {
+            int count = in.readInt();
+            List<Frame> frames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String destination = in.readUTF();
+                String contentType = in.readUTF();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                frames.add(new Frame(destination, contentType.isEmpty() ? null : contentType, payload));
+            }
+            return frames;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed relay batch", e);
+        }
+    }
+}
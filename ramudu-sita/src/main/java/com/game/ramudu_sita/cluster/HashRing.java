@@ -0,0 +1,76 @@
+package com.game.ramudu_sita.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable consistent-hash ring of node URLs. Each node owns
+ * {@code virtualNodes} points; a key belongs to the first point at or after
+ * its hash. Adding or removing a node only moves the keys next to its points.
+ */
+public final class HashRing {
+
+    private final long[] points;   // sorted
+    private final String[] owners; // owners[i] owns points[i]
+    private final Set<String> nodes;
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // on the rare collision the smaller URL wins, so every node builds the same ring
+                ring.merge(hash(node + "#" + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> e : ring.entrySet()) {
+            points[i] = e.getKey();
+            owners[i++] = e.getValue();
+        }
+    }
+
+    public String ownerOf(String key) {
+        if (points.length == 0) {
+            throw new IllegalStateException("No cluster members");
+        }
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return owners[i == points.length ? 0 : i];
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * The key a game is placed by: its code, which in cluster mode also prefixes its id.
+     */
+    public static String routingKey(String gameIdOrCode) {
+        int dash = gameIdOrCode.indexOf('-');
+        return dash < 0 ? gameIdOrCode : gameIdOrCode.substring(0, dash);
+    }
+
+    // FNV-1a, then a murmur3 finalizer so short, similar keys spread over the whole ring
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,6 +1,11 @@
 package com.game.ramudu_sita.config;
 
+import com.game.ramudu_sita.rate.InMemoryRateLimitBackend;
+import com.game.ramudu_sita.rate.LeasedRateLimitBackend;
+import com.game.ramudu_sita.rate.RateLimitBackend;
+import com.game.ramudu_sita.rate.SharedRateLimitStore;
 import com.game.ramudu_sita.service.PlayerSessionService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,7 +13,18 @@ import org.springframework.context.annotation.Configuration;
 public class AppConfig {
 
     @Bean
-    public PlayerSessionService playerSessionService() {
-        return new PlayerSessionService();
+    public PlayerSessionService playerSessionService(AppProperties appProperties) {
+        return new PlayerSessionService(appProperties.getSession());
+    }
+
+    @Bean
+    public RateLimitBackend rateLimitBackend(AppProperties appProperties, ObjectProvider<SharedRateLimitStore> sharedStore) {
+        AppProperties.RateLimit settings = appProperties.getRateLimit();
+        return switch (settings.getBackend()) {
+            case IN_MEMORY -> new InMemoryRateLimitBackend(settings);
+            case SHARED -> new LeasedRateLimitBackend(settings, sharedStore.getIfAvailable(() -> {
+                throw new IllegalStateException("app.rate-limit.backend=SHARED needs a SharedRateLimitStore bean");
+            }));
+        };
     }
 }
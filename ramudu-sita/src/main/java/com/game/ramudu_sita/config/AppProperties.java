@@ -1,9 +1,14 @@
 package com.game.ramudu_sita.config;
 
+import com.game.ramudu_sita.rate.RateLimitAlgorithm;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "app")
 public class AppProperties {
@@ -18,14 +23,553 @@ public class AppProperties {
      */
     private Session session = new Session();
 
+    /**
+     * In-memory game retention settings.
+     */
+    private Games games = new Games();
+
+    /**
+     * WebSocket state broadcast settings.
+     */
+    private Broadcast broadcast = new Broadcast();
+
+    /**
+     * Per-IP rate limiting settings.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Optional on-disk journal of game state.
+     */
+    private Journal journal = new Journal();
+
+    /**
+     * Multi-node mode: each game lives on one node, picked by its code.
+     */
+    private Cluster cluster = new Cluster();
+
+    /**
+     * Which STOMP broker fans out WebSocket messages.
+     */
+    private Broker broker = new Broker();
+
     private boolean cookieSecure;
 
+    public static class Broker {
+        public enum Mode {
+            SIMPLE, // in-process broker, fan-out on application threads
+            RELAY   // external STOMP broker (e.g. Artemis, RabbitMQ), shared by every node
+        }
+
+        private Mode mode = Mode.SIMPLE;
+
+        private String relayHost = "localhost";
+
+        private int relayPort = 61613;
+
+        /**
+         * Credentials for the per-client broker connections.
+         */
+        private String clientLogin = "guest";
+
+        private String clientPasscode = "guest";
+
+        /**
+         * Credentials for the shared connection the application publishes on.
+         */
+        private String systemLogin = "guest";
+
+        private String systemPasscode = "guest";
+
+        /**
+         * Start an Artemis broker in this JVM on relay-host:relay-port. For dev and tests only.
+         */
+        private boolean embedded;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public String getRelayHost() {
+            return relayHost;
+        }
+
+        public void setRelayHost(String relayHost) {
+            this.relayHost = relayHost;
+        }
+
+        public int getRelayPort() {
+            return relayPort;
+        }
+
+        public void setRelayPort(int relayPort) {
+            this.relayPort = relayPort;
+        }
+
+        public String getClientLogin() {
+            return clientLogin;
+        }
+
+        public void setClientLogin(String clientLogin) {
+            this.clientLogin = clientLogin;
+        }
+
+        public String getClientPasscode() {
+            return clientPasscode;
+        }
+
+        public void setClientPasscode(String clientPasscode) {
+            this.clientPasscode = clientPasscode;
+        }
+
+        public String getSystemLogin() {
+            return systemLogin;
+        }
+
+        public void setSystemLogin(String systemLogin) {
+            this.systemLogin = systemLogin;
+        }
+
+        public String getSystemPasscode() {
+            return systemPasscode;
+        }
+
+        public void setSystemPasscode(String systemPasscode) {
+            this.systemPasscode = systemPasscode;
+        }
+
+        public boolean isEmbedded() {
+            return embedded;
+        }
+
+        public void setEmbedded(boolean embedded) {
+            this.embedded = embedded;
+        }
+    }
+
+    public static class Cluster {
+        private boolean enabled;
+
+        /**
+         * Base URL other nodes reach this one on, e.g. http://10.0.1.5:8080.
+         */
+        private String selfUrl;
+
+        /**
+         * Base URLs of every node, this one included. Can be changed at runtime
+         * through PUT /internal/cluster/members, which rebalances games.
+         */
+        private List<String> members = new ArrayList<>();
+
+        /**
+         * Points per node on the hash ring; more spreads games more evenly.
+         */
+        private int virtualNodes = 128;
+
+        /**
+         * Shared secret that node-to-node requests must carry.
+         */
+        private String secret;
+
+        private Duration requestTimeout = Duration.ofSeconds(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSelfUrl() {
+            return selfUrl;
+        }
+
+        public void setSelfUrl(String selfUrl) {
+            this.selfUrl = selfUrl;
+        }
+
+        public List<String> getMembers() {
+            return members;
+        }
+
+        public void setMembers(List<String> members) {
+            this.members = members;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+
+    public static class Journal {
+        public enum Fsync {
+            ALWAYS,   // after every group-committed batch
+            INTERVAL, // at most every fsync-interval
+            NEVER     // leave it to the OS
+        }
+
+        /**
+         * Journal game commands and snapshot games so they survive a restart.
+         */
+        private boolean enabled;
+
+        private String directory = "./data/journal";
+
+        /**
+         * Size of each memory-mapped journal segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        private Fsync fsync = Fsync.INTERVAL;
+
+        private Duration fsyncInterval = Duration.ofSeconds(1);
+
+        /**
+         * How often all games are snapshotted and older segments dropped.
+         */
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+
+        /**
+         * Events waiting for the writer; once full, appends wait for it to catch up.
+         */
+        private int queueCapacity = 65_536;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public Fsync getFsync() {
+            return fsync;
+        }
+
+        public void setFsync(Fsync fsync) {
+            this.fsync = fsync;
+        }
+
+        public Duration getFsyncInterval() {
+            return fsyncInterval;
+        }
+
+        public void setFsyncInterval(Duration fsyncInterval) {
+            this.fsyncInterval = fsyncInterval;
+        }
+
+        public Duration getSnapshotInterval() {
+            return snapshotInterval;
+        }
+
+        public void setSnapshotInterval(Duration snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class RateLimit {
+        public enum Backend {
+            IN_MEMORY, // each node counts on its own
+            SHARED     // nodes lease permits from a SharedRateLimitStore bean
+        }
+
+        private Backend backend = Backend.IN_MEMORY;
+
+        /**
+         * SHARED backend: permits a node leases per store round trip, as a fraction of the rule's limit.
+         */
+        private double leaseFraction = 0.1;
+
+        /**
+         * SHARED backend: how long leased permits, or a refusal, are used locally.
+         */
+        private Duration leaseTtl = Duration.ofSeconds(1);
+
+        /**
+         * Algorithm for rules that don't override it.
+         */
+        private RateLimitAlgorithm algorithm = RateLimitAlgorithm.TOKEN_BUCKET;
+
+        /**
+         * Per-rule overrides of the @RateLimited limit, window and algorithm, by rule name.
+         */
+        private Map<String, Rule> rules = new HashMap<>();
+
+        /**
+         * Forget a client key after it has been idle this long (up to twice this).
+         * Must be at least the longest rule window.
+         */
+        private Duration idleTtl = Duration.ofMinutes(2);
+
+        /**
+         * Hard cap on tracked client keys; beyond it the oldest keys are dropped early.
+         */
+        private int maxKeys = 200_000;
+
+        public Backend getBackend() {
+            return backend;
+        }
+
+        public void setBackend(Backend backend) {
+            this.backend = backend;
+        }
+
+        public double getLeaseFraction() {
+            return leaseFraction;
+        }
+
+        public void setLeaseFraction(double leaseFraction) {
+            this.leaseFraction = leaseFraction;
+        }
+
+        public Duration getLeaseTtl() {
+            return leaseTtl;
+        }
+
+        public void setLeaseTtl(Duration leaseTtl) {
+            this.leaseTtl = leaseTtl;
+        }
+
+        public RateLimitAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(RateLimitAlgorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public Duration getIdleTtl() {
+            return idleTtl;
+        }
+
+        public void setIdleTtl(Duration idleTtl) {
+            this.idleTtl = idleTtl;
+        }
+
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        public Map<String, Rule> getRules() {
+            return rules;
+        }
+
+        public void setRules(Map<String, Rule> rules) {
+            this.rules = rules;
+        }
+
+        public static class Rule {
+            /**
+             * Unset fields keep the annotation's value (or the default algorithm).
+             */
+            private Integer limit;
+            private Duration window;
+            private RateLimitAlgorithm algorithm;
+
+            public Integer getLimit() {
+                return limit;
+            }
+
+            public void setLimit(Integer limit) {
+                this.limit = limit;
+            }
+
+            public Duration getWindow() {
+                return window;
+            }
+
+            public void setWindow(Duration window) {
+                this.window = window;
+            }
+
+            public RateLimitAlgorithm getAlgorithm() {
+                return algorithm;
+            }
+
+            public void setAlgorithm(RateLimitAlgorithm algorithm) {
+                this.algorithm = algorithm;
+            }
+        }
+    }
+
+    public static class Broadcast {
+        /**
+         * Also publish versioned patches on /topic/games/{gameId}/delta.
+         */
+        private boolean deltaEnabled;
+
+        /**
+         * Send a full snapshot on the delta topic every this many versions.
+         */
+        private int snapshotInterval = 20;
+
+        /**
+         * Hold end-of-command broadcasts this long so a burst of commands goes
+         * out as one send. Zero sends at the end of every command.
+         */
+        private Duration coalesceWindow = Duration.ZERO;
+
+        /**
+         * Most updates per second a game sends spectators on
+         * /topic/games/{gameId}/spectate; in between, only the latest state is kept.
+         */
+        private int spectatorUpdatesPerSecond = 2;
+
+        public boolean isDeltaEnabled() {
+            return deltaEnabled;
+        }
+
+        public void setDeltaEnabled(boolean deltaEnabled) {
+            this.deltaEnabled = deltaEnabled;
+        }
+
+        public int getSnapshotInterval() {
+            return snapshotInterval;
+        }
+
+        public void setSnapshotInterval(int snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+        }
+
+        public Duration getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        public int getSpectatorUpdatesPerSecond() {
+            return spectatorUpdatesPerSecond;
+        }
+
+        public void setSpectatorUpdatesPerSecond(int spectatorUpdatesPerSecond) {
+            this.spectatorUpdatesPerSecond = spectatorUpdatesPerSecond;
+        }
+    }
+
+    public static class Games {
+        /**
+         * How long a game that is not finished may sit idle before it is evicted.
+         */
+        private Duration idleTtl = Duration.ofMinutes(60);
+
+        /**
+         * Finished games are kept shorter, just long enough to show the final scoreboard.
+         */
+        private Duration finishedTtl = Duration.ofMinutes(30);
+
+        public Duration getIdleTtl() {
+            return idleTtl;
+        }
+
+        public void setIdleTtl(Duration idleTtl) {
+            this.idleTtl = idleTtl;
+        }
+
+        public Duration getFinishedTtl() {
+            return finishedTtl;
+        }
+
+        public void setFinishedTtl(Duration finishedTtl) {
+            this.finishedTtl = finishedTtl;
+        }
+    }
+
     public static class Session {
         /**
          * Player session TTL in seconds.
          */
         private int ttlSeconds = 1800;
 
+        /**
+         * Issue HMAC-signed tokens that any node can verify instead of keeping sessions in memory.
+         */
+        private boolean stateless;
+
+        /**
+         * Keys for stateless tokens. The first signs, all verify.
+         */
+        private List<SigningKey> signingKeys = new ArrayList<>();
+
+        public static class SigningKey {
+            private String id;
+
+            /**
+             * Base64url-encoded secret, at least 32 bytes.
+             */
+            private String secret;
+
+            public String getId() {
+                return id;
+            }
+
+            public void setId(String id) {
+                this.id = id;
+            }
+
+            public String getSecret() {
+                return secret;
+            }
+
+            public void setSecret(String secret) {
+                this.secret = secret;
+            }
+        }
+
         public int getTtlSeconds() {
             return ttlSeconds;
         }
@@ -33,6 +577,22 @@ public class AppProperties {
         public void setTtlSeconds(int ttlSeconds) {
             this.ttlSeconds = ttlSeconds;
         }
+
+        public boolean isStateless() {
+            return stateless;
+        }
+
+        public void setStateless(boolean stateless) {
+            this.stateless = stateless;
+        }
+
+        public List<SigningKey> getSigningKeys() {
+            return signingKeys;
+        }
+
+        public void setSigningKeys(List<SigningKey> signingKeys) {
+            this.signingKeys = signingKeys;
+        }
     }
 
     public List<String> getAllowedOrigins() {
@@ -51,6 +611,54 @@ public class AppProperties {
         this.session = session;
     }
 
+    public Games getGames() {
+        return games;
+    }
+
+    public void setGames(Games games) {
+        this.games = games;
+    }
+
+    public Broadcast getBroadcast() {
+        return broadcast;
+    }
+
+    public void setBroadcast(Broadcast broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public Broker getBroker() {
+        return broker;
+    }
+
+    public void setBroker(Broker broker) {
+        this.broker = broker;
+    }
+
+    public void setCluster(Cluster cluster) {
+        this.cluster = cluster;
+    }
+
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
     public boolean isCookieSecure() {
         return cookieSecure;
     }
@@ -16,11 +16,19 @@ public class CleanupConfig {
     public CleanupConfig(GameService gameService, PlayerSessionService playerSessionService) {
         this.gameService = gameService;
         this.playerSessionService = playerSessionService;
+        // sessions go with their game rather than lingering until they expire
+        gameService.addGameRemovedListener(playerSessionService::removeGameSessions);
     }
 
-    @Scheduled(fixedDelay = 600_000) // every 10 minutes
-    public void cleanup() {
+    // Small, frequent passes: each one only visits games whose deadline has passed
+    @Scheduled(fixedDelayString = "${app.games.eviction-interval-ms:5000}")
+    public void evictExpiredGames() {
         gameService.cleanupOldGames();
+    }
+
+    // Only visits expired sessions, so it can run every minute
+    @Scheduled(fixedDelay = 60_000)
+    public void cleanup() {
         playerSessionService.cleanupExpiredSessions();
     }
 }
@@ -0,0 +1,70 @@
+package com.game.ramudu_sita.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.cluster.*;
+import com.game.ramudu_sita.service.GameService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Cluster mode (app.cluster.enabled): games are spread over the members by
+ * code, requests are forwarded to the owning node and its updates relayed to
+ * every node's WebSocket clients. Player tokens must be stateless so any node
+ * can check them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    private final AppProperties.Cluster settings;
+
+    public ClusterConfig(AppProperties appProperties) {
+        this.settings = appProperties.getCluster();
+        if (settings.getSelfUrl() == null || settings.getSelfUrl().isBlank()) {
+            throw new IllegalStateException("app.cluster.self-url is required in cluster mode");
+        }
+        if (settings.getSecret() == null || settings.getSecret().isBlank()) {
+            throw new IllegalStateException("app.cluster.secret is required in cluster mode");
+        }
+        if (!appProperties.getSession().isStateless()) {
+            throw new IllegalStateException("Cluster mode needs app.session.stateless=true");
+        }
+    }
+
+    @Bean
+    public ClusterMembership clusterMembership() {
+        return new ClusterMembership(settings);
+    }
+
+    @Bean
+    public ClusterClient clusterClient() {
+        return new ClusterClient(settings);
+    }
+
+    // GameService only through a provider: WebSocketConfig needs this bean
+    @Bean
+    public ClusterRelay clusterRelay(ClusterMembership membership, ClusterClient client,
+                                     ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                                     ObjectProvider<GameService> gameService) {
+        return new ClusterRelay(membership, client, messagingTemplate, gameService);
+    }
+
+    @Bean
+    public ClusterRebalancer clusterRebalancer(ClusterMembership membership, ClusterClient client,
+                                               GameService gameService) {
+        return new ClusterRebalancer(membership, client, gameService);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClusterForwardingFilter> clusterForwardingFilter(
+            ClusterMembership membership, ClusterClient client, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ClusterForwardingFilter> registration =
+                new FilterRegistrationBean<>(new ClusterForwardingFilter(membership, client, objectMapper));
+        registration.addUrlPatterns("/api/games/*");
+        return registration;
+    }
+}
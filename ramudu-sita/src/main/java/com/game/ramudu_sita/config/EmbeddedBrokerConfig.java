@@ -0,0 +1,37 @@
+package com.game.ramudu_sita.config;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * In-JVM Artemis broker speaking STOMP, so relay mode runs without an
+ * external broker in dev and tests. Nothing is persisted.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnClass(EmbeddedActiveMQ.class)
+@ConditionalOnProperty(prefix = "app.broker", name = "embedded", havingValue = "true")
+public class EmbeddedBrokerConfig {
+
+    // started before the relay, which connects once the context is refreshed
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(AppProperties appProperties) throws Exception {
+        AppProperties.Broker broker = appProperties.getBroker();
+        Path dataDir = Files.createTempDirectory("embedded-broker");
+        Configuration config = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJMXManagementEnabled(false);
+        config.setBrokerInstance(dataDir.toFile());
+        // STOMP /topic/x is a multicast address, /queue/x an anycast one
+        config.addAcceptorConfiguration("stomp", "tcp://" + broker.getRelayHost() + ":" + broker.getRelayPort()
+                + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+        return new EmbeddedActiveMQ().setConfiguration(config);
+    }
+}
@@ -0,0 +1,60 @@
+package com.game.ramudu_sita.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Keeps a game's player topics, /topic/games/{id}/state and /delta, to the
+ * players seated in it. Anyone else, spectators included, is refused with an
+ * ERROR frame and can watch /topic/games/{id}/spectate instead.
+ * <p>
+ * Subscriptions with broker wildcards are refused outright: a pattern such as
+ * /topic/games/** would otherwise match every game's topics.
+ */
+public class GameTopicAccessInterceptor implements ChannelInterceptor {
+
+    private static final String GAMES_PREFIX = "/topic/games/";
+    private static final String WILDCARDS = "*?{}#>";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return message;
+        }
+        if (destination.chars().anyMatch(c -> WILDCARDS.indexOf(c) >= 0)) {
+            throw new MessageDeliveryException(message, "Wildcard subscriptions are not allowed: " + destination);
+        }
+        String gameId = playerTopicGame(destination);
+        if (gameId != null
+                && !(SimpMessageHeaderAccessor.getUser(message.getHeaders()) instanceof PlayerPrincipal player
+                && player.gameId().equals(gameId))) {
+            throw new MessageDeliveryException(message, "Only the game's players may subscribe to " + destination);
+        }
+        return message;
+    }
+
+    /**
+     * @return the game whose state or delta topic this is, or null for any other destination
+     */
+    static String playerTopicGame(String destination) {
+        if (!destination.startsWith(GAMES_PREFIX)) {
+            return null;
+        }
+        int slash = destination.indexOf('/', GAMES_PREFIX.length());
+        if (slash < 0) {
+            return null;
+        }
+        String topic = destination.substring(slash + 1);
+        return topic.equals("state") || topic.equals("delta")
+                ? destination.substring(GAMES_PREFIX.length(), slash)
+                : null;
+    }
+}
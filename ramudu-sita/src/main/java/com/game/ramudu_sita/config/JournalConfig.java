@@ -0,0 +1,55 @@
+package com.game.ramudu_sita.config;
+
+import com.game.ramudu_sita.journal.GameJournal;
+import com.game.ramudu_sita.journal.MappedGameJournal;
+import com.game.ramudu_sita.service.GameService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+public class JournalConfig implements SchedulingConfigurer {
+
+    private final AppProperties appProperties;
+    private final ObjectProvider<GameService> gameService;
+
+    public JournalConfig(AppProperties appProperties, ObjectProvider<GameService> gameService) {
+        this.appProperties = appProperties;
+        this.gameService = gameService;
+    }
+
+    @Bean(destroyMethod = "close")
+    public GameJournal gameJournal() {
+        AppProperties.Journal settings = appProperties.getJournal();
+        return settings.isEnabled() ? new MappedGameJournal(settings) : GameJournal.DISABLED;
+    }
+
+    // DOWN once the writer has failed: changes are refused from then on, so take the node out of rotation
+    @Bean
+    public HealthIndicator gameJournalHealthIndicator(GameJournal gameJournal) {
+        return () -> {
+            Throwable failure = gameJournal.getFailure();
+            return failure == null ? Health.up().build() : Health.down(failure).build();
+        };
+    }
+
+    // Games come back before the web server starts taking requests
+    @Bean
+    public SmartInitializingSingleton restoreGamesFromJournal() {
+        return () -> gameService.getObject().restoreFromJournal();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        AppProperties.Journal settings = appProperties.getJournal();
+        if (settings.isEnabled()) {
+            registrar.addFixedDelayTask(() -> gameService.getObject().snapshotToJournal(),
+                    settings.getSnapshotInterval());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.game.ramudu_sita.config;
+
+import com.game.ramudu_sita.journal.GameJournal;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.rate.RateLimiterService;
+import com.game.ramudu_sita.service.GameService;
+import com.game.ramudu_sita.service.PlayerSessionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges for the in-memory stores, exposed on /actuator/prometheus.
+ * Every gauge reads a counter the owning service keeps up to date (or a
+ * ConcurrentHashMap size, which is a sum of a few cells), so a scrape never
+ * walks the games or sessions themselves.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder gameStoreMetrics(GameService gameService) {
+        return registry -> {
+            for (GameStatus status : GameStatus.values()) {
+                Gauge.builder("games.active", gameService, s -> s.countGames(status))
+                        .description("Games in memory by status")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+            Gauge.builder("games.store.size", gameService, GameService::gameCount)
+                    .description("Entries in the game store")
+                    .tag("index", "id")
+                    .register(registry);
+            Gauge.builder("games.store.size", gameService, GameService::gameCodeCount)
+                    .description("Entries in the game store")
+                    .tag("index", "code")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sessionMetrics(PlayerSessionService playerSessionService) {
+        return registry -> Gauge.builder("player.sessions", playerSessionService, PlayerSessionService::sessionCount)
+                .description("Player sessions in memory, including expired ones not yet cleaned up")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiterService rateLimiterService) {
+        return registry -> {
+            Gauge.builder("rate_limit.keys", rateLimiterService, RateLimiterService::trackedKeyCount)
+                    .description("Client keys the rate limiter is tracking")
+                    .register(registry);
+            FunctionCounter.builder("rate_limit.evictions", rateLimiterService, RateLimiterService::idleEvictionCount)
+                    .description("Client keys the rate limiter forgot")
+                    .tag("reason", "idle")
+                    .register(registry);
+            FunctionCounter.builder("rate_limit.evictions", rateLimiterService, RateLimiterService::capacityEvictionCount)
+                    .description("Client keys the rate limiter forgot")
+                    .tag("reason", "capacity")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder journalMetrics(GameJournal gameJournal) {
+        return registry -> {
+            Gauge.builder("journal.queue.size", gameJournal, GameJournal::pendingEvents)
+                    .description("Journal events waiting for the writer")
+                    .register(registry);
+            Gauge.builder("journal.writer.failed", gameJournal, j -> j.getFailure() == null ? 0 : 1)
+                    .description("1 once the journal writer has failed and changes are refused")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.game.ramudu_sita.config;
+
+import com.game.ramudu_sita.service.PlayerSessionService;
+import jakarta.servlet.http.Cookie;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.WebUtils;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Identifies the player behind a WebSocket handshake from the same HttpOnly
+ * PLAYER_TOKEN cookie the REST API uses, so private per-player state can be
+ * pushed to /user/queue/... destinations. Connections without a valid
+ * session stay anonymous and can only use public topics.
+ */
+public class PlayerHandshakeHandler extends DefaultHandshakeHandler {
+
+    private final PlayerSessionService playerSessionService;
+
+    public PlayerHandshakeHandler(PlayerSessionService playerSessionService) {
+        this.playerSessionService = playerSessionService;
+    }
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request,
+                                      WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Cookie cookie = WebUtils.getCookie(servletRequest.getServletRequest(), "PLAYER_TOKEN");
+            if (cookie != null) {
+                var session = playerSessionService.findValidSession(cookie.getValue());
+                if (session != null) {
+                    return new PlayerPrincipal(session.gameId(), session.seat());
+                }
+            }
+        }
+        return super.determineUser(request, wsHandler, attributes);
+    }
+}
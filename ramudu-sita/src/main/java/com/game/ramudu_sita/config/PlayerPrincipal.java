@@ -0,0 +1,20 @@
+package com.game.ramudu_sita.config;
+
+import java.security.Principal;
+
+/**
+ * WebSocket user for a connection opened with a valid PLAYER_TOKEN cookie.
+ * Seats are only unique within a game, so the name, which is what user
+ * destinations are addressed by, is {@link #name(String, int)}.
+ */
+public record PlayerPrincipal(String gameId, int seat) implements Principal {
+
+    public static String name(String gameId, int seat) {
+        return gameId + "/" + seat;
+    }
+
+    @Override
+    public String getName() {
+        return name(gameId, seat);
+    }
+}
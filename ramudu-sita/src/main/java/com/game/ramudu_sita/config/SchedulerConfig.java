@@ -0,0 +1,26 @@
+package com.game.ramudu_sita.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+/**
+ * Boot's own scheduler backs off because the message broker defines a TaskScheduler,
+ * so @Scheduled methods otherwise share the broker's heartbeat threads. In virtual-thread
+ * mode they get a scheduler that runs each execution on a virtual thread.
+ * <p>
+ * Kept apart from CleanupConfig: the WebSocket configuration collects every
+ * AsyncTaskExecutor, and this bean must not drag GameService in with it.
+ */
+@Configuration
+public class SchedulerConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler taskScheduler(SimpleAsyncTaskSchedulerBuilder builder) {
+        return builder.threadNamePrefix("scheduling-").build();
+    }
+}
@@ -1,7 +1,10 @@
 package com.game.ramudu_sita.config;
 
+import com.game.ramudu_sita.api.OperationTimingInterceptor;
+import com.game.ramudu_sita.rate.RateLimitRules;
 import com.game.ramudu_sita.rate.RateLimiterService;
 import com.game.ramudu_sita.rate.RateLimitingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -10,16 +13,24 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RateLimiterService rateLimiterService;
+    private final RateLimitRules rateLimitRules;
     private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
 
-    public WebMvcConfig(RateLimiterService rateLimiterService, AppProperties appProperties) {
+    public WebMvcConfig(RateLimiterService rateLimiterService, RateLimitRules rateLimitRules,
+                        AppProperties appProperties, MeterRegistry meterRegistry) {
         this.rateLimiterService = rateLimiterService;
+        this.rateLimitRules = rateLimitRules;
         this.appProperties = appProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RateLimitingInterceptor(rateLimiterService))
+        // timing first, so requests the rate limiter rejects are timed too
+        registry.addInterceptor(new OperationTimingInterceptor(meterRegistry))
+                .addPathPatterns("/api/games/**");
+        registry.addInterceptor(new RateLimitingInterceptor(rateLimiterService, rateLimitRules))
                 .addPathPatterns("/api/games/**");
     }
 
@@ -1,6 +1,13 @@
 package com.game.ramudu_sita.config;
 
+import com.game.ramudu_sita.cluster.ClusterRelay;
+import com.game.ramudu_sita.service.PlayerSessionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -11,29 +18,82 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final AppProperties appProperties;
+    private final PlayerSessionService playerSessionService;
+    private final ObjectProvider<ClusterRelay> clusterRelay;
+    // spring.threads.virtual.enabled also moves the inbound/outbound channels off their platform-thread pools
+    private final boolean virtualThreads;
 
-    public WebSocketConfig(AppProperties appProperties) {
+    public WebSocketConfig(AppProperties appProperties, PlayerSessionService playerSessionService,
+                           ObjectProvider<ClusterRelay> clusterRelay, Environment environment) {
         this.appProperties = appProperties;
+        this.playerSessionService = playerSessionService;
+        this.clusterRelay = clusterRelay;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Clients subscribe to /topic/...
-        config.enableSimpleBroker("/topic");
+        // Clients subscribe to /topic/... (public) and /user/queue/... (private, per player)
+        AppProperties.Broker broker = appProperties.getBroker();
+        switch (broker.getMode()) {
+            case SIMPLE -> {
+                config.enableSimpleBroker("/topic", "/queue");
+                // cluster mode: game updates also go to clients connected to other nodes
+                clusterRelay.ifAvailable(relay -> config.configureBrokerChannel().interceptors(relay));
+            }
+            case RELAY -> {
+                // the broker matches subscriptions and fans out; every node publishes to the same topics
+                config.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(broker.getRelayHost())
+                        .setRelayPort(broker.getRelayPort())
+                        .setClientLogin(broker.getClientLogin())
+                        .setClientPasscode(broker.getClientPasscode())
+                        .setSystemLogin(broker.getSystemLogin())
+                        .setSystemPasscode(broker.getSystemPasscode())
+                        // players connected to another node still get their /user/queue messages
+                        .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                        .setUserRegistryBroadcast("/topic/simp-user-registry");
+            }
+        }
+        // With a thread per message, a session's frames would otherwise overtake each other
+        config.setPreservePublishOrder(virtualThreads);
         // Client sends to /app/...
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+    }
+
+    // Boot's applicationTaskExecutor backs off when these channels define their own executors, so set them here.
+    // A client that stops reading then holds one cheap virtual thread instead of a pool thread every session shares.
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new GameTopicAccessInterceptor());
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("clientInboundChannel-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("clientOutboundChannel-"));
+        }
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         String[] origins = appProperties.getAllowedOrigins().toArray(new String[0]);
 
+        PlayerHandshakeHandler handshakeHandler = new PlayerHandshakeHandler(playerSessionService);
+        registry.setPreserveReceiveOrder(virtualThreads); // CONNECT, then SUBSCRIBEs, in the order sent
+
         // native WS
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(handshakeHandler)
                 .setAllowedOrigins(origins);
 
         // optional SockJS fallback
         registry.addEndpoint("/ws-sockjs")
+                .setHandshakeHandler(handshakeHandler)
                 .setAllowedOrigins(origins)
                 .withSockJS();
     }
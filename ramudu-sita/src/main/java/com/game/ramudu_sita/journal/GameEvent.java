@@ -0,0 +1,56 @@
+package com.game.ramudu_sita.journal;
+
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.model.GameState;
+
+import java.util.List;
+
+/**
+ * One state-changing game command, as written to the journal. Events carry
+ * their random outcomes (ids, codes, dealt chits), so replaying them rebuilds
+ * exactly the same game. Applying an event that a snapshot already contains
+ * is a no-op, see GameService#restoreFromJournal.
+ */
+public sealed interface GameEvent {
+
+    String gameId();
+
+    /**
+     * The host takes seat 0.
+     */
+    record GameCreated(String gameId, String code, int totalRounds, String creatorKey,
+                       String hostName) implements GameEvent {
+    }
+
+    /**
+     * @param seat the seat the player took, i.e. the number of players before them
+     */
+    record PlayerJoined(String gameId, int seat, String playerName) implements GameEvent {
+    }
+
+    /**
+     * @param chits round 1 chits, in player join order
+     */
+    record GameStarted(String gameId, List<ChitType> chits) implements GameEvent {
+    }
+
+    /**
+     * @param nextRoundChits chits dealt for the next round, in player join order; empty after the last round
+     */
+    record GuessMade(String gameId, int roundNumber, int guessedSeat,
+                     List<ChitType> nextRoundChits) implements GameEvent {
+    }
+
+    record GameRemoved(String gameId) implements GameEvent {
+    }
+
+    /**
+     * A whole game handed over by another node.
+     */
+    record GameImported(GameState game) implements GameEvent {
+        @Override
+        public String gameId() {
+            return game.getId();
+        }
+    }
+}
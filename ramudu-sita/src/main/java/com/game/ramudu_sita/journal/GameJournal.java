@@ -0,0 +1,76 @@
+package com.game.ramudu_sita.journal;
+
+import com.game.ramudu_sita.model.GameState;
+
+import java.util.function.Consumer;
+
+/**
+ * Durable record of game state: snapshots of every live game plus the events
+ * since the last snapshot.
+ */
+public interface GameJournal extends AutoCloseable {
+
+    /**
+     * Queue an event for writing; never blocks on I/O, only on a full queue.
+     *
+     * @throws IllegalStateException if the journal has failed (see {@link #getFailure})
+     */
+    void append(GameEvent event);
+
+    /**
+     * Feed the latest snapshot's games, then every event written after it, in order.
+     */
+    void replay(Consumer<GameState> snapshotGame, Consumer<GameEvent> event);
+
+    /**
+     * Write a snapshot. {@code capture} is called once and must hand every live
+     * game to the writer, each in a consistent state; events journaled before
+     * a game was captured become redundant and are dropped with old segments.
+     * It is called only after events appended from then on are kept, so every
+     * game with events appended before the call must be among those captured.
+     */
+    void snapshot(Consumer<Consumer<GameState>> capture);
+
+    boolean isEnabled();
+
+    /**
+     * @return why the journal stopped writing, or null if it has not failed;
+     *         once failed, {@link #append} throws instead of losing events
+     */
+    default Throwable getFailure() {
+        return null;
+    }
+
+    /**
+     * @return events queued but not written yet
+     */
+    default int pendingEvents() {
+        return 0;
+    }
+
+    @Override
+    void close();
+
+    GameJournal DISABLED = new GameJournal() {
+        @Override
+        public void append(GameEvent event) {
+        }
+
+        @Override
+        public void replay(Consumer<GameState> snapshotGame, Consumer<GameEvent> event) {
+        }
+
+        @Override
+        public void snapshot(Consumer<Consumer<GameState>> capture) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+}
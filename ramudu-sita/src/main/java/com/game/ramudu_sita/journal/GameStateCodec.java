@@ -0,0 +1,139 @@
+package com.game.ramudu_sita.journal;
+
+import com.game.ramudu_sita.model.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.game.ramudu_sita.journal.JournalCodec.readNullable;
+import static com.game.ramudu_sita.journal.JournalCodec.writeName;
+import static com.game.ramudu_sita.journal.JournalCodec.writeNullable;
+
+/**
+ * Binary form of a whole game: players with their scores and every round.
+ * Used for snapshots and to hand a game to another node.
+ */
+public final class GameStateCodec {
+
+    private static final ChitType[] CHITS = ChitType.values();
+    private static final GameStatus[] GAME_STATUSES = GameStatus.values();
+    private static final RoundStatus[] ROUND_STATUSES = RoundStatus.values();
+
+    private GameStateCodec() {
+    }
+
+    public static byte[] encode(GameState game) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen on a byte array
+        }
+        return bytes.toByteArray();
+    }
+
+    public static GameState decode(byte[] bytes) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not an encoded game", e);
+        }
+    }
+
+    static void write(DataOutput out, GameState game) throws IOException {
+        out.writeUTF(game.getId());
+        out.writeUTF(game.getCode());
+        out.writeByte(game.getStatus().ordinal());
+        out.writeByte(game.getTotalRounds());
+        out.writeByte(game.getCurrentRoundNumber());
+        writeNullable(out, game.getCreatorKey());
+
+        out.writeByte(game.getPlayers().size());
+        for (Player p : game.getPlayers()) { // in seat order, so seats need not be written
+            writeName(out, p.getName());
+            out.writeInt(p.getTotalScore());
+        }
+
+        // scored rounds in the layout of a full one, then the current round
+        // unless it is the last scored one; all in round order
+        RoundState current = game.getCurrentRound();
+        List<RoundState> rounds = new ArrayList<>();
+        for (RoundSummary summary : game.getCompletedRounds()) {
+            if (current == null || summary.getRoundNumber() != current.getRoundNumber()) {
+                rounds.add(summary.toRoundState());
+            }
+        }
+        if (current != null) {
+            rounds.add(current);
+        }
+        out.writeByte(rounds.size());
+        for (RoundState round : rounds) {
+            out.writeByte(round.getRoundNumber());
+            out.writeByte(round.getStatus().ordinal());
+            int dealt = 0;
+            for (int seat = 0; seat < round.getSeats(); seat++) {
+                dealt += round.getChit(seat) != null ? 1 : 0;
+            }
+            out.writeByte(dealt);
+            for (int seat = 0; seat < round.getSeats(); seat++) {
+                ChitType chit = round.getChit(seat);
+                if (chit != null) {
+                    out.writeByte(seat);
+                    out.writeByte(chit.ordinal());
+                }
+            }
+            out.writeByte(round.getRamuduSeat());
+            out.writeByte(round.getSitaSeat());
+            out.writeByte(round.getGuessTargetSeat());
+            out.writeByte(round.isScored() ? round.getSeats() : 0);
+            for (int seat = 0; round.isScored() && seat < round.getSeats(); seat++) {
+                out.writeByte(seat);
+                out.writeInt(round.getScoreDelta(seat));
+            }
+        }
+    }
+
+    static GameState read(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String code = in.readUTF();
+        GameStatus status = GAME_STATUSES[in.readByte()];
+        GameState game = new GameState(id, code, in.readByte());
+        game.setCurrentRoundNumber(in.readByte());
+        game.setCreatorKey(readNullable(in));
+        game.setStatus(status);
+
+        int players = in.readByte();
+        for (int i = 0; i < players; i++) {
+            game.addPlayer(in.readUTF()).addScore(in.readInt());
+        }
+
+        int rounds = in.readByte();
+        for (int i = 0; i < rounds; i++) {
+            RoundState round = new RoundState(in.readByte(), players);
+            round.setStatus(ROUND_STATUSES[in.readByte()]);
+            int assignments = in.readByte();
+            for (int j = 0; j < assignments; j++) {
+                round.assign(in.readByte(), CHITS[in.readByte()]);
+            }
+            in.readByte(); // Ramudu's and Sita's seats follow from the chits
+            in.readByte();
+            int guessTarget = in.readByte();
+            int deltas = in.readByte();
+            if (deltas > 0) {
+                int[] bySeat = new int[players];
+                for (int j = 0; j < deltas; j++) {
+                    bySeat[in.readByte()] = in.readInt();
+                }
+                round.restoreScore(guessTarget, bySeat);
+            }
+            if (round.isScored()) {
+                game.archiveRound(RoundSummary.of(round));
+            }
+            if (round.getRoundNumber() == game.getCurrentRoundNumber()) {
+                game.startRound(round);
+            }
+        }
+        return game;
+    }
+}
@@ -0,0 +1,124 @@
+package com.game.ramudu_sita.journal;
+
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.model.Player;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of journal events.
+ */
+final class JournalCodec {
+
+    private static final byte GAME_CREATED = 1;
+    private static final byte PLAYER_JOINED = 2;
+    private static final byte GAME_STARTED = 3;
+    private static final byte GUESS_MADE = 4;
+    private static final byte GAME_REMOVED = 5;
+    private static final byte GAME_IMPORTED = 6;
+
+    private static final ChitType[] CHITS = ChitType.values();
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(GameEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (event) {
+                case GameEvent.GameCreated e -> {
+                    out.writeByte(GAME_CREATED);
+                    out.writeUTF(e.gameId());
+                    out.writeUTF(e.code());
+                    out.writeByte(e.totalRounds());
+                    writeNullable(out, e.creatorKey());
+                    writeName(out, e.hostName());
+                }
+                case GameEvent.PlayerJoined e -> {
+                    out.writeByte(PLAYER_JOINED);
+                    out.writeUTF(e.gameId());
+                    out.writeByte(e.seat());
+                    writeName(out, e.playerName());
+                }
+                case GameEvent.GameStarted e -> {
+                    out.writeByte(GAME_STARTED);
+                    out.writeUTF(e.gameId());
+                    writeChits(out, e.chits());
+                }
+                case GameEvent.GuessMade e -> {
+                    out.writeByte(GUESS_MADE);
+                    out.writeUTF(e.gameId());
+                    out.writeByte(e.roundNumber());
+                    out.writeByte(e.guessedSeat());
+                    writeChits(out, e.nextRoundChits());
+                }
+                case GameEvent.GameRemoved e -> {
+                    out.writeByte(GAME_REMOVED);
+                    out.writeUTF(e.gameId());
+                }
+                case GameEvent.GameImported e -> {
+                    out.writeByte(GAME_IMPORTED);
+                    GameStateCodec.write(out, e.game());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen on a byte array
+        }
+        return bytes.toByteArray();
+    }
+
+    static GameEvent decodeEvent(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case GAME_CREATED -> new GameEvent.GameCreated(in.readUTF(), in.readUTF(), in.readByte(),
+                    readNullable(in), in.readUTF());
+            case PLAYER_JOINED -> new GameEvent.PlayerJoined(in.readUTF(), in.readByte(), in.readUTF());
+            case GAME_STARTED -> new GameEvent.GameStarted(in.readUTF(), readChits(in));
+            case GUESS_MADE -> new GameEvent.GuessMade(in.readUTF(), in.readByte(), in.readByte(), readChits(in));
+            case GAME_REMOVED -> new GameEvent.GameRemoved(in.readUTF());
+            case GAME_IMPORTED -> new GameEvent.GameImported(GameStateCodec.read(in));
+            default -> throw new IOException("Unknown journal event type " + type);
+        };
+    }
+
+    private static void writeChits(DataOutput out, List<ChitType> chits) throws IOException {
+        out.writeByte(chits.size());
+        for (ChitType chit : chits) {
+            out.writeByte(chit.ordinal());
+        }
+    }
+
+    private static List<ChitType> readChits(DataInput in) throws IOException {
+        int n = in.readByte();
+        List<ChitType> chits = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            chits.add(CHITS[in.readByte()]);
+        }
+        return chits;
+    }
+
+    /**
+     * Player names are bounded when they enter the game, so a name past the
+     * bound is a bug upstream; refusing it here fails only the event or game
+     * being written, not the journal.
+     */
+    static void writeName(DataOutput out, String name) throws IOException {
+        if (name.length() > Player.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Player name longer than " + Player.MAX_NAME_LENGTH + " characters");
+        }
+        out.writeUTF(name);
+    }
+
+    static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
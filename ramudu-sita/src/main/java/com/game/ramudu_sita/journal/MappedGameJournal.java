@@ -0,0 +1,413 @@
+package com.game.ramudu_sita.journal;
+
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.model.GameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only journal in memory-mapped segment files, plus periodic snapshots.
+ * <p>
+ * Callers only encode the event and queue it. A single writer thread drains
+ * the queue in batches (group commit), copies each record into the current
+ * segment's mapping and forces it to disk per the fsync policy. Records are
+ * framed as {@code [int length][int crc32][payload]}; a zero length or a bad
+ * checksum marks the end of a segment, so a torn write at the tail is dropped
+ * on replay.
+ * <p>
+ * A snapshot first rolls to a new segment S, then writes every game to
+ * {@code snapshot-S.bin} and deletes what came before S. Replay reads the
+ * latest snapshot and then segments S onwards; events that the snapshot
+ * already reflects are skipped when applied.
+ * <p>
+ * The queue is bounded: when the disk falls behind, appends wait rather than
+ * buffer without limit. If the writer fails, the journal stays failed: appends
+ * and snapshots throw, and {@link #getFailure} reports why.
+ */
+public class MappedGameJournal implements GameJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedGameJournal.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x52534a32; // "RSJ2": players by seat
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final AppProperties.Journal.Fsync fsync;
+    private final long fsyncIntervalNanos;
+
+    private final BlockingQueue<Object> queue;
+    private final Thread writer;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile boolean closed;
+    private volatile Throwable failure; // set once, by the writer thread
+
+    // writer thread only
+    private long segmentSeq;
+    private MappedByteBuffer segment; // null until the first write after a roll
+    private boolean dirty;
+    private long lastForceNanos = System.nanoTime();
+
+    private record Roll(CompletableFuture<Long> newSegmentSeq) {
+    }
+
+    private record Close(CompletableFuture<Void> done) {
+    }
+
+    public MappedGameJournal(AppProperties.Journal settings) {
+        this.directory = Path.of(settings.getDirectory());
+        this.segmentSize = Math.toIntExact(settings.getSegmentSize().toBytes());
+        this.fsync = settings.getFsync();
+        this.fsyncIntervalNanos = settings.getFsyncInterval().toNanos();
+        this.queue = new LinkedBlockingQueue<>(settings.getQueueCapacity());
+        try {
+            Files.createDirectories(directory);
+            // never append to a segment from before this start: its tail may be torn
+            this.segmentSeq = Math.max(latestSeq(SEGMENT_PREFIX), latestSeq(SNAPSHOT_PREFIX)) + 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+        this.writer = Thread.ofPlatform().daemon().name("game-journal-writer").start(this::writeLoop);
+    }
+
+    @Override
+    public void append(GameEvent event) {
+        byte[] record = JournalCodec.encode(event);
+        if (HEADER_BYTES + record.length + 4 > segmentSize) { // leave room for the zero end marker
+            throw new IllegalArgumentException("Journal record larger than a segment: " + record.length);
+        }
+        try {
+            // a full queue means the disk is behind: hold the caller back
+            while (!closed && !queue.offer(record, 100, TimeUnit.MILLISECONDS)) {
+                checkNotFailed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while journaling " + event.getClass().getSimpleName(), e);
+        }
+        checkNotFailed();
+    }
+
+    private void checkNotFailed() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("Game journal failed; changes can no longer be made durable", cause);
+        }
+    }
+
+    @Override
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public int pendingEvents() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    // --- Replay ---
+
+    @Override
+    public void replay(Consumer<GameState> snapshotGame, Consumer<GameEvent> event) {
+        try {
+            long snapshotSeq = latestSeq(SNAPSHOT_PREFIX);
+            if (snapshotSeq >= 0) {
+                readSnapshot(file(SNAPSHOT_PREFIX, snapshotSeq, ".bin")).forEach(snapshotGame);
+            }
+            for (long seq : sequences(SEGMENT_PREFIX)) {
+                if (seq >= snapshotSeq && !replaySegment(file(SEGMENT_PREFIX, seq, ".log"), event)) {
+                    break; // anything after a damaged record may depend on it
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay journal in " + directory, e);
+        }
+    }
+
+    /**
+     * @return false if the segment ended in a damaged record rather than cleanly
+     */
+    private boolean replaySegment(Path path, Consumer<GameEvent> event) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= HEADER_BYTES) {
+            int length = buf.getInt();
+            if (length == 0) {
+                return true; // end of what was written
+            }
+            int checksum = buf.getInt();
+            if (length < 0 || length > buf.remaining()) {
+                return false;
+            }
+            ByteBuffer payload = buf.slice(buf.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return false;
+            }
+            buf.position(buf.position() + length);
+            event.accept(JournalCodec.decodeEvent(new DataInputStream(new ByteBufferInputStream(payload))));
+        }
+        return true;
+    }
+
+    private static List<GameState> readSnapshot(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16), crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a game snapshot: " + path);
+            }
+            List<GameState> games = new ArrayList<>();
+            while (in.readBoolean()) {
+                games.add(GameStateCodec.read(in));
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                // written to a temp file and renamed only once synced, so this is real damage
+                throw new IllegalStateException("Corrupt game snapshot " + path);
+            }
+            return games;
+        }
+    }
+
+    // --- Snapshot ---
+
+    @Override
+    public void snapshot(Consumer<Consumer<GameState>> capture) {
+        snapshotLock.lock();
+        try {
+            checkNotFailed();
+            if (closed) {
+                throw new IllegalStateException("Game journal is closed");
+            }
+            CompletableFuture<Long> rolled = new CompletableFuture<>();
+            queue.put(new Roll(rolled));
+            long seq = rolled.join();
+
+            Path target = file(SNAPSHOT_PREFIX, seq, ".bin");
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            CRC32 crc = new CRC32();
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                         new BufferedOutputStream(file, 1 << 16), crc))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                capture.accept(game -> {
+                    try {
+                        out.writeBoolean(true);
+                        GameStateCodec.write(out, game);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.writeBoolean(false);
+                out.writeLong(crc.getValue());
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            for (long old : sequences(SEGMENT_PREFIX)) {
+                if (old < seq) {
+                    Files.deleteIfExists(file(SEGMENT_PREFIX, old, ".log"));
+                }
+            }
+            for (long old : sequences(SNAPSHOT_PREFIX)) {
+                if (old < seq) {
+                    Files.deleteIfExists(file(SNAPSHOT_PREFIX, old, ".bin"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write game snapshot in " + directory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while snapshotting the game journal", e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed || !writer.isAlive()) {
+            return;
+        }
+        closed = true;
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            queue.put(new Close(done));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        done.join();
+    }
+
+    // --- Writer thread ---
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        try {
+            while (true) {
+                Object first = fsync == AppProperties.Journal.Fsync.INTERVAL && dirty
+                        ? queue.poll(fsyncIntervalNanos, TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+                for (Object item : batch) {
+                    switch (item) {
+                        case byte[] record -> write(record);
+                        case Roll roll -> {
+                            closeSegment();
+                            roll.newSegmentSeq().complete(segmentSeq);
+                        }
+                        case Close close -> {
+                            closeSegment();
+                            close.done().complete(null);
+                            return;
+                        }
+                        default -> throw new IllegalStateException("Unexpected journal item " + item);
+                    }
+                }
+                batch.clear();
+                if (dirty && shouldForce()) {
+                    force();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            log.error("Game journal writer in {} failed; no further events will be written", directory, e);
+        } finally {
+            closed = true;
+            // nothing will drain the queue any more: release whoever waits on it
+            for (Object item : queue) {
+                if (item instanceof Roll roll) {
+                    roll.newSegmentSeq().completeExceptionally(new IllegalStateException("Game journal is closed"));
+                } else if (item instanceof Close close) {
+                    close.done().complete(null);
+                }
+            }
+            queue.clear();
+        }
+    }
+
+    private void write(byte[] record) throws IOException {
+        int size = HEADER_BYTES + record.length; // fits a segment, checked on append
+        if (segment != null && segment.remaining() < size + 4) {
+            closeSegment();
+        }
+        if (segment == null) {
+            try (FileChannel channel = FileChannel.open(file(SEGMENT_PREFIX, segmentSeq, ".log"),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        segment.putInt(record.length).putInt((int) crc.getValue()).put(record);
+        dirty = true;
+    }
+
+    private boolean shouldForce() {
+        return switch (fsync) {
+            case ALWAYS -> true;
+            case INTERVAL -> System.nanoTime() - lastForceNanos >= fsyncIntervalNanos;
+            case NEVER -> false;
+        };
+    }
+
+    private void force() {
+        segment.force();
+        dirty = false;
+        lastForceNanos = System.nanoTime();
+    }
+
+    /**
+     * Finish the current segment; the next write starts a new one.
+     */
+    private void closeSegment() {
+        if (segment != null) {
+            if (dirty) {
+                force();
+            }
+            segment = null;
+        }
+        segmentSeq++;
+    }
+
+    // --- Files ---
+
+    private Path file(String prefix, long seq, String suffix) {
+        return directory.resolve(prefix + String.format("%019d", seq) + suffix);
+    }
+
+    private long latestSeq(String prefix) throws IOException {
+        List<Long> seqs = sequences(prefix);
+        return seqs.isEmpty() ? -1 : seqs.get(seqs.size() - 1);
+    }
+
+    private List<Long> sequences(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && (name.endsWith(".log") || name.endsWith(".bin")))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.lastIndexOf('.'))))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buf.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+    }
+}
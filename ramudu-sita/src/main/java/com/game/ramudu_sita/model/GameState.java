@@ -1,23 +1,29 @@
 package com.game.ramudu_sita.model;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class GameState {
+    private static final RoundSummary[] NO_ROUNDS = {};
+
     private final String id;
     private final String code;
-    private GameStatus status;
+    private volatile GameStatus status;
     private int totalRounds;
     private int currentRoundNumber;
     private final Instant createdAt;
-    private Instant lastActivityAt;
+    private volatile Instant lastActivityAt;
+    private volatile long version; // bumped on every change that clients should see; on the mailbox only
 
     private String creatorKey;    // e.g. IP or session key
+    private GameStatusListener statusListener;
 
-    private final Map<String, Player> players = new LinkedHashMap<>(); // preserve join order
-    private final Map<Integer, RoundState> rounds = new HashMap<>();
+    private final List<Player> players = new ArrayList<>(5); // index is the seat, i.e. join order
+    private RoundState currentRound;
+    // every scored round, oldest first; replaced, never changed, so it can be read off the mailbox
+    private volatile RoundSummary[] completedRounds = NO_ROUNDS;
 
     public GameState(String id, String code, int totalRounds) {
         this.id = id;
@@ -33,19 +39,63 @@ public class GameState {
     public String getCode() { return code; }
 
     public GameStatus getStatus() { return status; }
-    public void setStatus(GameStatus status) { this.status = status; }
+    public void setStatus(GameStatus status) {
+        GameStatus from = this.status;
+        this.status = status;
+        if (statusListener != null && from != status) {
+            statusListener.onStatusChange(this, from, status);
+        }
+    }
+
+    public void setStatusListener(GameStatusListener statusListener) { this.statusListener = statusListener; }
 
     public int getTotalRounds() { return totalRounds; }
     public int getCurrentRoundNumber() { return currentRoundNumber; }
     public void setCurrentRoundNumber(int currentRoundNumber) { this.currentRoundNumber = currentRoundNumber; }
 
-    public Map<String, Player> getPlayers() { return players; }
-    public Map<Integer, RoundState> getRounds() { return rounds; }
+    public List<Player> getPlayers() { return players; }
+
+    /**
+     * @return the player in this seat, or null if there is none
+     */
+    public Player getPlayer(int seat) {
+        return seat >= 0 && seat < players.size() ? players.get(seat) : null;
+    }
+
+    /**
+     * Seat a new player after everyone already here; the first one is the host.
+     */
+    public Player addPlayer(String name) {
+        Player player = new Player(players.size(), name, players.isEmpty());
+        players.add(player);
+        return player;
+    }
 
+    /**
+     * @return the round being played, or the last one played once the game is over
+     */
     public RoundState getCurrentRound() {
-        return rounds.get(currentRoundNumber);
+        return currentRound;
     }
 
+    public void startRound(RoundState round) {
+        this.currentRound = round;
+        this.currentRoundNumber = round.getRoundNumber();
+    }
+
+    public List<RoundSummary> getCompletedRounds() {
+        return List.of(completedRounds);
+    }
+
+    public void archiveRound(RoundSummary summary) {
+        RoundSummary[] rounds = Arrays.copyOf(completedRounds, completedRounds.length + 1);
+        rounds[rounds.length - 1] = summary;
+        completedRounds = rounds;
+    }
+
+    public long getVersion() { return version; }
+    public void markChanged() { version++; }
+
     public void touch() {
         this.lastActivityAt = Instant.now();
     }
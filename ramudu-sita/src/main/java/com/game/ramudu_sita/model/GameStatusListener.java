@@ -0,0 +1,9 @@
+package com.game.ramudu_sita.model;
+
+/**
+ * Notified whenever a game's status actually changes.
+ */
+@FunctionalInterface
+public interface GameStatusListener {
+    void onStatusChange(GameState game, GameStatus from, GameStatus to);
+}
@@ -1,19 +1,26 @@
 package com.game.ramudu_sita.model;
 
+/**
+ * A player is identified by its seat: 0 for the host, then join order.
+ * Clients see the seat only in its external form (see PlayerIds).
+ */
 public class Player {
-    private final String id;
+    /** Longest name a player may pick; comfortably within what the journal can encode. */
+    public static final int MAX_NAME_LENGTH = 32;
+
+    private final int seat;
     private final String name;
     private final boolean host;
     private int totalScore;
 
-    public Player(String id, String name, boolean host) {
-        this.id = id;
+    public Player(int seat, String name, boolean host) {
+        this.seat = seat;
         this.name = name;
         this.host = host;
         this.totalScore = 0;
     }
 
-    public String getId() { return id; }
+    public int getSeat() { return seat; }
     public String getName() { return name; }
     public boolean isHost() { return host; }
 
@@ -1,42 +1,121 @@
 package com.game.ramudu_sita.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * One round, stored by seat: the chit each seat holds and, once Ramudu has
+ * guessed, each seat's score delta. A round has at most a handful of seats,
+ * so both are plain arrays and scoring a guess allocates nothing.
+ */
 public class RoundState {
+    public static final int NO_SEAT = -1;
+
+    private static final ChitType[] CHITS = ChitType.values();
+    private static final byte NO_CHIT = -1;
+
     private final int roundNumber;
     private RoundStatus status;
 
-    // playerId -> chit
-    private final Map<String, ChitType> assignments = new HashMap<>();
+    private final byte[] chits;        // seat -> ChitType ordinal, NO_CHIT until dealt
+    private final int[] scoreDeltas;   // seat -> delta, meaningful once scored
+    private boolean scored;
 
-    private String ramuduPlayerId;
-    private String sitaPlayerId;
-    private String guessTargetPlayerId; // whom Ramudu guessed
+    private int ramuduSeat = NO_SEAT;
+    private int sitaSeat = NO_SEAT;
+    private int guessTargetSeat = NO_SEAT; // whom Ramudu guessed
 
-    // per-round score delta
-    private Map<String, Integer> scoreDelta = new HashMap<>();
-
-    public RoundState(int roundNumber) {
+    public RoundState(int roundNumber, int seats) {
         this.roundNumber = roundNumber;
         this.status = RoundStatus.DISTRIBUTING;
+        this.chits = new byte[seats];
+        this.scoreDeltas = new int[seats];
+        Arrays.fill(chits, NO_CHIT);
     }
 
     public int getRoundNumber() { return roundNumber; }
     public RoundStatus getStatus() { return status; }
     public void setStatus(RoundStatus status) { this.status = status; }
 
-    public Map<String, ChitType> getAssignments() { return assignments; }
+    public int getSeats() { return chits.length; }
+
+    /**
+     * @return the chit dealt to this seat, or null if none was
+     */
+    public ChitType getChit(int seat) {
+        return seat >= 0 && seat < chits.length && chits[seat] != NO_CHIT ? CHITS[chits[seat]] : null;
+    }
+
+    public void assign(int seat, ChitType chit) {
+        chits[seat] = (byte) chit.ordinal();
+        if (chit.isRamudu()) {
+            ramuduSeat = seat;
+        }
+        if (chit.isSita()) {
+            sitaSeat = seat;
+        }
+    }
 
-    public String getRamuduPlayerId() { return ramuduPlayerId; }
-    public void setRamuduPlayerId(String ramuduPlayerId) { this.ramuduPlayerId = ramuduPlayerId; }
+    public int getRamuduSeat() { return ramuduSeat; }
+    public int getSitaSeat() { return sitaSeat; }
+    public int getGuessTargetSeat() { return guessTargetSeat; }
 
-    public String getSitaPlayerId() { return sitaPlayerId; }
-    public void setSitaPlayerId(String sitaPlayerId) { this.sitaPlayerId = sitaPlayerId; }
+    /**
+     * Record Ramudu's guess and score it: everyone gets their chit's base
+     * points; if the guess found Sita, Ramudu gets 5000, otherwise Ramudu
+     * gets nothing and Sita takes the 5000.
+     */
+    public void scoreGuess(int guessedSeat) {
+        guessTargetSeat = guessedSeat;
+        for (int seat = 0; seat < chits.length; seat++) {
+            scoreDeltas[seat] = chits[seat] == NO_CHIT ? 0 : CHITS[chits[seat]].getBasePoints();
+        }
+        if (guessedSeat == sitaSeat) {
+            scoreDeltas[ramuduSeat] = 5000;
+        } else {
+            scoreDeltas[ramuduSeat] = 0;
+            scoreDeltas[sitaSeat] = 5000;
+        }
+        scored = true;
+    }
 
-    public String getGuessTargetPlayerId() { return guessTargetPlayerId; }
-    public void setGuessTargetPlayerId(String guessTargetPlayerId) { this.guessTargetPlayerId = guessTargetPlayerId; }
+    public boolean isScored() { return scored; }
 
-    public Map<String, Integer> getScoreDelta() { return scoreDelta; }
-    public void setScoreDelta(Map<String, Integer> scoreDelta) { this.scoreDelta = scoreDelta; }
+    public int getScoreDelta(int seat) { return scoreDeltas[seat]; }
+
+    /**
+     * Put back a scored round as it was, e.g. from a snapshot.
+     */
+    public void restoreScore(int guessedSeat, int[] deltas) {
+        guessTargetSeat = guessedSeat;
+        System.arraycopy(deltas, 0, scoreDeltas, 0, scoreDeltas.length);
+        scored = true;
+    }
+
+    // --- Map copies, for serialization and tests; the engine uses the seat accessors ---
+
+    /**
+     * @return seat -> chit for every seat dealt a chit
+     */
+    public Map<Integer, ChitType> getAssignments() {
+        Map<Integer, ChitType> bySeat = new LinkedHashMap<>();
+        for (int seat = 0; seat < chits.length; seat++) {
+            if (chits[seat] != NO_CHIT) {
+                bySeat.put(seat, CHITS[chits[seat]]);
+            }
+        }
+        return bySeat;
+    }
+
+    /**
+     * @return seat -> score delta; empty until the round is scored
+     */
+    public Map<Integer, Integer> getScoreDelta() {
+        Map<Integer, Integer> bySeat = new LinkedHashMap<>();
+        for (int seat = 0; scored && seat < scoreDeltas.length; seat++) {
+            bySeat.put(seat, scoreDeltas[seat]);
+        }
+        return bySeat;
+    }
 }
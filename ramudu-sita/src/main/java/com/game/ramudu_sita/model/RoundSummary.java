@@ -0,0 +1,77 @@
+package com.game.ramudu_sita.model;
+
+/**
+ * What is left of a round once it is scored: the chit each seat held, whom
+ * Ramudu guessed and the resulting score deltas. Immutable, so it can be
+ * read outside the game's mailbox; the chits are packed into one long.
+ */
+public final class RoundSummary {
+    private static final ChitType[] CHITS = ChitType.values();
+    private static final int CHIT_BITS = 4;
+    private static final long CHIT_MASK = (1L << CHIT_BITS) - 1;
+    public static final int MAX_SEATS = Long.SIZE / CHIT_BITS;
+
+    private final int roundNumber;
+    private final int guessedSeat;
+    private final long chits;          // CHIT_BITS per seat: ChitType ordinal + 1, 0 for none
+    private final int[] scoreDeltas;   // seat -> delta
+
+    private RoundSummary(int roundNumber, int guessedSeat, long chits, int[] scoreDeltas) {
+        this.roundNumber = roundNumber;
+        this.guessedSeat = guessedSeat;
+        this.chits = chits;
+        this.scoreDeltas = scoreDeltas;
+    }
+
+    public static RoundSummary of(RoundState round) {
+        if (!round.isScored()) {
+            throw new IllegalStateException("Round " + round.getRoundNumber() + " is not scored yet");
+        }
+        if (round.getSeats() > MAX_SEATS) {
+            throw new IllegalStateException("Too many seats to summarize: " + round.getSeats());
+        }
+        long chits = 0;
+        int[] deltas = new int[round.getSeats()];
+        for (int seat = 0; seat < deltas.length; seat++) {
+            ChitType chit = round.getChit(seat);
+            if (chit != null) {
+                chits |= (long) (chit.ordinal() + 1) << (seat * CHIT_BITS);
+            }
+            deltas[seat] = round.getScoreDelta(seat);
+        }
+        return new RoundSummary(round.getRoundNumber(), round.getGuessTargetSeat(), chits, deltas);
+    }
+
+    public int getRoundNumber() { return roundNumber; }
+    public int getSeats() { return scoreDeltas.length; }
+    public int getGuessedSeat() { return guessedSeat; }
+
+    /**
+     * @return the chit this seat held, or null if none was dealt to it
+     */
+    public ChitType getChit(int seat) {
+        if (seat < 0 || seat >= scoreDeltas.length) {
+            return null;
+        }
+        int packed = (int) (chits >>> (seat * CHIT_BITS) & CHIT_MASK);
+        return packed == 0 ? null : CHITS[packed - 1];
+    }
+
+    public int getScoreDelta(int seat) { return scoreDeltas[seat]; }
+
+    /**
+     * Back to a full round, e.g. to write it in the snapshot layout.
+     */
+    public RoundState toRoundState() {
+        RoundState round = new RoundState(roundNumber, scoreDeltas.length);
+        for (int seat = 0; seat < scoreDeltas.length; seat++) {
+            ChitType chit = getChit(seat);
+            if (chit != null) {
+                round.assign(seat, chit);
+            }
+        }
+        round.restoreScore(guessedSeat, scoreDeltas);
+        round.setStatus(RoundStatus.COMPLETED);
+        return round;
+    }
+}
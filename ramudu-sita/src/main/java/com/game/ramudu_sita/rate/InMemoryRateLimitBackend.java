@@ -0,0 +1,61 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Budgets in this JVM: one packed {@code long} of state per key, updated
+ * lock-free by the chosen {@link RateLimitAlgorithm}. Idle keys are forgotten
+ * and the number of tracked keys is capped, see {@link RateLimitCounterStore}.
+ * Each node counts on its own, so behind a load balancer a client gets the
+ * limit once per node unless sessions are sticky.
+ */
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final RateLimitCounterStore states;
+
+    private final LongSupplier nanoClock;
+
+    // all algorithm times are relative to this, so they start at zero and never go negative
+    private final long origin;
+
+    public InMemoryRateLimitBackend(AppProperties.RateLimit settings) {
+        this(settings, System::nanoTime);
+    }
+
+    InMemoryRateLimitBackend(AppProperties.RateLimit settings, LongSupplier nanoClock) {
+        this.states = new RateLimitCounterStore(settings.getIdleTtl(), settings.getMaxKeys());
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int limit, long windowSeconds, RateLimitAlgorithm algorithm) {
+        long now = nanoClock.getAsLong() - origin;
+        AtomicLong state = states.stateFor(key, now);
+        return algorithm.tryAcquire(state, now, limit, TimeUnit.SECONDS.toNanos(windowSeconds));
+    }
+
+    @Override
+    public int trackedKeyCount() {
+        return states.size();
+    }
+
+    @Override
+    public long idleEvictionCount() {
+        return states.idleEvictions();
+    }
+
+    @Override
+    public long capacityEvictionCount() {
+        return states.capacityEvictions();
+    }
+
+    @Override
+    public void clear() {
+        states.clear(nanoClock.getAsLong() - origin);
+    }
+}
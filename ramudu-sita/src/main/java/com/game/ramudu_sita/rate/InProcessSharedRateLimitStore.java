@@ -0,0 +1,41 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link SharedRateLimitStore} in this JVM, for tests and single-process
+ * setups that run several nodes side by side.
+ */
+public class InProcessSharedRateLimitStore implements SharedRateLimitStore {
+
+    private final InMemoryRateLimitBackend budgets;
+    private final LongAdder calls = new LongAdder();
+
+    public InProcessSharedRateLimitStore(AppProperties.RateLimit settings) {
+        this(settings, System::nanoTime);
+    }
+
+    InProcessSharedRateLimitStore(AppProperties.RateLimit settings, LongSupplier nanoClock) {
+        this.budgets = new InMemoryRateLimitBackend(settings, nanoClock);
+    }
+
+    @Override
+    public int acquire(String key, int permits, int limit, long windowSeconds, RateLimitAlgorithm algorithm) {
+        calls.increment();
+        int granted = 0;
+        while (granted < permits && budgets.tryAcquire(key, limit, windowSeconds, algorithm)) {
+            granted++;
+        }
+        return granted;
+    }
+
+    /**
+     * Round trips a remote store would have served.
+     */
+    public long callCount() {
+        return calls.sum();
+    }
+}
@@ -0,0 +1,129 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Budgets shared by the whole cluster through a {@link SharedRateLimitStore},
+ * without a round trip per request.
+ * <p>
+ * A node leases a batch of permits for a key ({@code leaseFraction} of the
+ * limit) and hands them out locally until they run out or the lease expires.
+ * A key the store refused is refused locally until the lease TTL passes.
+ * Leased permits are already counted in the store, so the cluster never
+ * allows more than the limit per window. Permits left when a lease expires
+ * are carried into the renewed one, which only tops them up to a batch, so a
+ * permit taken late in a window may be spent in a later one (at most one batch
+ * per node).
+ * <p>
+ * Renewal is single-flight: the caller that finds the lease used up or expired
+ * marks it renewing and goes to the store; callers arriving meanwhile are
+ * refused rather than each fetching (and the losers discarding) a batch.
+ * <p>
+ * Lease state per key is one packed {@code long}:
+ * expiry in ms (42 bits) | renewing (1 bit) | refused (1 bit) | permits left (20 bits).
+ */
+public class LeasedRateLimitBackend implements RateLimitBackend {
+
+    private static final int PERMITS_MASK = (1 << 20) - 1;
+    private static final long REFUSED = 1L << 20;
+    private static final long RENEWING = 1L << 21;
+    private static final int EXPIRY_SHIFT = 22;
+
+    private final SharedRateLimitStore store;
+    private final double leaseFraction;
+    private final long leaseTtlMillis;
+    private final RateLimitCounterStore leases;
+
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    public LeasedRateLimitBackend(AppProperties.RateLimit settings, SharedRateLimitStore store) {
+        this(settings, store, System::nanoTime);
+    }
+
+    LeasedRateLimitBackend(AppProperties.RateLimit settings, SharedRateLimitStore store, LongSupplier nanoClock) {
+        if (settings.getLeaseFraction() <= 0 || settings.getLeaseFraction() > 1) {
+            throw new IllegalArgumentException("leaseFraction must be in (0, 1]");
+        }
+        this.store = store;
+        this.leaseFraction = settings.getLeaseFraction();
+        this.leaseTtlMillis = settings.getLeaseTtl().toMillis();
+        this.leases = new RateLimitCounterStore(settings.getIdleTtl(), settings.getMaxKeys());
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int limit, long windowSeconds, RateLimitAlgorithm algorithm) {
+        long now = nanoClock.getAsLong() - origin;
+        long nowMillis = TimeUnit.NANOSECONDS.toMillis(now);
+        AtomicLong lease = leases.stateFor(key, now);
+
+        while (true) {
+            long current = lease.get();
+            boolean live = current >>> EXPIRY_SHIFT > nowMillis;
+            if (live && (current & REFUSED) != 0) {
+                return false;
+            }
+            if (live && (current & PERMITS_MASK) != 0) {
+                if (lease.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+                continue;
+            }
+            if ((current & RENEWING) != 0) {
+                return false; // another caller is at the store for this key; don't pile on
+            }
+            if (lease.compareAndSet(current, current | RENEWING)) {
+                return renew(lease, key, limit, windowSeconds, algorithm, nowMillis);
+            }
+        }
+    }
+
+    /**
+     * Called by the one caller that set {@link #RENEWING}; always clears it.
+     */
+    private boolean renew(AtomicLong lease, String key, int limit, long windowSeconds,
+                          RateLimitAlgorithm algorithm, long nowMillis) {
+        int batch = (int) Math.min(PERMITS_MASK, Math.max(1, (long) (limit * leaseFraction)));
+        // nobody else changes a renewing lease, so what it still holds is ours to carry over
+        int left = (int) (lease.get() & PERMITS_MASK);
+        int granted = 0;
+        if (left < batch) {
+            try {
+                granted = store.acquire(key, batch - left, limit, windowSeconds, algorithm);
+            } catch (RuntimeException | Error e) {
+                lease.getAndUpdate(current -> current & ~RENEWING);
+                throw e;
+            }
+        }
+        int permits = left + granted;
+        long expiry = (nowMillis + leaseTtlMillis) << EXPIRY_SHIFT;
+        lease.set(permits == 0 ? expiry | REFUSED : expiry | (permits - 1));
+        return permits > 0;
+    }
+
+    @Override
+    public int trackedKeyCount() {
+        return leases.size();
+    }
+
+    @Override
+    public long idleEvictionCount() {
+        return leases.idleEvictions();
+    }
+
+    @Override
+    public long capacityEvictionCount() {
+        return leases.capacityEvictions();
+    }
+
+    @Override
+    public void clear() {
+        leases.clear(nanoClock.getAsLong() - origin);
+    }
+}
@@ -0,0 +1,114 @@
+package com.game.ramudu_sita.rate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-limit algorithms over a single packed {@code long} per key, updated
+ * with compare-and-set: no locks and nothing allocated per call.
+ * <p>
+ * Times are nanoseconds since the limiter started. Window indexes are stored
+ * modulo 2^24; they are only ever compared for "same" or "previous" window,
+ * so wrapping around is harmless.
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * {@code limit} requests per aligned window. Cheapest, but allows up to
+     * 2x {@code limit} across a window boundary.
+     * State: window index (24 bits) | count (40 bits).
+     */
+    FIXED_WINDOW {
+        @Override
+        boolean tryAcquire(AtomicLong state, long nowNanos, int limit, long windowNanos) {
+            long window = (nowNanos / windowNanos) & WINDOW_MASK;
+            while (true) {
+                long current = state.get();
+                long next;
+                if (current >>> 40 != window) {
+                    next = window << 40 | 1;
+                } else if ((current & FIXED_COUNT_MASK) >= limit) {
+                    return false;
+                } else {
+                    next = current + 1;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    },
+
+    /**
+     * Token bucket holding {@code limit} tokens, refilled evenly over the
+     * window, implemented as GCRA: the state is the time at which the bucket
+     * will be full again, so a burst of {@code limit} is allowed and after that
+     * one request per {@code window / limit}.
+     */
+    TOKEN_BUCKET {
+        @Override
+        boolean tryAcquire(AtomicLong state, long nowNanos, int limit, long windowNanos) {
+            long interval = Math.max(1, windowNanos / limit);
+            while (true) {
+                long fullAt = state.get();
+                long next = Math.max(fullAt, nowNanos) + interval;
+                if (next - nowNanos > windowNanos) {
+                    return false;
+                }
+                if (state.compareAndSet(fullAt, next)) {
+                    return true;
+                }
+            }
+        }
+    },
+
+    /**
+     * Approximate sliding window: the previous window's count, weighted by how
+     * much of it still overlaps the sliding window, plus the current count.
+     * Smooths out fixed-window boundary bursts with two counters per key.
+     * State: window index (24 bits) | previous count (20 bits) | current count (20 bits);
+     * limits above 2^20 - 1 are capped.
+     */
+    SLIDING_WINDOW {
+        @Override
+        boolean tryAcquire(AtomicLong state, long nowNanos, int limit, long windowNanos) {
+            long windowIndex = nowNanos / windowNanos;
+            long window = windowIndex & WINDOW_MASK;
+            double remaining = 1.0 - (double) (nowNanos - windowIndex * windowNanos) / windowNanos;
+            int cap = Math.min(limit, SLIDING_COUNT_MASK);
+            while (true) {
+                long current = state.get();
+                long stateWindow = current >>> 40;
+                long previous;
+                long count;
+                if (stateWindow == window) {
+                    previous = (current >>> 20) & SLIDING_COUNT_MASK;
+                    count = current & SLIDING_COUNT_MASK;
+                } else if (stateWindow == ((windowIndex - 1) & WINDOW_MASK)) {
+                    previous = current & SLIDING_COUNT_MASK;
+                    count = 0;
+                } else {
+                    previous = 0;
+                    count = 0;
+                }
+                if (previous * remaining + count >= cap) {
+                    return false;
+                }
+                long next = window << 40 | previous << 20 | (count + 1);
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    };
+
+    private static final long WINDOW_MASK = (1L << 24) - 1;
+    private static final long FIXED_COUNT_MASK = (1L << 40) - 1;
+    private static final int SLIDING_COUNT_MASK = (1 << 20) - 1;
+
+    /**
+     * @param state       this key's packed state, initially 0
+     * @param nowNanos    current time, non-negative and monotonic
+     * @return true if the request is allowed (and has been counted)
+     */
+    abstract boolean tryAcquire(AtomicLong state, long nowNanos, int limit, long windowNanos);
+}
@@ -0,0 +1,32 @@
+package com.game.ramudu_sita.rate;
+
+/**
+ * Where {@link RateLimiterService} keeps its per-key budgets.
+ *
+ * @see InMemoryRateLimitBackend
+ * @see LeasedRateLimitBackend
+ */
+public interface RateLimitBackend {
+
+    /**
+     * @return true if the request is allowed (and has been counted)
+     */
+    boolean tryAcquire(String key, int limit, long windowSeconds, RateLimitAlgorithm algorithm);
+
+    /**
+     * Keys this node holds state for.
+     */
+    int trackedKeyCount();
+
+    /**
+     * Keys forgotten because nobody used them for an idle TTL.
+     */
+    long idleEvictionCount();
+
+    /**
+     * Keys forgotten early because the store hit its key cap.
+     */
+    long capacityEvictionCount();
+
+    void clear();
+}
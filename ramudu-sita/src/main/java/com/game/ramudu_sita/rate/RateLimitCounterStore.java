@@ -0,0 +1,124 @@
+package com.game.ramudu_sita.rate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-key limiter state in two generations: keys touched in the current
+ * generation, and keys from the previous one that have not come back yet.
+ * <p>
+ * A rotation drops the previous generation wholesale, so a key nobody has used
+ * for between one and two {@code idleTtl}s is forgotten without ever scanning
+ * the map. A key that is used again is moved to the current generation.
+ * <p>
+ * The current generation also rotates early once it holds {@code maxKeys / 2}
+ * keys, so the store never tracks more than {@code maxKeys} (plus the keys being
+ * inserted concurrently) however many addresses hit it. Under such a flood, a key
+ * may be forgotten before its window ends, which only makes the limiter more lenient.
+ */
+class RateLimitCounterStore {
+
+    private final long idleTtlNanos;
+    private final int maxKeysPerGeneration;
+
+    private volatile Map<String, AtomicLong> current = new ConcurrentHashMap<>();
+    private volatile Map<String, AtomicLong> previous = new ConcurrentHashMap<>();
+    private volatile long rotatedAt;
+    private final ReentrantLock rotation = new ReentrantLock();
+
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+
+    /**
+     * Times passed in are the limiter's clock, which starts at 0.
+     */
+    RateLimitCounterStore(Duration idleTtl, int maxKeys) {
+        if (idleTtl.isNegative() || idleTtl.isZero() || maxKeys < 2) {
+            throw new IllegalArgumentException("idleTtl must be positive and maxKeys at least 2");
+        }
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.maxKeysPerGeneration = maxKeys / 2;
+    }
+
+    /**
+     * @return the key's state, created (initially 0) if the key is not tracked
+     */
+    AtomicLong stateFor(String key, long nowNanos) {
+        if (nowNanos - rotatedAt >= idleTtlNanos) {
+            rotate(false, nowNanos);
+        }
+        AtomicLong state = current.get(key);
+        if (state != null) {
+            return state;
+        }
+        // Promote inside the current generation's compute, so every caller gets
+        // the same counter. The old generation is only read there: a rotation
+        // between our two reads can make both the same map, and CHM rejects
+        // nested updates.
+        while (true) {
+            Map<String, AtomicLong> generation = current;
+            Map<String, AtomicLong> older = previous;
+            AtomicLong carried = state;
+            state = generation.computeIfAbsent(key, k -> {
+                AtomicLong kept = carried != null || older == generation ? carried : older.get(k);
+                return kept != null ? kept : new AtomicLong();
+            });
+            if (older != generation) {
+                older.remove(key, state);
+            }
+            if (generation == current) {
+                break;
+            }
+            // rotated meanwhile: publish the same counter in the new generation too
+        }
+        if (current.size() >= maxKeysPerGeneration) {
+            rotate(true, nowNanos);
+        }
+        return state;
+    }
+
+    private void rotate(boolean full, long now) {
+        if (!rotation.tryLock()) {
+            return; // someone else is rotating
+        }
+        try {
+            if (full ? current.size() < maxKeysPerGeneration : now - rotatedAt < idleTtlNanos) {
+                return; // already rotated
+            }
+            Map<String, AtomicLong> dropped = previous;
+            previous = current;
+            current = new ConcurrentHashMap<>();
+            rotatedAt = now;
+            (full ? capacityEvictions : idleEvictions).add(dropped.size());
+        } finally {
+            rotation.unlock();
+        }
+    }
+
+    int size() {
+        return current.size() + previous.size();
+    }
+
+    long idleEvictions() {
+        return idleEvictions.sum();
+    }
+
+    long capacityEvictions() {
+        return capacityEvictions.sum();
+    }
+
+    void clear(long nowNanos) {
+        rotation.lock();
+        try {
+            current = new ConcurrentHashMap<>();
+            previous = new ConcurrentHashMap<>();
+            rotatedAt = nowNanos;
+        } finally {
+            rotation.unlock();
+        }
+    }
+}
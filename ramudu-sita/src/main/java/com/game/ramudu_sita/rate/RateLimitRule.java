@@ -0,0 +1,12 @@
+package com.game.ramudu_sita.rate;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * A {@link RateLimited} rule with config overrides applied, resolved at startup.
+ *
+ * @param rejections {@code rate_limit.rejections} counter for this rule
+ */
+public record RateLimitRule(String name, int limit, long windowSeconds,
+                            RateLimitAlgorithm algorithm, Counter rejections) {
+}
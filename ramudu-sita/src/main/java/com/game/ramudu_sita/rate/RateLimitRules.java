@@ -0,0 +1,107 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate-limit rule per handler method, built once at startup from the
+ * {@link RateLimited} annotations on the mapped controller methods, so a
+ * request only costs a map lookup on its already resolved handler.
+ */
+@Component
+public class RateLimitRules implements SmartInitializingSingleton {
+
+    private final AppProperties.RateLimit settings;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+
+    private volatile Map<Method, RateLimitRule> rulesByMethod = Map.of();
+
+    public RateLimitRules(AppProperties appProperties,
+                          MeterRegistry meterRegistry,
+                          ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+        this.settings = appProperties.getRateLimit();
+        this.meterRegistry = meterRegistry;
+        this.handlerMappings = handlerMappings;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        resolve(handlerMappings.orderedStream()
+                .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                .toList());
+    }
+
+    void resolve(Collection<HandlerMethod> handlers) {
+        Map<Method, RateLimitRule> rules = new HashMap<>();
+        Map<String, RateLimited> declared = new HashMap<>();
+        Map<String, RateLimitRule> byName = new HashMap<>();
+        for (HandlerMethod handler : handlers) {
+            RateLimited annotation = handler.getMethodAnnotation(RateLimited.class);
+            if (annotation == null) {
+                continue;
+            }
+            RateLimited first = declared.putIfAbsent(annotation.rule(), annotation);
+            if (first != null && (first.limit() != annotation.limit() || first.window() != annotation.window())) {
+                throw new IllegalStateException("Rate-limit rule " + annotation.rule()
+                        + " is declared with different limits on " + handler.getShortLogMessage());
+            }
+            rules.put(handler.getMethod(), byName.computeIfAbsent(annotation.rule(), name -> toRule(annotation)));
+        }
+        for (String name : settings.getRules().keySet()) {
+            if (!byName.containsKey(name)) {
+                throw new IllegalStateException("app.rate-limit.rules." + name + " matches no @RateLimited method");
+            }
+        }
+        rulesByMethod = Map.copyOf(rules);
+    }
+
+    private RateLimitRule toRule(RateLimited annotation) {
+        AppProperties.RateLimit.Rule override = settings.getRules().get(annotation.rule());
+        int limit = annotation.limit();
+        long windowSeconds = annotation.window();
+        RateLimitAlgorithm algorithm = settings.getAlgorithm();
+        if (override != null) {
+            if (override.getLimit() != null) {
+                limit = override.getLimit();
+            }
+            if (override.getWindow() != null) {
+                windowSeconds = override.getWindow().toSeconds();
+            }
+            if (override.getAlgorithm() != null) {
+                algorithm = override.getAlgorithm();
+            }
+        }
+        if (limit <= 0 || windowSeconds <= 0) {
+            throw new IllegalStateException("Rate-limit rule " + annotation.rule() + " needs a positive limit and window");
+        }
+        if (settings.getIdleTtl().toSeconds() < windowSeconds) {
+            // an idle key would be forgotten mid-window and get a fresh allowance
+            throw new IllegalStateException("app.rate-limit.idle-ttl " + settings.getIdleTtl()
+                    + " is shorter than the " + windowSeconds + "s window of rule " + annotation.rule());
+        }
+        Counter rejections = Counter.builder("rate_limit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .tag("rule", annotation.rule())
+                .register(meterRegistry);
+        return new RateLimitRule(annotation.rule(), limit, windowSeconds, algorithm, rejections);
+    }
+
+    /**
+     * @return the handler's rule, or null if it is not rate limited
+     */
+    public RateLimitRule ruleFor(Object handler) {
+        return handler instanceof HandlerMethod method ? rulesByMethod.get(method.getMethod()) : null;
+    }
+}
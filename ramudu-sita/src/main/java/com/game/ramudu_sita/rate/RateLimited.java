@@ -0,0 +1,33 @@
+package com.game.ramudu_sita.rate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how often one client IP may call the annotated controller method.
+ * Methods sharing a {@code rule} share the per-IP budget. Limit, window and
+ * algorithm can be overridden per rule under {@code app.rate-limit.rules}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Rule name, used in the limiter key, in config overrides and as the metric tag.
+     */
+    String rule();
+
+    /**
+     * Max calls per window.
+     */
+    int limit();
+
+    /**
+     * Window length in seconds.
+     */
+    long window();
+}
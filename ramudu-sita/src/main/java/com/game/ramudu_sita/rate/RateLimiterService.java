@@ -1,60 +1,85 @@
 package com.game.ramudu_sita.rate;
 
+import com.game.ramudu_sita.config.AppProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 /**
- * Very simple in-memory fixed-window rate limiter.
- * Suitable for single-node / sticky-session setups.
+ * Per-client rate limiting over a {@link RateLimitBackend}: in memory by
+ * default, or leased from a store shared by the cluster.
  */
 @Service
 public class RateLimiterService {
 
-    private static class Counter {
-        long windowStartEpochSeconds;
-        int count;
+    private final RateLimitBackend backend;
+
+    public RateLimiterService() {
+        this(new AppProperties());
+    }
+
+    public RateLimiterService(AppProperties appProperties) {
+        this(new InMemoryRateLimitBackend(appProperties.getRateLimit()));
     }
 
-    // key -> counter
-    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    RateLimiterService(AppProperties.RateLimit settings, LongSupplier nanoClock) {
+        this(new InMemoryRateLimitBackend(settings, nanoClock));
+    }
+
+    @Autowired
+    public RateLimiterService(RateLimitBackend backend) {
+        this.backend = backend;
+    }
 
     /**
-     * Check rate and throw if exceeded.
+     * Check rate with the token-bucket algorithm and throw if exceeded.
      *
      * @param key           unique key, e.g. "CREATE:ip" or "JOIN:ip"
      * @param limit         max allowed in the window
      * @param windowSeconds window size in seconds
      */
     public void checkRate(String key, int limit, long windowSeconds) {
-        long now = Instant.now().getEpochSecond();
-        Counter counter = counters.computeIfAbsent(key, k -> {
-            Counter c = new Counter();
-            c.windowStartEpochSeconds = now;
-            c.count = 0;
-            return c;
-        });
-
-        synchronized (counter) {
-            // if outside of window, reset
-            if (now - counter.windowStartEpochSeconds >= windowSeconds) {
-                counter.windowStartEpochSeconds = now;
-                counter.count = 0;
-            }
-
-            if (counter.count >= limit) {
-                throw new RateLimitExceededException("Rate limit exceeded for key: " + key);
-            }
-
-            counter.count++;
+        checkRate(key, limit, windowSeconds, RateLimitAlgorithm.TOKEN_BUCKET);
+    }
+
+    public void checkRate(String key, int limit, long windowSeconds, RateLimitAlgorithm algorithm) {
+        if (!tryAcquire(key, limit, windowSeconds, algorithm)) {
+            throw new RateLimitExceededException("Rate limit exceeded for key: " + key);
         }
     }
 
+    /**
+     * @return true if the request is allowed; a key must always be used with the same algorithm
+     */
+    public boolean tryAcquire(String key, int limit, long windowSeconds, RateLimitAlgorithm algorithm) {
+        if (limit <= 0 || windowSeconds <= 0) {
+            throw new IllegalArgumentException("limit and windowSeconds must be positive");
+        }
+        return backend.tryAcquire(key, limit, windowSeconds, algorithm);
+    }
+
+    public int trackedKeyCount() {
+        return backend.trackedKeyCount();
+    }
+
+    /**
+     * Keys forgotten because nobody used them for an idle TTL.
+     */
+    public long idleEvictionCount() {
+        return backend.idleEvictionCount();
+    }
+
+    /**
+     * Keys forgotten early because the store hit its key cap.
+     */
+    public long capacityEvictionCount() {
+        return backend.capacityEvictionCount();
+    }
+
     @Profile("test")
     public void clearAllForTests() {
-        counters.clear();
+        backend.clear();
     }
 }
@@ -2,54 +2,38 @@ package com.game.ramudu_sita.rate;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.http.HttpMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Applies the {@link RateLimited} rule of the handler, keyed by client IP.
+ */
 public class RateLimitingInterceptor implements HandlerInterceptor {
 
     private final RateLimiterService rateLimiterService;
+    private final RateLimitRules rules;
 
-    public RateLimitingInterceptor(RateLimiterService rateLimiterService) {
+    public RateLimitingInterceptor(RateLimiterService rateLimiterService, RateLimitRules rules) {
         this.rateLimiterService = rateLimiterService;
+        this.rules = rules;
     }
 
     @Override
     public boolean preHandle(HttpServletRequest request,
                              HttpServletResponse response,
                              Object handler) {
-
-        String path = request.getRequestURI();
-        String method = request.getMethod();
+        RateLimitRule rule = rules.ruleFor(handler);
+        if (rule == null) {
+            return true;
+        }
 
         // Extract client key (rough, but works behind ALB if X-Forwarded-For is set)
         String ip = extractClientIp(request);
-
-        // Basic rules (tweak as needed):
-
-        // 1) Create game: at most 10 per minute per IP
-        if (HttpMethod.POST.matches(method) && path.equals("/api/games")) {
-            String key = "CREATE_GAME:" + ip;
-            rateLimiterService.checkRate(key, 10, 60);
-        }
-
-        // 2) Join game: at most 60 per minute per IP
-        else if (HttpMethod.POST.matches(method) && path.equals("/api/games/join")) {
-            String key = "JOIN_GAME:" + ip;
-            rateLimiterService.checkRate(key, 60, 60);
+        try {
+            rateLimiterService.checkRate(rule.name() + ":" + ip, rule.limit(), rule.windowSeconds(), rule.algorithm());
+        } catch (RateLimitExceededException e) {
+            rule.rejections().increment();
+            throw e;
         }
-
-        // 3) Guess: at most 20 per minute per IP (Ramudu spamming guesses)
-        else if (HttpMethod.POST.matches(method) && path.matches("^/api/games/.+/rounds/current/guess$")) {
-            String key = "GUESS:" + ip;
-            rateLimiterService.checkRate(key, 20, 60);
-        }
-
-        // 4) Start game: at most 20 per minute per IP
-        else if (HttpMethod.POST.matches(method) && path.matches("^/api/games/.+/start$")) {
-            String key = "START:" + ip;
-            rateLimiterService.checkRate(key, 20, 60);
-        }
-
         return true;
     }
 
@@ -0,0 +1,18 @@
+package com.game.ramudu_sita.rate;
+
+/**
+ * Cluster-wide budgets that every node's {@link LeasedRateLimitBackend} draws
+ * from, e.g. a Redis script over the same packed state the in-memory
+ * algorithms use. Each call is a round trip, so nodes ask for permits in batches.
+ *
+ * @see InProcessSharedRateLimitStore
+ */
+public interface SharedRateLimitStore {
+
+    /**
+     * Takes up to {@code permits} from the key's budget.
+     *
+     * @return how many were granted, 0 if the key is over its limit
+     */
+    int acquire(String key, int permits, int limit, long windowSeconds, RateLimitAlgorithm algorithm);
+}
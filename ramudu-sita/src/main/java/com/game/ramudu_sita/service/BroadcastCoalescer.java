@@ -0,0 +1,102 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.GameStatus;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the broadcasts a game asks for into as few sends as possible.
+ * <p>
+ * Changes made during one command are published once, when the command ends.
+ * With a non-zero window, the end-of-command send is delayed by that much and
+ * every command that lands in the meantime (e.g. a burst of lobby joins) rides
+ * along on the same send.
+ * <p>
+ * A REVEAL state is a barrier: its public state goes out immediately so every
+ * client sees the round result, even if the same command moves on to the next
+ * round straight after. Private states are only pushed for the final state.
+ * <p>
+ * All methods except {@link #forget} and {@link #clear} must run on the game's mailbox.
+ */
+class BroadcastCoalescer {
+
+    private enum Pending {
+        PRIVATE_ONLY, // public state already went out as a barrier
+        FULL
+    }
+
+    private final GameBroadcaster broadcaster;
+    private final GameCommandExecutor commandExecutor;
+    private final Duration window;
+    private final Executor delayedFlush; // null when window is zero
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> flushScheduled = new ConcurrentHashMap<>();
+
+    BroadcastCoalescer(GameBroadcaster broadcaster, GameCommandExecutor commandExecutor, Duration window) {
+        this.broadcaster = broadcaster;
+        this.commandExecutor = commandExecutor;
+        this.window = window;
+        this.delayedFlush = window.isZero() ? null
+                : CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * The game changed and clients should hear about it.
+     */
+    void request(GameState game) {
+        if (game.getStatus() == GameStatus.REVEAL) {
+            game.markChanged();
+            broadcaster.publishPublicState(game);
+            pending.put(game.getId(), Pending.PRIVATE_ONLY);
+        } else {
+            pending.put(game.getId(), Pending.FULL);
+        }
+    }
+
+    /**
+     * A command on the game finished: send what it changed, now or after the window.
+     */
+    void commandFinished(GameState game) {
+        if (!pending.containsKey(game.getId())) {
+            return;
+        }
+        if (delayedFlush == null) {
+            flush(game);
+        } else if (flushScheduled.putIfAbsent(game.getId(), Boolean.TRUE) == null) {
+            delayedFlush.execute(() -> {
+                if (flushScheduled.remove(game.getId()) != null) { // not forgotten meanwhile
+                    commandExecutor.executeIfPresent(game.getId(), () -> flush(game));
+                }
+            });
+        }
+    }
+
+    private void flush(GameState game) {
+        Pending what = pending.remove(game.getId());
+        if (what == Pending.FULL) {
+            game.markChanged();
+            broadcaster.broadcast(game);
+        } else if (what == Pending.PRIVATE_ONLY) {
+            broadcaster.pushPrivateStates(game);
+        }
+    }
+
+    void forget(String gameId) {
+        pending.remove(gameId);
+        flushScheduled.remove(gameId);
+    }
+
+    void clear() {
+        pending.clear();
+        flushScheduled.clear();
+    }
+}
@@ -0,0 +1,52 @@
+package com.game.ramudu_sita.service;
+
+import java.time.Instant;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline-ordered queue of ids (games, session tokens). Polling only ever
+ * touches entries whose deadline has passed, so eviction cost is proportional
+ * to what actually expires.
+ * <p>
+ * Entries are hints, not the source of truth: an id may have several entries
+ * (e.g. one for a game's idle TTL and one added when it finished) and activity
+ * may have moved the real deadline since. Callers re-check and reschedule.
+ */
+class ExpiryQueue {
+
+    private record Entry(String id, long deadlineMillis) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMillis, ((Entry) other).deadlineMillis);
+        }
+    }
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+
+    void schedule(String id, Instant deadline) {
+        queue.offer(new Entry(id, deadline.toEpochMilli()));
+    }
+
+    /**
+     * @return an id whose scheduled deadline has passed, or null if none
+     */
+    String pollExpired() {
+        Entry entry = queue.poll();
+        return entry == null ? null : entry.id();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    void clear() {
+        queue.clear();
+    }
+}
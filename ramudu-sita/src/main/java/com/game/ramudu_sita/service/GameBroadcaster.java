@@ -0,0 +1,285 @@
+package com.game.ramudu_sita.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.api.dto.GameStateDelta;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.config.PlayerPrincipal;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.Player;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends game state over STOMP.
+ * <p>
+ * The public state is serialized to JSON once per game version and the
+ * resulting message is reused for every send of that version, so duplicate
+ * broadcasts skip both the DTO mapping and Jackson.
+ * <p>
+ * With {@code app.broadcast.delta-enabled} each new version is also published
+ * on /topic/games/{gameId}/delta as patches against the previous version,
+ * with a full snapshot every {@code snapshot-interval} versions.
+ * <p>
+ * Games someone watches also go out, throttled, on /topic/games/{gameId}/spectate.
+ */
+@Component
+public class GameBroadcaster {
+
+    private record CachedState(long version, GamePublicState state, Message<byte[]> message,
+                               long lastSnapshotVersion) {
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final SimpUserRegistry userRegistry; // null: push private state to every player
+    private final boolean deltaEnabled;
+    private final int snapshotInterval;
+
+    private final SpectatorFeed spectatorFeed;
+
+    private final Timer fullBroadcastTimer;
+    private final Timer publicStateTimer;
+    private final Timer privateStatesTimer;
+
+    // gameId -> last serialized public state
+    private final Map<String, CachedState> publicStateCache = new ConcurrentHashMap<>();
+
+    public GameBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                           SimpUserRegistry userRegistry) {
+        this(messagingTemplate, objectMapper, userRegistry, new AppProperties());
+    }
+
+    public GameBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                           SimpUserRegistry userRegistry, AppProperties appProperties) {
+        // a composite registry with nothing added to it hands out no-op meters
+        this(messagingTemplate, objectMapper, userRegistry, appProperties, new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public GameBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                           SimpUserRegistry userRegistry, AppProperties appProperties,
+                           MeterRegistry meterRegistry) {
+        this(messagingTemplate, objectMapper, userRegistry, appProperties, meterRegistry,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * @param spectatorSender runs spectator fan-outs, off the game's mailbox
+     */
+    GameBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                    SimpUserRegistry userRegistry, AppProperties appProperties,
+                    MeterRegistry meterRegistry, Executor spectatorSender) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        // in cluster mode a player may be connected to another node, which gets the relayed message
+        this.userRegistry = appProperties.getCluster().isEnabled() ? null : userRegistry;
+        this.deltaEnabled = appProperties.getBroadcast().isDeltaEnabled();
+        this.snapshotInterval = Math.max(1, appProperties.getBroadcast().getSnapshotInterval());
+        this.spectatorFeed = new SpectatorFeed(messagingTemplate,
+                appProperties.getBroadcast().getSpectatorUpdatesPerSecond(), spectatorSender);
+
+        this.fullBroadcastTimer = broadcastTimer(meterRegistry, "full");
+        this.publicStateTimer = broadcastTimer(meterRegistry, "public");
+        this.privateStatesTimer = broadcastTimer(meterRegistry, "private");
+    }
+
+    private static Timer broadcastTimer(MeterRegistry meterRegistry, String kind) {
+        return Timer.builder("games.broadcast")
+                .description("Time to hand a game's state to the broker, per fan-out")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish the public state on /topic/games/{gameId}/state and each
+     * connected player's private view on /user/queue/games/{gameId}/me.
+     */
+    public void broadcast(GameState game) {
+        fullBroadcastTimer.record(() -> {
+            sendPublicState(game);
+            sendPrivateStates(game);
+        });
+    }
+
+    public void publishPublicState(GameState game) {
+        publicStateTimer.record(() -> sendPublicState(game));
+    }
+
+    /**
+     * Send each connected player their own view (chit, round status, scores)
+     * on /user/queue/games/{gameId}/me, so clients don't refetch /me after
+     * every public broadcast.
+     */
+    public void pushPrivateStates(GameState game) {
+        privateStatesTimer.record(() -> sendPrivateStates(game));
+    }
+
+    private void sendPublicState(GameState game) {
+        CachedState current = currentState(game);
+        messagingTemplate.send("/topic/games/" + game.getId() + "/state", current.message());
+        spectatorFeed.offer(game.getId(), current.version(), current.message());
+    }
+
+    /**
+     * Current public state for a new spectator, who from now on gets updates
+     * on /topic/games/{gameId}/spectate (see SpectatorFeed).
+     */
+    public GamePublicState watch(GameState game) {
+        spectatorFeed.watch(game.getId());
+        return currentState(game).state();
+    }
+
+    /**
+     * Full state for a client that detected a version gap on the delta topic.
+     */
+    public GameStateDelta snapshot(GameState game) {
+        CachedState current = currentState(game);
+        return snapshotOf(game.getId(), current.version(), current.state());
+    }
+
+    /**
+     * Serialized public state for the game's current version, built at most once per version.
+     * The first time a version is built its delta is published as well.
+     */
+    private CachedState currentState(GameState game) {
+        CachedState previous = publicStateCache.get(game.getId());
+        if (previous != null && previous.version() == game.getVersion()) {
+            return previous;
+        }
+        GamePublicState state = GameStateMapper.toPublicState(game);
+        long lastSnapshot = previous == null ? 0 : previous.lastSnapshotVersion();
+        if (deltaEnabled) {
+            lastSnapshot = publishDelta(game.getId(), previous, state, lastSnapshot);
+        }
+        CachedState current = new CachedState(game.getVersion(), state, jsonMessage(state), lastSnapshot);
+        publicStateCache.put(game.getId(), current);
+        return current;
+    }
+
+    /**
+     * @return version of the last snapshot sent on the delta topic
+     */
+    private long publishDelta(String gameId, CachedState previous, GamePublicState next, long lastSnapshot) {
+        GameStateDelta delta = null;
+        if (previous != null && next.getVersion() - lastSnapshot < snapshotInterval) {
+            List<GameStateDelta.Patch> patches = diff(previous.state(), next);
+            if (patches != null) {
+                delta = new GameStateDelta();
+                delta.setGameId(gameId);
+                delta.setBaseVersion(previous.version());
+                delta.setVersion(next.getVersion());
+                delta.setPatches(patches);
+            }
+        }
+        if (delta == null) {
+            delta = snapshotOf(gameId, next.getVersion(), next);
+            lastSnapshot = next.getVersion();
+        }
+        messagingTemplate.send("/topic/games/" + gameId + "/delta", jsonMessage(delta));
+        return lastSnapshot;
+    }
+
+    /**
+     * @return patches turning {@code prev} into {@code next}, or null if they can't be expressed as patches
+     */
+    static List<GameStateDelta.Patch> diff(GamePublicState prev, GamePublicState next) {
+        List<GameStateDelta.Patch> patches = new ArrayList<>();
+
+        Map<String, Integer> prevTotals = new HashMap<>();
+        for (GamePublicState.PlayerSummary p : prev.getPlayers()) {
+            prevTotals.put(p.id(), p.totalScore());
+        }
+        Set<String> nextIds = new HashSet<>();
+        Map<String, Integer> changedTotals = new HashMap<>();
+        for (GamePublicState.PlayerSummary p : next.getPlayers()) {
+            nextIds.add(p.id());
+            Integer before = prevTotals.get(p.id());
+            if (before == null) {
+                patches.add(GameStateDelta.Patch.playerAdded(p));
+            } else if (before != p.totalScore()) {
+                changedTotals.put(p.id(), p.totalScore());
+            }
+        }
+        if (!nextIds.containsAll(prevTotals.keySet())) {
+            return null; // players never leave today; fall back to a snapshot if they ever do
+        }
+
+        if (prev.getGameStatus() != next.getGameStatus()
+                || prev.getCurrentRoundNumber() != next.getCurrentRoundNumber()
+                || prev.getCurrentRoundStatus() != next.getCurrentRoundStatus()) {
+            patches.add(GameStateDelta.Patch.statusChanged(
+                    next.getGameStatus(), next.getCurrentRoundNumber(), next.getCurrentRoundStatus()));
+        }
+
+        if (!changedTotals.isEmpty() || !Objects.equals(prev.getLastRoundScoreDelta(), next.getLastRoundScoreDelta())) {
+            patches.add(GameStateDelta.Patch.scoresApplied(next.getLastRoundScoreDelta(), changedTotals));
+        }
+        return patches;
+    }
+
+    private static GameStateDelta snapshotOf(String gameId, long version, GamePublicState state) {
+        GameStateDelta snapshot = new GameStateDelta();
+        snapshot.setGameId(gameId);
+        snapshot.setVersion(version);
+        snapshot.setBaseVersion(version);
+        snapshot.setSnapshot(true);
+        snapshot.setState(state);
+        return snapshot;
+    }
+
+    private void sendPrivateStates(GameState game) {
+        String destination = "/queue/games/" + game.getId() + "/me";
+        for (Player player : game.getPlayers()) {
+            String user = PlayerPrincipal.name(game.getId(), player.getSeat());
+            if (userRegistry != null && userRegistry.getUser(user) == null) {
+                continue; // not connected over WebSocket, nothing to deliver to
+            }
+            messagingTemplate.convertAndSendToUser(user, destination,
+                    GameStateMapper.toMyState(game, player.getSeat()));
+        }
+    }
+
+    private Message<byte[]> jsonMessage(Object payload) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize game state", e);
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json, headers.getMessageHeaders());
+    }
+
+    public void forget(String gameId) {
+        publicStateCache.remove(gameId);
+        spectatorFeed.forget(gameId);
+    }
+
+    public void clear() {
+        publicStateCache.clear();
+        spectatorFeed.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.game.ramudu_sita.service;
+
+import java.util.Arrays;
+
+/**
+ * Game codes are 6 symbols from a 32-symbol alphabet (no I, O, 0 or 1), so a
+ * code is exactly 30 bits. Lookups and allocation work on that packed int;
+ * clients, the journal and {@code GameState} keep the 6-character string.
+ */
+final class GameCode {
+
+    static final int LENGTH = 6;
+    static final int BITS = 5 * LENGTH;
+    static final int NONE = -1; // not a code; every packed code is non-negative
+
+    private static final char[] ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".toCharArray();
+    private static final byte[] VALUE = new byte[128]; // char -> symbol index, -1 if not in the alphabet
+
+    static {
+        Arrays.fill(VALUE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUE[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private GameCode() {
+    }
+
+    /**
+     * @return the packed code, or {@link #NONE} if {@code code} isn't one; never allocates
+     */
+    static int parse(String code) {
+        if (code == null || code.length() != LENGTH) {
+            return NONE;
+        }
+        int packed = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = code.charAt(i);
+            int value = c < VALUE.length ? VALUE[c] : -1;
+            if (value < 0) {
+                return NONE;
+            }
+            packed = packed << 5 | value;
+        }
+        return packed;
+    }
+
+    static String format(int packed) {
+        if (packed < 0 || packed >= 1 << BITS) {
+            throw new IllegalArgumentException("Not a game code: " + packed);
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[packed & 31];
+            packed >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,176 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.model.GameState;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Packed game code -> game, as an open-addressing table of ints and game
+ * references: a join finds its game without boxing, hashing a string or
+ * following a game id through a second map.
+ * <p>
+ * Lookups take no lock. Inserts and removals take one, publish the game
+ * before its key and retire a removed key as a tombstone rather than moving
+ * neighbours, so a concurrent lookup never misses an entry that is there.
+ * A lookup re-reads the key after the game, so a slot reused for another code
+ * in between is probed again rather than answered with that code's game.
+ * Tombstones go when the table is rebuilt into a fresh array, which is then
+ * published as a whole.
+ */
+class GameCodeIndex {
+
+    private static final int EMPTY = -1;   // keys are packed codes, so never negative
+    private static final int REMOVED = -2;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle GAMES = MethodHandles.arrayElementVarHandle(GameState[].class);
+
+    private static final class Table {
+        final int[] keys;
+        final GameState[] games;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            games = new GameState[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+    }
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size;
+    private int tombstones; // guarded by writeLock
+
+    GameState get(int code) {
+        while (true) {
+            Table t = table;
+            for (int i = slot(code, t.mask); ; i = (i + 1) & t.mask) {
+                int key = (int) KEYS.getAcquire(t.keys, i);
+                if (key == code) {
+                    GameState game = (GameState) GAMES.getAcquire(t.games, i); // null: removed just now
+                    if ((int) KEYS.getAcquire(t.keys, i) == code) {
+                        return game;
+                    }
+                    break; // the slot was removed and reused meanwhile: the game may be another code's
+                }
+                if (key == EMPTY) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    boolean contains(int code) {
+        return get(code) != null;
+    }
+
+    /**
+     * @return false, changing nothing, if the code already belongs to a game
+     */
+    boolean putIfAbsent(int code, GameState game) {
+        writeLock.lock();
+        try {
+            Table t = table;
+            int free = -1;
+            for (int i = slot(code, t.mask); ; i = (i + 1) & t.mask) {
+                int key = t.keys[i];
+                if (key == code) {
+                    return false;
+                }
+                if (key == REMOVED && free < 0) {
+                    free = i;
+                }
+                if (key == EMPTY) {
+                    if (free < 0) {
+                        free = i;
+                    } else {
+                        tombstones--;
+                    }
+                    break;
+                }
+            }
+            GAMES.setRelease(t.games, free, game);
+            KEYS.setRelease(t.keys, free, code);
+            size++;
+            // keep at least half the slots EMPTY so every probe ends quickly
+            if ((size + tombstones) * 2 > t.keys.length) {
+                rebuild(size * 4 > t.keys.length ? t.keys.length * 2 : t.keys.length);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the code if it still belongs to {@code game}.
+     */
+    boolean remove(int code, GameState game) {
+        writeLock.lock();
+        try {
+            Table t = table;
+            for (int i = slot(code, t.mask); ; i = (i + 1) & t.mask) {
+                int key = t.keys[i];
+                if (key == code) {
+                    if (t.games[i] != game) {
+                        return false;
+                    }
+                    GAMES.setRelease(t.games, i, null);
+                    KEYS.setRelease(t.keys, i, REMOVED);
+                    size--;
+                    tombstones++;
+                    return true;
+                }
+                if (key == EMPTY) {
+                    return false;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        writeLock.lock();
+        try {
+            table = new Table(INITIAL_CAPACITY);
+            size = 0;
+            tombstones = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuild(int capacity) {
+        Table from = table;
+        Table to = new Table(capacity);
+        for (int i = 0; i < from.keys.length; i++) {
+            int key = from.keys[i];
+            if (key >= 0) {
+                int j = slot(key, to.mask);
+                while (to.keys[j] != EMPTY) {
+                    j = (j + 1) & to.mask;
+                }
+                to.keys[j] = key;
+                to.games[j] = from.games[i];
+            }
+        }
+        tombstones = 0;
+        table = to; // volatile write publishes the filled arrays
+    }
+
+    private static int slot(int code, int mask) {
+        int h = code * 0x9E3779B9; // imported and restored codes needn't be scattered like pool codes
+        return (h ^ h >>> 16) & mask;
+    }
+}
@@ -0,0 +1,156 @@
+package com.game.ramudu_sita.service;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Free game codes, ready to hand out. Codes come from a keyed Feistel
+ * permutation of the 30-bit code space walked by a counter, so they look
+ * random but none repeats until all 2^30 have been issued. Creating a game
+ * therefore never draws again on a collision, however full the code space is.
+ * <p>
+ * {@code available} is checked when codes are generated and again when one
+ * is taken: it rules out codes other nodes own (cluster mode) and codes that
+ * arrived with restored or imported games. Generation runs on a virtual
+ * thread once the pool drops to a quarter, off the request path and
+ * outside the lock, claiming stretches of the permutation as it goes.
+ */
+class GameCodePool {
+
+    private static final int ROUNDS = 4;
+    private static final int HALF_BITS = GameCode.BITS / 2;
+    private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+    private static final int CODE_MASK = (1 << GameCode.BITS) - 1;
+    private static final int STRETCH = 1024; // permutation positions a refill claims at a time
+
+    private final int[] keys = new int[ROUNDS];
+    private final IntPredicate available;
+    private final int[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private int head;   // guarded by lock
+    private int count;  // guarded by lock
+    private int epoch;  // guarded by lock; bumped by clear() so a refill started earlier is discarded
+    private int next;   // guarded by lock; position in the permutation
+
+    GameCodePool(int capacity, IntPredicate available, Random random) {
+        this.available = available;
+        this.ring = new int[capacity];
+        for (int i = 0; i < ROUNDS; i++) {
+            keys[i] = random.nextInt();
+        }
+        this.next = random.nextInt(CODE_MASK + 1);
+    }
+
+    /**
+     * @return a packed code no game holds and this node owns
+     */
+    int take() {
+        int code;
+        lock.lock();
+        try {
+            do {
+                if (count == 0) {
+                    fill(ring.length / 4); // only when refills can't keep up
+                }
+                code = ring[head];
+                head = (head + 1) % ring.length;
+                count--;
+            } while (!available.test(code));
+            if (count < ring.length / 4 && refilling.compareAndSet(false, true)) {
+                int forEpoch = epoch;
+                Thread.startVirtualThread(() -> refill(forEpoch));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return code;
+    }
+
+    /**
+     * Forget pooled codes, e.g. after cluster membership changed what this node owns.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            count = 0;
+            epoch++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(int forEpoch) {
+        try {
+            int[] batch = new int[ring.length];
+            int generated = 0;
+            for (long walked = 0; generated < batch.length * 3 / 4 && walked <= CODE_MASK; walked += STRETCH) {
+                int start;
+                lock.lock();
+                try {
+                    if (epoch != forEpoch) {
+                        return;
+                    }
+                    start = next;
+                    next = (next + STRETCH) & CODE_MASK;
+                } finally {
+                    lock.unlock();
+                }
+                for (int i = 0; i < STRETCH && generated < batch.length; i++) {
+                    int code = permute((start + i) & CODE_MASK);
+                    if (available.test(code)) {
+                        batch[generated++] = code;
+                    }
+                }
+            }
+            lock.lock();
+            try {
+                if (epoch == forEpoch) {
+                    for (int i = 0; i < generated && count < ring.length; i++) {
+                        ring[(head + count) % ring.length] = batch[i];
+                        count++;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    // caller holds the lock
+    private void fill(int wanted) {
+        // bounded: the whole code space is walked at most once per fill
+        for (long walked = 0; wanted > 0 && walked <= CODE_MASK; walked++) {
+            int code = permute(next);
+            next = (next + 1) & CODE_MASK;
+            if (available.test(code)) {
+                ring[(head + count) % ring.length] = code;
+                count++;
+                wanted--;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No free game codes");
+        }
+    }
+
+    /**
+     * Balanced Feistel network on two 15-bit halves: a bijection on [0, 2^30).
+     */
+    private int permute(int value) {
+        int left = value >>> HALF_BITS;
+        int right = value & HALF_MASK;
+        for (int key : keys) {
+            int mixed = (right * 0x9E3779B1 + key) ^ (right >>> 5);
+            int f = (mixed ^ mixed >>> 15) & HALF_MASK;
+            int newRight = left ^ f;
+            left = right;
+            right = newRight;
+        }
+        return left << HALF_BITS | right;
+    }
+}
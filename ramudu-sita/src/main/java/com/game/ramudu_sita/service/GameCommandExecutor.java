@@ -0,0 +1,188 @@
+package com.game.ramudu_sita.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer executor: every command for a given game runs on that game's
+ * mailbox, one at a time and in arrival order, while different games drain
+ * their mailboxes in parallel.
+ * <p>
+ * When a game's mailbox is idle the calling thread runs the command itself
+ * (no thread hop); commands that arrive while it is busy are queued and
+ * drained either by that caller or, once its own command is done, by a
+ * virtual thread.
+ * <p>
+ * A game has a mailbox from {@link #register} until {@link #remove}; commands
+ * for any other game id are rejected rather than given a mailbox of their own,
+ * so a late command can never resurrect, or duplicate, a removed game's mailbox.
+ * <p>
+ * A command that submits another command for its own game gets it run inline:
+ * queueing it would wait on the very mailbox turn it is running in.
+ */
+public class GameCommandExecutor {
+
+    // the mailbox whose command this thread is running, if any
+    private static final ThreadLocal<Mailbox> RUNNING = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public GameCommandExecutor() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public GameCommandExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Give a game that is now in memory its mailbox; a no-op if it has one.
+     */
+    public void register(String gameId) {
+        mailboxes.computeIfAbsent(gameId, id -> new Mailbox());
+    }
+
+    /**
+     * Run the command on the game's mailbox and wait for its result.
+     * Exceptions thrown by the command are rethrown to the caller unchanged.
+     *
+     * @throws IllegalArgumentException if the game has no mailbox, or it was
+     *         removed before the command got its turn
+     */
+    public <T> T execute(String gameId, Supplier<T> command) {
+        return submit(gameId, command, () -> {
+            throw new IllegalArgumentException("Game not found: " + gameId);
+        });
+    }
+
+    public void execute(String gameId, Runnable command) {
+        execute(gameId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run the command on the game's mailbox unless the game is gone, e.g. for
+     * deferred work that is moot once the game is evicted.
+     *
+     * @return false if the command was skipped because the game has no mailbox
+     */
+    public boolean executeIfPresent(String gameId, Runnable command) {
+        return executeIfPresent(gameId, () -> {
+            command.run();
+            return true;
+        }, false);
+    }
+
+    /**
+     * Like {@link #execute(String, Supplier)}, but a game that is gone yields {@code ifRemoved}.
+     */
+    public <T> T executeIfPresent(String gameId, Supplier<T> command, T ifRemoved) {
+        return submit(gameId, command, () -> ifRemoved);
+    }
+
+    private <T> T submit(String gameId, Supplier<T> command, Supplier<T> ifRemoved) {
+        Mailbox mailbox = mailboxes.get(gameId);
+        if (mailbox == null) {
+            return ifRemoved.get();
+        }
+        if (RUNNING.get() == mailbox) {
+            return mailbox.removed ? ifRemoved.get() : command.get(); // already this game's turn
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.submit(() -> {
+            Mailbox outer = RUNNING.get();
+            RUNNING.set(mailbox);
+            try {
+                result.complete(mailbox.removed ? ifRemoved.get() : command.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                RUNNING.set(outer);
+            }
+        }, result);
+        return join(result);
+    }
+
+    /**
+     * Drop the mailbox of a game that is no longer in memory. Commands already
+     * queued on it, and any submitted later, are rejected; one that is running,
+     * e.g. the one removing the game, completes normally.
+     */
+    public void remove(String gameId) {
+        Mailbox removed = mailboxes.remove(gameId);
+        if (removed != null) {
+            removed.removed = true;
+        }
+    }
+
+    public void clear() {
+        mailboxes.values().forEach(mailbox -> mailbox.removed = true);
+        mailboxes.clear();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lock-free MPSC queue plus a "scheduled" flag: whoever owns the flag is
+     * the only thread running commands for this game, so commands never overlap.
+     */
+    private final class Mailbox implements Runnable {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean removed;
+
+        void submit(Runnable command, CompletableFuture<?> done) {
+            queue.offer(command);
+            if (!scheduled.compareAndSet(false, true)) {
+                return; // current owner will run it
+            }
+            // caller-runs: drain until our own command has completed, then hand off the rest
+            Runnable next;
+            while (!done.isDone() && (next = queue.poll()) != null) {
+                next.run();
+            }
+            release();
+        }
+
+        @Override
+        public void run() {
+            Runnable next;
+            while ((next = queue.poll()) != null) {
+                next.run();
+            }
+            release();
+        }
+
+        private void release() {
+            scheduled.set(false);
+            // a producer may have enqueued after our last poll but before the flag was cleared
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.game.ramudu_sita.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.api.dto.GameStateDelta;
 import com.game.ramudu_sita.api.dto.MyStateResponse;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.journal.GameEvent;
+import com.game.ramudu_sita.journal.GameJournal;
 import com.game.ramudu_sita.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -12,15 +18,29 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 public class GameService {
 
-    private static final long IDLE_TTL_MINUTES = 60;     // active but idle too long
-    private static final long FINISHED_TTL_MINUTES = 30; // finished games kept shorter
+    private static final int MAX_ACTIVE_GAMES_PER_CREATOR = 5;
+    private static final int EVICTION_BATCH_SIZE = 10_000; // keeps each cleanup pass short
+    private static final int CODE_POOL_SIZE = 4096;
+    private static final int HOST_SEAT = 0;
+    private static final Base64.Encoder GAME_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
 
     private final Map<String, GameState> gamesById = new ConcurrentHashMap<>();
-    private final Map<String, String> gameIdByCode = new ConcurrentHashMap<>();
+    private final GameCodeIndex gamesByCode = new GameCodeIndex();
+    // creatorKey -> number of its games in memory that are not FINISHED yet
+    private final Map<String, Integer> activeGamesByCreator = new ConcurrentHashMap<>();
+    // GameStatus ordinal -> games in memory with that status, kept up to date on every transition
+    private final AtomicLongArray gamesByStatus = new AtomicLongArray(GameStatus.values().length);
 
     private final SecureRandom random = new SecureRandom();
     private final ChitType[] CHITS = {
@@ -31,56 +51,103 @@ public class GameService {
             ChitType.HANUMAN
     };
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GameBroadcaster broadcaster;
+    private final GameCommandExecutor commandExecutor = new GameCommandExecutor();
+    private final ExpiryQueue expiryQueue = new ExpiryQueue();
+    private final BroadcastCoalescer coalescer;
+    private final List<Consumer<String>> gameRemovedListeners = new CopyOnWriteArrayList<>();
+    private final GameJournal journal;
+    // shared from journaling a new game until it is registered; a snapshot lists
+    // the games under the exclusive lock, so none it rolls past can be missing
+    private final ReadWriteLock registration = new ReentrantReadWriteLock();
+    private volatile boolean restoring; // replaying the journal: nothing to broadcast
+    // cluster mode: new codes must hash to this node, and game ids start with their code
+    private final boolean codePrefixedIds;
+    private volatile Predicate<String> ownsCode = code -> true;
+    private final GameCodePool codePool;
+
+    private final Duration idleTtl;     // active but idle too long
+    private final Duration finishedTtl; // finished games kept shorter
 
     public GameService(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+        this(messagingTemplate, new AppProperties());
+    }
+
+    public GameService(SimpMessagingTemplate messagingTemplate, AppProperties appProperties) {
+        this(new GameBroadcaster(messagingTemplate, new ObjectMapper(), null, appProperties), appProperties);
+    }
+
+    public GameService(GameBroadcaster broadcaster, AppProperties appProperties) {
+        this(broadcaster, appProperties, GameJournal.DISABLED);
+    }
+
+    @Autowired
+    public GameService(GameBroadcaster broadcaster, AppProperties appProperties, GameJournal journal) {
+        this.broadcaster = broadcaster;
+        this.journal = journal;
+        this.codePrefixedIds = appProperties.getCluster().isEnabled();
+        this.codePool = new GameCodePool(CODE_POOL_SIZE,
+                code -> !gamesByCode.contains(code) && ownsCode.test(GameCode.format(code)), random);
+        this.coalescer = new BroadcastCoalescer(broadcaster, commandExecutor,
+                appProperties.getBroadcast().getCoalesceWindow());
+        this.idleTtl = appProperties.getGames().getIdleTtl();
+        this.finishedTtl = appProperties.getGames().getFinishedTtl();
     }
 
     // --- Game lifecycle ---
 
     public CreateResult createGame(String playerName, int totalRounds, String creatorKey) {
+        requireValidName(playerName);
         // Spam protection: limit active games per creator
-        long activeGames = gamesById.values().stream()
-                .filter(g -> creatorKey.equals(g.getCreatorKey()))
-                .filter(g -> g.getStatus() != GameStatus.FINISHED)
-                .count();
-
-        if (activeGames >= 5) { // e.g. max 5 active games per IP
-            throw new IllegalStateException("Too many active games for this client");
+        reserveActiveGame(creatorKey);
+
+        GameState game;
+        try {
+            String code = generateCode();
+            String gameId = codePrefixedIds ? code + "-" + newGameId() : newGameId();
+            GameEvent.GameCreated created = new GameEvent.GameCreated(gameId, code, totalRounds, creatorKey, playerName);
+            // journaled before the code is findable, so no join can be written ahead of it
+            registration.readLock().lock();
+            try {
+                journal.append(created);
+                game = applyCreate(created);
+            } finally {
+                registration.readLock().unlock();
+            }
+        } catch (RuntimeException | Error e) {
+            releaseActiveGame(creatorKey); // no game holds the slot
+            throw e;
         }
 
-        String gameId = UUID.randomUUID().toString();
-        String code = generateCode();
-
-        GameState game = new GameState(gameId, code, totalRounds);
-        game.setCreatorKey(creatorKey);
-        Player host = new Player(UUID.randomUUID().toString(), playerName, true);
-        game.getPlayers().put(host.getId(), host);
-
-        gamesById.put(gameId, game);
-        gameIdByCode.put(code, gameId);
-
-        broadcastGameState(game);
-        return new CreateResult(gameId, code, host.getId());
+        runCommand(game, () -> broadcastGameState(game));
+        return new CreateResult(game.getId(), game.getCode(), HOST_SEAT);
     }
 
     public CreateResult joinGame(String code, String playerName) {
+        requireValidName(playerName);
         GameState game = findGameByCode(code);
-        if (game.getStatus() != GameStatus.LOBBY) {
-            throw new IllegalStateException("Game already started");
-        }
-        Player player = new Player(UUID.randomUUID().toString(), playerName, false);
-        game.getPlayers().put(player.getId(), player);
-
-        broadcastGameState(game);
-        return new CreateResult(game.getId(), game.getCode(), player.getId());
+        return runCommand(game, () -> {
+            if (game.getStatus() != GameStatus.LOBBY) {
+                throw new IllegalStateException("Game already started");
+            }
+            if (game.getPlayers().size() >= CHITS.length) {
+                throw new IllegalStateException("Game is full; join as a spectator instead");
+            }
+            GameEvent.PlayerJoined joined = new GameEvent.PlayerJoined(game.getId(),
+                    game.getPlayers().size(), playerName);
+            journal.append(joined);
+            applyJoin(game, joined);
+            return new CreateResult(game.getId(), game.getCode(), joined.seat());
+        });
     }
 
-    public void startGame(String gameId, String requestingPlayerId) {
+    public void startGame(String gameId, int requestingSeat) {
         GameState game = findGameById(gameId);
+        runCommand(game, () -> doStartGame(game, requestingSeat));
+    }
 
-        Player requester = game.getPlayers().get(requestingPlayerId);
+    private void doStartGame(GameState game, int requestingSeat) {
+        Player requester = game.getPlayer(requestingSeat);
         if (requester == null || !requester.isHost()) {
             throw new IllegalStateException("Only host can start game");
         }
@@ -93,19 +160,19 @@ public class GameService {
             throw new IllegalStateException("Game already started");
         }
 
-        game.setCurrentRoundNumber(1);
-        game.setStatus(GameStatus.IN_ROUND);
-
-        RoundState round = new RoundState(1);
-        game.getRounds().put(1, round);
-
-        distributeChits(game, round); // also broadcasts
+        GameEvent.GameStarted started = new GameEvent.GameStarted(game.getId(), dealChits(game.getPlayers().size()));
+        journal.append(started);
+        applyStart(game, started);
     }
 
     // --- Round actions ---
 
-    public void makeGuess(String gameId, String playerId, String guessedPlayerId) {
+    public void makeGuess(String gameId, int seat, int guessedSeat) {
         GameState game = findGameById(gameId);
+        runCommand(game, () -> doMakeGuess(game, seat, guessedSeat));
+    }
+
+    private void doMakeGuess(GameState game, int seat, int guessedSeat) {
         RoundState round = game.getCurrentRound();
 
         if (round == null) {
@@ -115,25 +182,53 @@ public class GameService {
             throw new IllegalStateException("Not expecting a guess now");
         }
 
-        if (!Objects.equals(round.getRamuduPlayerId(), playerId)) {
+        if (round.getRamuduSeat() != seat) {
             throw new IllegalStateException("Only Ramudu can guess");
         }
+        if (game.getPlayer(guessedSeat) == null) {
+            throw new IllegalArgumentException("Player not in game");
+        }
+
+        boolean lastRound = game.getCurrentRoundNumber() >= game.getTotalRounds();
+        GameEvent.GuessMade guess = new GameEvent.GuessMade(game.getId(), round.getRoundNumber(), guessedSeat,
+                lastRound ? List.of() : dealChits(game.getPlayers().size()));
+        journal.append(guess);
+        applyGuess(game, round, guess);
+    }
 
-        round.setGuessTargetPlayerId(guessedPlayerId);
+    // --- Applying changes; shared by live commands and journal replay ---
 
-        // compute scores
-        Map<String, Integer> delta = computeScores(round);
-        round.setScoreDelta(delta);
+    private GameState applyCreate(GameEvent.GameCreated created) {
+        GameState game = new GameState(created.gameId(), created.code(), created.totalRounds());
+        game.setCreatorKey(created.creatorKey());
+        game.addPlayer(created.hostName());
+        register(game);
+        return game;
+    }
+
+    private void applyJoin(GameState game, GameEvent.PlayerJoined joined) {
+        game.addPlayer(joined.playerName());
+        broadcastGameState(game);
+    }
+
+    private void applyStart(GameState game, GameEvent.GameStarted started) {
+        RoundState round = new RoundState(1, game.getPlayers().size());
+        game.startRound(round);
+        game.setStatus(GameStatus.IN_ROUND);
+
+        assignChits(game, round, started.chits()); // also broadcasts
+    }
+
+    private void applyGuess(GameState game, RoundState round, GameEvent.GuessMade guess) {
+        round.scoreGuess(guess.guessedSeat());
 
         // apply to players
-        for (Map.Entry<String, Integer> entry : delta.entrySet()) {
-            Player p = game.getPlayers().get(entry.getKey());
-            if (p != null) {
-                p.addScore(entry.getValue());
-            }
+        for (int seat = 0; seat < round.getSeats(); seat++) {
+            game.getPlayer(seat).addScore(round.getScoreDelta(seat));
         }
 
         round.setStatus(RoundStatus.COMPLETED);
+        game.archiveRound(RoundSummary.of(round));
         game.setStatus(GameStatus.REVEAL);
 
         broadcastGameState(game); // show reveal + score delta
@@ -141,13 +236,10 @@ public class GameService {
         // move to next round if any
         int current = game.getCurrentRoundNumber();
         if (current < game.getTotalRounds()) {
-            int next = current + 1;
-            game.setCurrentRoundNumber(next);
-
-            RoundState nextRound = new RoundState(next);
-            game.getRounds().put(next, nextRound);
+            RoundState nextRound = new RoundState(current + 1, game.getPlayers().size());
+            game.startRound(nextRound);
             game.setStatus(GameStatus.IN_ROUND);
-            distributeChits(game, nextRound); // also broadcasts
+            assignChits(game, nextRound, guess.nextRoundChits()); // also broadcasts
         } else {
             game.setStatus(GameStatus.FINISHED);
             broadcastGameState(game);
@@ -156,45 +248,86 @@ public class GameService {
 
     // --- Queries ---
 
-    public MyStateResponse getMyState(String gameId, String playerId) {
+    public MyStateResponse getMyState(String gameId, int seat) {
         GameState game = findGameById(gameId);
-        Player me = game.getPlayers().get(playerId);
-        if (me == null) {
-            throw new IllegalArgumentException("Player not in game");
-        }
+        return commandExecutor.execute(gameId, () -> GameStateMapper.toMyState(game, seat));
+    }
+
+    /**
+     * Scored rounds, oldest first, and the game's version. Read straight off the
+     * game rather than on its mailbox: the history is only ever replaced, never changed.
+     */
+    public RoundHistory getRoundHistory(String gameId) {
+        GameState game = findGameById(gameId);
+        return new RoundHistory(gameId, game.getVersion(), game.getCompletedRounds());
+    }
 
-        MyStateResponse resp = new MyStateResponse();
-        resp.setGameId(game.getId());
-        resp.setGameCode(game.getCode());
-        resp.setGameStatus(game.getStatus());
-        resp.setTotalRounds(game.getTotalRounds());
-        resp.setCurrentRoundNumber(game.getCurrentRoundNumber());
+    /**
+     * Public state for someone watching rather than playing. Later updates
+     * come on /topic/games/{gameId}/spectate, at a throttled rate.
+     */
+    public GamePublicState spectate(String gameId) {
+        GameState game = findGameById(gameId);
+        return commandExecutor.execute(gameId, () -> broadcaster.watch(game));
+    }
 
-        MyStateResponse.PlayerView meView = new MyStateResponse.PlayerView(
-                me.getId(), me.getName(), me.isHost(), me.getTotalScore()
-        );
-        resp.setMe(meView);
+    /**
+     * Full public state for a delta subscriber that missed a version.
+     */
+    public GameStateDelta resync(String gameId, int seat) {
+        GameState game = findGameById(gameId);
+        return commandExecutor.execute(gameId, () -> {
+            if (game.getPlayer(seat) == null) {
+                throw new IllegalArgumentException("Player not in game");
+            }
+            return broadcaster.snapshot(game);
+        });
+    }
 
-        List<MyStateResponse.PlayerView> all =
-                game.getPlayers().values().stream()
-                        .map(p -> new MyStateResponse.PlayerView(
-                                p.getId(), p.getName(), p.isHost(), p.getTotalScore()))
-                        .toList();
-        resp.setPlayers(all);
+    // --- Helpers ---
 
-        RoundState currentRound = game.getCurrentRound();
-        if (currentRound != null) {
-            resp.setRoundStatus(currentRound.getStatus());
-            resp.setMyChit(currentRound.getAssignments().get(playerId));
+    /** Callers other than the REST API skip its validation, and the journal only takes bounded names. */
+    private static void requireValidName(String playerName) {
+        if (playerName == null || playerName.isBlank() || playerName.length() > Player.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("playerName must be 1 to " + Player.MAX_NAME_LENGTH + " characters");
+        }
+    }
 
-            // last completed round score delta (can be from current or previous)
-            resp.setLastRoundScoreDelta(currentRound.getScoreDelta());
+    private void reserveActiveGame(String creatorKey) {
+        if (creatorKey == null) {
+            return;
         }
+        activeGamesByCreator.compute(creatorKey, (key, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= MAX_ACTIVE_GAMES_PER_CREATOR) { // e.g. max 5 active games per IP
+                throw new IllegalStateException("Too many active games for this client");
+            }
+            return count + 1;
+        });
+    }
 
-        return resp;
+    private void releaseActiveGame(GameState game) {
+        releaseActiveGame(game.getCreatorKey());
     }
 
-    // --- Helpers ---
+    private void releaseActiveGame(String creatorKey) {
+        if (creatorKey == null) {
+            return;
+        }
+        activeGamesByCreator.computeIfPresent(creatorKey, (key, active) -> active <= 1 ? null : active - 1);
+    }
+
+    private void onStatusChange(GameState game, GameStatus from, GameStatus to) {
+        if (gamesById.containsKey(game.getId())) {
+            gamesByStatus.decrementAndGet(from.ordinal());
+            gamesByStatus.incrementAndGet(to.ordinal());
+        }
+        if (to == GameStatus.FINISHED) {
+            releaseActiveGame(game);
+            // the finished TTL is shorter than the idle one the game is queued under
+            expiryQueue.schedule(game.getId(), expiryDeadline(game));
+        }
+    }
 
     private GameState findGameById(String gameId) {
         GameState game = gamesById.get(gameId);
@@ -205,169 +338,379 @@ public class GameService {
     }
 
     private GameState findGameByCode(String code) {
-        String id = gameIdByCode.get(code);
-        if (id == null) {
+        int packed = GameCode.parse(code);
+        GameState game = packed == GameCode.NONE ? null : gamesByCode.get(packed);
+        if (game == null) {
             throw new IllegalArgumentException("Game not found with code: " + code);
         }
-        return findGameById(id);
+        return game;
     }
 
-    private String generateCode() {
-        String letters = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
-        StringBuilder sb = new StringBuilder(6);
-        for (int i = 0; i < 6; i++) {
-            sb.append(letters.charAt(random.nextInt(letters.length())));
-        }
-        String code = sb.toString();
-        if (gameIdByCode.containsKey(code)) {
-            return generateCode();
-        }
-        return code;
+    /**
+     * 96 random bits as 16 URL-safe characters: as unguessable as a random
+     * UUID needs to be for a topic name, in under half its length.
+     */
+    private String newGameId() {
+        byte[] bytes = new byte[12];
+        random.nextBytes(bytes);
+        return GAME_ID_ENCODER.encodeToString(bytes);
     }
 
-    private void distributeChits(GameState game, RoundState round) {
-        List<Player> players = new ArrayList<>(game.getPlayers().values());
+    private String generateCode() {
+        return GameCode.format(codePool.take());
+    }
 
+    /**
+     * A shuffled chit for each of {@code playerCount} players, in join order.
+     */
+    private List<ChitType> dealChits(int playerCount) {
         // ensure chit count == player count
-        if (players.size() > CHITS.length) {
+        if (playerCount > CHITS.length) {
             throw new IllegalStateException("Not enough chits for players in this simple demo");
         }
 
-        List<ChitType> available = new ArrayList<>(Arrays.asList(CHITS).subList(0, players.size()));
+        List<ChitType> available = new ArrayList<>(Arrays.asList(CHITS).subList(0, playerCount));
         Collections.shuffle(available, random);
+        return available;
+    }
 
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-            ChitType chit = available.get(i);
-            round.getAssignments().put(p.getId(), chit);
-
-            if (chit.isRamudu()) {
-                round.setRamuduPlayerId(p.getId());
-            }
-            if (chit.isSita()) {
-                round.setSitaPlayerId(p.getId());
-            }
+    private void assignChits(GameState game, RoundState round, List<ChitType> chits) {
+        for (int seat = 0; seat < game.getPlayers().size(); seat++) {
+            round.assign(seat, chits.get(seat));
         }
 
         round.setStatus(RoundStatus.WAITING_FOR_RAMUDU);
         broadcastGameState(game);
     }
 
-    private Map<String, Integer> computeScores(RoundState round) {
-        Map<String, Integer> delta = new HashMap<>();
-
-        // Everyone gets their base chit points initially
-        for (Map.Entry<String, ChitType> e : round.getAssignments().entrySet()) {
-            String playerId = e.getKey();
-            ChitType chit = e.getValue();
-            delta.put(playerId, chit.getBasePoints());
-        }
-
-        String sita = round.getSitaPlayerId();
-        String ramudu = round.getRamuduPlayerId();
-        String guessTarget = round.getGuessTargetPlayerId();
-
-        // apply Ramudu special rule
-        if (guessTarget != null && guessTarget.equals(sita)) {
-            delta.put(ramudu, 5000);
-        } else {
-            delta.put(ramudu, 0);
-            // Sita gets 5000 points
-            delta.put(sita, 5000);
-        }
+    // --- WebSocket broadcast ---
 
-        return delta;
+    /**
+     * Run a state-changing command on the game's mailbox; whatever it asked to
+     * broadcast is sent once it is done (see BroadcastCoalescer).
+     */
+    private <T> T runCommand(GameState game, Supplier<T> command) {
+        return commandExecutor.execute(game.getId(), () -> {
+            if (gamesById.get(game.getId()) != game) {
+                // evicted or handed to another node while this command was queued
+                throw new IllegalArgumentException("Game not found: " + game.getId());
+            }
+            try {
+                return command.get();
+            } finally {
+                coalescer.commandFinished(game);
+            }
+        });
     }
 
-    // --- WebSocket broadcast ---
+    private void runCommand(GameState game, Runnable command) {
+        runCommand(game, () -> {
+            command.run();
+            return null;
+        });
+    }
 
+    /**
+     * Called after every change to the game; the actual send is coalesced.
+     */
     private void broadcastGameState(GameState game) {
-        GamePublicState dto = toPublicState(game);
-        String destination = "/topic/games/" + game.getId() + "/state";
-        messagingTemplate.convertAndSend(destination, dto);
+        if (restoring) {
+            return;
+        }
+        coalescer.request(game);
         game.touch();
     }
 
-    private GamePublicState toPublicState(GameState game) {
-        GamePublicState state = new GamePublicState();
-        state.setGameId(game.getId());
-        state.setGameCode(game.getCode());
-        state.setGameStatus(game.getStatus());
-        state.setTotalRounds(game.getTotalRounds());
-        state.setCurrentRoundNumber(game.getCurrentRoundNumber());
+    /**
+     * Evict games whose idle (or finished) TTL has passed since their last activity.
+     * Only expired entries of the expiry queue are visited, so a pass is cheap
+     * and can run every few seconds (see CleanupConfig).
+     *
+     * @return number of games evicted in this pass
+     */
+    public int cleanupOldGames() {
+        Instant now = Instant.now();
+        int evicted = 0;
 
-        List<GamePublicState.PlayerSummary> players =
-                game.getPlayers().values().stream()
-                        .map(p -> new GamePublicState.PlayerSummary(
-                                p.getId(), p.getName(), p.isHost(), p.getTotalScore()
-                        ))
-                        .toList();
-        state.setPlayers(players);
+        for (int i = 0; i < EVICTION_BATCH_SIZE; i++) {
+            String gameId = expiryQueue.pollExpired();
+            if (gameId == null) {
+                break;
+            }
+            GameState game = gamesById.get(gameId);
+            if (game == null) {
+                continue; // stale entry for a game that is already gone
+            }
 
-        RoundState currentRound = game.getCurrentRound();
-        if (currentRound != null) {
-            state.setCurrentRoundStatus(currentRound.getStatus());
-            state.setLastRoundScoreDelta(currentRound.getScoreDelta());
+            // decide on the game's mailbox so a concurrent command can't touch or finish it mid-removal
+            boolean removed = commandExecutor.executeIfPresent(gameId, () -> {
+                Instant deadline = expiryDeadline(game);
+                if (deadline.isAfter(now)) {
+                    expiryQueue.schedule(gameId, deadline); // had activity since it was queued
+                    return false;
+                }
+                removeGame(gameId);
+                return true;
+            }, false);
+            if (removed) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private Instant expiryDeadline(GameState game) {
+        Duration ttl = game.getStatus() == GameStatus.FINISHED ? finishedTtl : idleTtl;
+        return game.getLastActivityAt().plus(ttl);
+    }
+
+    private void removeGame(String gameId) {
+        GameState removed = gamesById.remove(gameId);
+        if (removed != null) {
+            if (!restoring) {
+                journal.append(new GameEvent.GameRemoved(gameId));
+            }
+            gamesByCode.remove(GameCode.parse(removed.getCode()), removed);
+            gamesByStatus.decrementAndGet(removed.getStatus().ordinal());
+            commandExecutor.remove(gameId); // commands still queued for it are rejected
+            broadcaster.forget(gameId);
+            coalescer.forget(gameId);
+            if (removed.getStatus() != GameStatus.FINISHED) {
+                releaseActiveGame(removed);
+            }
+            gameRemovedListeners.forEach(listener -> listener.accept(gameId));
         }
+    }
+
+    // --- Journal (see JournalConfig) ---
 
-        return state;
+    /**
+     * Put a game into the in-memory indexes.
+     */
+    private void register(GameState game) {
+        int code = GameCode.parse(game.getCode());
+        if (code == GameCode.NONE || !gamesByCode.putIfAbsent(code, game)) {
+            throw new IllegalStateException("Game code not usable: " + game.getCode());
+        }
+        game.setStatusListener(this::onStatusChange);
+        commandExecutor.register(game.getId());
+        gamesById.put(game.getId(), game);
+        gamesByStatus.incrementAndGet(game.getStatus().ordinal());
+        expiryQueue.schedule(game.getId(), expiryDeadline(game));
     }
 
     /**
-     * Remove old games from memory to avoid unbounded growth.
-     * Intended to be called periodically (e.g. via @Scheduled).
+     * Rebuild the games in the journal: the latest snapshot, then the events
+     * written since. Run once at startup, before any request is served.
+     * Restored games count as just active, so they get a full idle TTL.
+     *
+     * @return number of games in memory afterwards
      */
-    public void cleanupOldGames() {
-        Instant now = Instant.now();
+    public int restoreFromJournal() {
+        restoring = true;
+        try {
+            journal.replay(this::restoreGame, this::apply);
+        } finally {
+            restoring = false;
+        }
+        return gamesById.size();
+    }
 
-        List<String> toRemove = new ArrayList<>();
+    private void restoreGame(GameState game) {
+        if (gamesById.containsKey(game.getId())) {
+            return;
+        }
+        register(game);
+        if (game.getStatus() != GameStatus.FINISHED && game.getCreatorKey() != null) {
+            activeGamesByCreator.merge(game.getCreatorKey(), 1, Integer::sum);
+        }
+    }
 
-        for (GameState game : gamesById.values()) {
-            Instant last = game.getLastActivityAt();
-            if (last == null) {
-                // Shouldn't happen, but be safe
-                continue;
+    /**
+     * Replay one event. Events the game already reflects (because the snapshot
+     * was taken after them) or that belong to an evicted game are skipped.
+     */
+    private void apply(GameEvent event) {
+        GameState game = gamesById.get(event.gameId());
+        switch (event) {
+            case GameEvent.GameCreated created -> {
+                if (game == null) {
+                    applyCreate(created);
+                    if (created.creatorKey() != null) {
+                        activeGamesByCreator.merge(created.creatorKey(), 1, Integer::sum);
+                    }
+                }
             }
-
-            long idleMinutes = Duration.between(last, now).toMinutes();
-
-            boolean remove = false;
-            if (game.getStatus() == GameStatus.FINISHED) {
-                if (idleMinutes >= FINISHED_TTL_MINUTES) {
-                    remove = true;
+            case GameEvent.PlayerJoined joined -> {
+                if (game != null && game.getStatus() == GameStatus.LOBBY
+                        && joined.seat() == game.getPlayers().size()) {
+                    applyJoin(game, joined);
                 }
-            } else {
-                if (idleMinutes >= IDLE_TTL_MINUTES) {
-                    remove = true;
+            }
+            case GameEvent.GameStarted started -> {
+                if (game != null && game.getStatus() == GameStatus.LOBBY) {
+                    applyStart(game, started);
+                }
+            }
+            case GameEvent.GuessMade guess -> {
+                RoundState round = game == null ? null : game.getCurrentRound();
+                if (round != null && round.getRoundNumber() == guess.roundNumber()
+                        && round.getStatus() == RoundStatus.WAITING_FOR_RAMUDU) {
+                    applyGuess(game, round, guess);
+                }
+            }
+            case GameEvent.GameRemoved removed -> {
+                if (game != null) {
+                    removeGame(removed.gameId());
                 }
             }
+            case GameEvent.GameImported imported -> {
+                if (game == null) {
+                    restoreGame(imported.game());
+                }
+            }
+        }
+    }
 
-            if (remove) {
-                toRemove.add(game.getId());
+    /**
+     * Write every game in memory to a journal snapshot, each captured on its
+     * own mailbox so it is never seen mid-command.
+     */
+    public void snapshotToJournal() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        journal.snapshot(sink -> {
+            // the journal has rolled: any game journaled before that is registered once this returns
+            List<GameState> games;
+            registration.writeLock().lock();
+            try {
+                games = List.copyOf(gamesById.values());
+            } finally {
+                registration.writeLock().unlock();
+            }
+            for (GameState game : games) {
+                String gameId = game.getId();
+                commandExecutor.executeIfPresent(gameId, () -> {
+                    if (gamesById.get(gameId) == game) { // not replaced meanwhile
+                        sink.accept(game);
+                    }
+                });
             }
+        });
+    }
+
+    // --- Cluster (see ClusterConfig) ---
+
+    /**
+     * Only hand out codes that hash to this node.
+     */
+    public void setCodeOwnership(Predicate<String> ownsCode) {
+        this.ownsCode = ownsCode;
+        codePool.clear(); // pooled codes were picked under the old ownership
+    }
+
+    /**
+     * Send the game's current public and private state again, e.g. to a node
+     * that lost some of its updates. Does nothing if the game is gone.
+     */
+    public void resendState(String gameId) {
+        GameState game = gamesById.get(gameId);
+        if (game != null) {
+            commandExecutor.executeIfPresent(gameId, () -> broadcaster.broadcast(game));
         }
+    }
 
-        for (String gameId : toRemove) {
-            GameState removed = gamesById.remove(gameId);
-            if (removed != null) {
-                gameIdByCode.remove(removed.getCode());
+    /**
+     * Take over a game another node handed off.
+     */
+    public void importGame(GameState game) {
+        if (gamesById.containsKey(game.getId()) || gamesByCode.contains(GameCode.parse(game.getCode()))) {
+            throw new IllegalStateException("Game already here: " + game.getId());
+        }
+        registration.readLock().lock();
+        try {
+            journal.append(new GameEvent.GameImported(game));
+            restoreGame(game);
+        } finally {
+            registration.readLock().unlock();
+        }
+    }
+
+    /**
+     * Move every game whose code this node no longer owns. {@code transfer}
+     * runs on the game's mailbox, so no command can change the game meanwhile,
+     * and returns true once the new owner has it; the game is then dropped here.
+     *
+     * @return number of games handed off
+     */
+    public int handOffGames(Predicate<String> ownsCode, Predicate<GameState> transfer) {
+        int moved = 0;
+        for (GameState game : gamesById.values()) {
+            if (ownsCode.test(game.getCode())) {
+                continue;
+            }
+            String gameId = game.getId();
+            boolean handedOff = commandExecutor.executeIfPresent(gameId, () -> {
+                if (gamesById.get(gameId) != game || !transfer.test(game)) {
+                    return false;
+                }
+                removeGame(gameId);
+                return true;
+            }, false);
+            if (handedOff) {
+                moved++;
             }
         }
+        return moved;
+    }
+
+    /**
+     * Called with the game id after a game is evicted, e.g. to drop its players' sessions.
+     */
+    public void addGameRemovedListener(Consumer<String> listener) {
+        gameRemovedListeners.add(listener);
     }
 
     public GameState getGame(String gameId) {
         return gamesById.get(gameId);
     }
 
+    // --- Metrics (see MetricsConfig); all O(1), nothing is scanned ---
+
+    public long countGames(GameStatus status) {
+        return gamesByStatus.get(status.ordinal());
+    }
+
+    public int gameCount() {
+        return gamesById.size();
+    }
+
+    public int gameCodeCount() {
+        return gamesByCode.size();
+    }
+
     @Profile("test")
     public void clearAllForTests() {
         gamesById.clear();
-        gameIdByCode.clear();
+        gamesByCode.clear();
+        codePool.clear();
+        activeGamesByCreator.clear();
+        for (int i = 0; i < gamesByStatus.length(); i++) {
+            gamesByStatus.set(i, 0);
+        }
+        expiryQueue.clear();
+        commandExecutor.clear();
+        broadcaster.clear();
+        coalescer.clear();
     }
 
-    // --- helper DTO for create/join result ---
+    // --- helper DTOs for create/join and round history results ---
+
+    public record CreateResult(String gameId, String code, int seat) {
+    }
 
-    public record CreateResult(String gameId, String code, String playerId) {
+    public record RoundHistory(String gameId, long version, List<RoundSummary> rounds) {
     }
 }
 
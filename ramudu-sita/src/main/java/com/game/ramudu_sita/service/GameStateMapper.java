@@ -0,0 +1,123 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.api.dto.MyStateResponse;
+import com.game.ramudu_sita.api.dto.PlayerIds;
+import com.game.ramudu_sita.api.dto.RoundHistoryResponse;
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.Player;
+import com.game.ramudu_sita.model.RoundState;
+import com.game.ramudu_sita.model.RoundSummary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the public and per-player views of a game, turning seats into
+ * player ids (see PlayerIds).
+ * Must be called from the game's mailbox (see GameCommandExecutor), except
+ * for the round history, which is immutable.
+ */
+public final class GameStateMapper {
+
+    private GameStateMapper() {
+    }
+
+    public static GamePublicState toPublicState(GameState game) {
+        GamePublicState state = new GamePublicState();
+        state.setGameId(game.getId());
+        state.setGameCode(game.getCode());
+        state.setVersion(game.getVersion());
+        state.setGameStatus(game.getStatus());
+        state.setTotalRounds(game.getTotalRounds());
+        state.setCurrentRoundNumber(game.getCurrentRoundNumber());
+
+        List<GamePublicState.PlayerSummary> players =
+                game.getPlayers().stream()
+                        .map(p -> new GamePublicState.PlayerSummary(
+                                PlayerIds.format(p.getSeat()), p.getName(), p.isHost(), p.getTotalScore()
+                        ))
+                        .toList();
+        state.setPlayers(players);
+
+        RoundState currentRound = game.getCurrentRound();
+        if (currentRound != null) {
+            state.setCurrentRoundStatus(currentRound.getStatus());
+            state.setLastRoundScoreDelta(scoreDeltaByPlayerId(currentRound));
+        }
+
+        return state;
+    }
+
+    public static MyStateResponse toMyState(GameState game, int seat) {
+        Player me = game.getPlayer(seat);
+        if (me == null) {
+            throw new IllegalArgumentException("Player not in game");
+        }
+
+        MyStateResponse resp = new MyStateResponse();
+        resp.setGameId(game.getId());
+        resp.setGameCode(game.getCode());
+        resp.setGameStatus(game.getStatus());
+        resp.setTotalRounds(game.getTotalRounds());
+        resp.setCurrentRoundNumber(game.getCurrentRoundNumber());
+
+        MyStateResponse.PlayerView meView = new MyStateResponse.PlayerView(
+                PlayerIds.format(seat), me.getName(), me.isHost(), me.getTotalScore()
+        );
+        resp.setMe(meView);
+
+        List<MyStateResponse.PlayerView> all =
+                game.getPlayers().stream()
+                        .map(p -> new MyStateResponse.PlayerView(
+                                PlayerIds.format(p.getSeat()), p.getName(), p.isHost(), p.getTotalScore()))
+                        .toList();
+        resp.setPlayers(all);
+
+        RoundState currentRound = game.getCurrentRound();
+        if (currentRound != null) {
+            resp.setRoundStatus(currentRound.getStatus());
+            resp.setMyChit(currentRound.getChit(seat));
+
+            // last completed round score delta (can be from current or previous)
+            resp.setLastRoundScoreDelta(scoreDeltaByPlayerId(currentRound));
+        }
+
+        return resp;
+    }
+
+    /**
+     * The history with running totals, which add up since every point comes from a round.
+     */
+    public static RoundHistoryResponse toRoundHistory(String gameId, List<RoundSummary> summaries) {
+        List<RoundHistoryResponse.Round> rounds = new ArrayList<>(summaries.size());
+        // nobody joins once the game has started, so every round has the same seats
+        int[] totals = new int[summaries.isEmpty() ? 0 : summaries.get(0).getSeats()];
+        for (RoundSummary summary : summaries) {
+            Map<String, ChitType> chits = new LinkedHashMap<>();
+            Map<String, Integer> deltas = new LinkedHashMap<>();
+            Map<String, Integer> runningTotals = new LinkedHashMap<>();
+            for (int seat = 0; seat < totals.length; seat++) {
+                String playerId = PlayerIds.format(seat);
+                totals[seat] += summary.getScoreDelta(seat);
+                chits.put(playerId, summary.getChit(seat));
+                deltas.put(playerId, summary.getScoreDelta(seat));
+                runningTotals.put(playerId, totals[seat]);
+            }
+            rounds.add(new RoundHistoryResponse.Round(summary.getRoundNumber(), chits,
+                    PlayerIds.format(summary.getGuessedSeat()), deltas, runningTotals));
+        }
+        return new RoundHistoryResponse(gameId, rounds);
+    }
+
+    private static Map<String, Integer> scoreDeltaByPlayerId(RoundState round) {
+        Map<String, Integer> byId = new LinkedHashMap<>();
+        for (int seat = 0; round.isScored() && seat < round.getSeats(); seat++) {
+            byId.put(PlayerIds.format(seat), round.getScoreDelta(seat));
+        }
+        return byId;
+    }
+}
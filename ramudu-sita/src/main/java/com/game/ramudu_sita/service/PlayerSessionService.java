@@ -1,42 +1,95 @@
 package com.game.ramudu_sita.service;
 
+import com.game.ramudu_sita.config.AppProperties;
+
 import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Maps PLAYER_TOKEN cookies to players. By default tokens are random and the
+ * sessions live in this node's memory; in stateless mode the token itself is a
+ * signed session (see {@link SessionTokenSigner}), so any node can verify it
+ * and nothing is stored.
+ * <p>
+ * Stored sessions are indexed by game, so evicting a game drops its sessions
+ * in O(players), and by expiry, so cleanup only visits expired sessions.
+ * Expiry slides: a session used in the second half of its TTL is extended.
+ */
 public class PlayerSessionService {
 
     public record PlayerSession(
             String token,
             String gameId,
-            String playerId,
+            int seat,
             Instant expiresAt
     ) {
     }
 
     private final Map<String, PlayerSession> sessions = new ConcurrentHashMap<>();
+    // gameId -> tokens of its sessions
+    private final Map<String, Set<String>> tokensByGame = new ConcurrentHashMap<>();
+    private final ExpiryQueue expiryQueue = new ExpiryQueue();
+
+    private final long ttlSeconds;
 
-    // 30 minutes default expiry
-    private static final long SESSION_TTL_SECONDS = 60 * 30;
+    // null unless sessions are stateless
+    private final SessionTokenSigner signer;
+
+    public PlayerSessionService() {
+        this(new AppProperties.Session());
+    }
 
-    public PlayerSession createSession(String gameId, String playerId) {
+    public PlayerSessionService(AppProperties.Session settings) {
+        this.ttlSeconds = settings.getTtlSeconds();
+        this.signer = settings.isStateless() ? new SessionTokenSigner(settings.getSigningKeys()) : null;
+    }
+
+    public PlayerSession createSession(String gameId, int seat) {
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+        if (signer != null) {
+            return new PlayerSession(signer.sign(gameId, seat, expiresAt), gameId, seat, expiresAt);
+        }
         String token = UUID.randomUUID().toString() + "-" + UUID.randomUUID();
         PlayerSession session = new PlayerSession(
                 token,
                 gameId,
-                playerId,
-                Instant.now().plusSeconds(SESSION_TTL_SECONDS)
+                seat,
+                expiresAt
         );
         sessions.put(token, session);
+        tokensByGame.compute(gameId, (id, tokens) -> {
+            Set<String> set = tokens != null ? tokens : ConcurrentHashMap.newKeySet();
+            set.add(token);
+            return set;
+        });
+        expiryQueue.schedule(token, expiresAt);
         return session;
     }
 
+    private PlayerSession lookup(String token) {
+        if (signer != null) {
+            return signer.verify(token);
+        }
+        PlayerSession s = sessions.get(token);
+        Instant now = Instant.now();
+        if (s != null && s.expiresAt().isAfter(now) && s.expiresAt().isBefore(now.plusSeconds(ttlSeconds / 2))) {
+            // past half its TTL: extend it. The queued deadline is now early; cleanup reschedules it
+            PlayerSession extended = new PlayerSession(s.token(), s.gameId(), s.seat(), now.plusSeconds(ttlSeconds));
+            if (sessions.replace(token, s, extended)) {
+                return extended;
+            }
+        }
+        return s;
+    }
+
     public PlayerSession requireValidSession(String token, String gameId) {
         if (token == null || token.isBlank()) {
             throw new IllegalStateException("Missing player session token");
         }
-        PlayerSession s = sessions.get(token);
+        PlayerSession s = lookup(token);
         if (s == null || s.expiresAt().isBefore(Instant.now())) {
             throw new IllegalStateException("Player session expired or invalid");
         }
@@ -46,9 +99,60 @@ public class PlayerSessionService {
         return s;
     }
 
-    public void cleanupExpiredSessions() {
+    /**
+     * @return the session for this token, or null if it is unknown or expired
+     */
+    public PlayerSession findValidSession(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        PlayerSession s = lookup(token);
+        if (s == null || s.expiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        return s;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Remove sessions whose expiry has passed. Only expired entries of the
+     * expiry queue are visited.
+     *
+     * @return number of sessions removed
+     */
+    public int cleanupExpiredSessions() {
         Instant now = Instant.now();
-        sessions.values().removeIf(s -> s.expiresAt().isBefore(now));
+        int removed = 0;
+        String token;
+        while ((token = expiryQueue.pollExpired()) != null) {
+            PlayerSession s = sessions.get(token);
+            if (s == null) {
+                continue; // already gone with its game
+            }
+            if (s.expiresAt().isAfter(now)) {
+                expiryQueue.schedule(token, s.expiresAt()); // extended since it was queued
+            } else if (sessions.remove(token, s)) {
+                tokensByGame.computeIfPresent(s.gameId(), (id, tokens) -> {
+                    tokens.remove(s.token());
+                    return tokens.isEmpty() ? null : tokens;
+                });
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drop every session of a game that no longer exists.
+     */
+    public void removeGameSessions(String gameId) {
+        Set<String> tokens = tokensByGame.remove(gameId);
+        if (tokens != null) {
+            tokens.forEach(sessions::remove);
+        }
     }
 }
 
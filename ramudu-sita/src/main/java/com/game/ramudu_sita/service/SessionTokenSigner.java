@@ -0,0 +1,116 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.config.AppProperties;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Self-contained player tokens: {@code keyId.payload.signature}, where the
+ * payload is base64url {@code gameId.seat.expiresAtEpochSeconds} and the
+ * signature is HMAC-SHA256 over {@code keyId.payload}.
+ * <p>
+ * The first configured key signs; every configured key verifies. To rotate,
+ * put the new key first and drop the old one once tokens signed with it have
+ * expired.
+ */
+class SessionTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String signingKeyId;
+    // initialised once per key and never used directly, only cloned: a clone skips the key
+    // setup, and a per-call copy works as well on virtual threads as on pooled ones
+    private final Map<String, Mac> prototypesByKeyId = new LinkedHashMap<>();
+
+    SessionTokenSigner(List<AppProperties.Session.SigningKey> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("Stateless sessions need at least one app.session.signing-keys entry");
+        }
+        for (AppProperties.Session.SigningKey key : keys) {
+            if (key.getId() == null || key.getId().isBlank() || key.getId().contains(".")) {
+                throw new IllegalStateException("Session signing key id must be non-blank and contain no '.'");
+            }
+            byte[] secret = DECODER.decode(key.getSecret());
+            if (secret.length < 32) {
+                throw new IllegalStateException("Session signing key " + key.getId() + " must be at least 256 bits");
+            }
+            prototypesByKeyId.put(key.getId(), newMac(new SecretKeySpec(secret, ALGORITHM)));
+        }
+        this.signingKeyId = keys.get(0).getId();
+    }
+
+    private static Mac newMac(SecretKeySpec spec) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(spec);
+            mac.clone(); // fail at startup, not per token, if the provider can't clone
+            return mac;
+        } catch (GeneralSecurityException | CloneNotSupportedException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    String sign(String gameId, int seat, Instant expiresAt) {
+        String payload = ENCODER.encodeToString(
+                (gameId + "." + seat + "." + expiresAt.getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+        String signed = signingKeyId + "." + payload;
+        return signed + "." + ENCODER.encodeToString(mac(signingKeyId).doFinal(signed.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return the session in the token, or null if it is malformed or its signature
+     * doesn't match a configured key (expiry is not checked here)
+     */
+    PlayerSessionService.PlayerSession verify(String token) {
+        int keyEnd = token.indexOf('.');
+        int payloadEnd = token.lastIndexOf('.');
+        if (keyEnd <= 0 || payloadEnd <= keyEnd) {
+            return null;
+        }
+        Mac mac = mac(token.substring(0, keyEnd));
+        if (mac == null) {
+            return null;
+        }
+        try {
+            byte[] expected = mac.doFinal(token.substring(0, payloadEnd).getBytes(StandardCharsets.UTF_8));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(token.substring(payloadEnd + 1)))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(token.substring(keyEnd + 1, payloadEnd)), StandardCharsets.UTF_8)
+                    .split("\\.");
+            if (fields.length != 3) {
+                return null;
+            }
+            return new PlayerSessionService.PlayerSession(
+                    token, fields[0], Integer.parseInt(fields[1]), Instant.ofEpochSecond(Long.parseLong(fields[2])));
+        } catch (IllegalArgumentException e) { // bad base64, seat or expiry
+            return null;
+        }
+    }
+
+    /**
+     * @return a fresh Mac for the key, or null if no such key is configured
+     */
+    private Mac mac(String keyId) {
+        Mac prototype = prototypesByKeyId.get(keyId);
+        if (prototype == null) {
+            return null;
+        }
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Cannot clone " + ALGORITHM, e); // checked in newMac
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.game.ramudu_sita.service;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Public state for spectators on /topic/games/{gameId}/spectate, sent at most
+ * {@code updatesPerSecond} times a second per game. Only games someone
+ * started watching have a feed; the rest cost nothing here.
+ * <p>
+ * Fanning a state out to thousands of spectators takes far longer than to a
+ * game's players, so it never happens on the game's mailbox: {@link #offer}
+ * only keeps the message, and a virtual thread sends whatever is newest once
+ * the game's interval is up. States that arrive in between replace each other.
+ * At most one send per game is in flight, so spectators see versions in order.
+ */
+class SpectatorFeed {
+
+    // a lock rather than a monitor: senders are virtual threads, which a monitor would pin
+    private static final class Feed {
+        final ReentrantLock lock = new ReentrantLock();
+        Message<byte[]> latest; // guarded by lock; null once sent
+        long latestVersion;     // guarded by lock
+        long nextSendAt;        // guarded by lock; System.nanoTime()
+        boolean sending;        // guarded by lock; a send is scheduled or running
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long intervalNanos;
+    private final Executor sender;
+
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    SpectatorFeed(SimpMessagingTemplate messagingTemplate, int updatesPerSecond) {
+        this(messagingTemplate, updatesPerSecond, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    SpectatorFeed(SimpMessagingTemplate messagingTemplate, int updatesPerSecond, Executor sender) {
+        this.messagingTemplate = messagingTemplate;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, updatesPerSecond);
+        this.sender = sender;
+    }
+
+    /**
+     * Someone watches the game: from now on its states go out on the spectator topic.
+     */
+    void watch(String gameId) {
+        feeds.computeIfAbsent(gameId, id -> new Feed());
+    }
+
+    /**
+     * The game's public state moved to {@code version}; spectators get it, or a later one, in due course.
+     */
+    void offer(String gameId, long version, Message<byte[]> message) {
+        Feed feed = feeds.get(gameId);
+        if (feed == null) {
+            return; // nobody watches this game
+        }
+        feed.lock.lock();
+        try {
+            if (version <= feed.latestVersion) {
+                return; // already sent or waiting
+            }
+            feed.latest = message;
+            feed.latestVersion = version;
+            if (feed.sending) {
+                return; // the send in progress picks it up
+            }
+            feed.sending = true;
+        } finally {
+            feed.lock.unlock();
+        }
+        schedule(gameId, feed);
+    }
+
+    private void schedule(String gameId, Feed feed) {
+        long delay;
+        feed.lock.lock();
+        try {
+            delay = feed.nextSendAt - System.nanoTime();
+        } finally {
+            feed.lock.unlock();
+        }
+        Executor executor = delay <= 0 ? sender
+                : CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, sender);
+        executor.execute(() -> send(gameId, feed));
+    }
+
+    private void send(String gameId, Feed feed) {
+        Message<byte[]> message;
+        feed.lock.lock();
+        try {
+            message = feed.latest;
+            feed.latest = null;
+            feed.nextSendAt = System.nanoTime() + intervalNanos;
+        } finally {
+            feed.lock.unlock();
+        }
+        try {
+            if (message != null && feeds.get(gameId) == feed) { // not forgotten meanwhile
+                messagingTemplate.send("/topic/games/" + gameId + "/spectate", message);
+            }
+        } finally {
+            boolean more;
+            feed.lock.lock();
+            try {
+                more = feed.latest != null && feeds.get(gameId) == feed;
+                feed.sending = more;
+            } finally {
+                feed.lock.unlock();
+            }
+            if (more) {
+                schedule(gameId, feed); // a newer state came in while sending
+            }
+        }
+    }
+
+    void forget(String gameId) {
+        feeds.remove(gameId);
+    }
+
+    void clear() {
+        feeds.clear();
+    }
+}
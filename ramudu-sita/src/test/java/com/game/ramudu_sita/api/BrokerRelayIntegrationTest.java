@@ -0,0 +1,135 @@
+package com.game.ramudu_sita.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.api.dto.MyStateResponse;
+import com.game.ramudu_sita.model.GameStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Broadcasts going through the STOMP broker relay to an embedded Artemis broker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.broker.mode=RELAY", "app.broker.embedded=true"})
+@AutoConfigureMockMvc
+class BrokerRelayIntegrationTest {
+
+    @DynamicPropertySource
+    static void brokerPort(DynamicPropertyRegistry registry) throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            int port = socket.getLocalPort();
+            registry.add("app.broker.relay-port", () -> port);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relay;
+
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void awaitBroker() throws InterruptedException {
+        // the relay's shared connection comes up asynchronously after startup
+        for (int i = 0; i < 100 && !relay.isBrokerAvailable(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(relay.isBrokerAvailable());
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterEach
+    void stopClient() {
+        stompClient.stop();
+    }
+
+    @Test
+    void publicAndPrivateStatesGoThroughTheBroker() throws Exception {
+        MvcResult create = mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerName\":\"Host\",\"totalRounds\":1}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode created = objectMapper.readTree(create.getResponse().getContentAsString());
+        String gameId = created.get("gameId").asText();
+        String playerToken = create.getResponse().getCookie("PLAYER_TOKEN").getValue();
+
+        WebSocketHttpHeaders handshake = new WebSocketHttpHeaders();
+        handshake.add("Cookie", "PLAYER_TOKEN=" + playerToken);
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws", handshake,
+                new StompSessionHandlerAdapter() {
+                }).get(5, TimeUnit.SECONDS);
+
+        // a late copy of the creation broadcast may still come first; wait for the join
+        CompletableFuture<GamePublicState> publicState = first(session, "/topic/games/" + gameId + "/state",
+                GamePublicState.class, state -> state.getPlayers().size() == 2);
+        CompletableFuture<MyStateResponse> privateState = first(session, "/user/queue/games/" + gameId + "/me",
+                MyStateResponse.class, state -> state.getPlayers().size() == 2);
+        Thread.sleep(300); // subscriptions travel app -> broker without a receipt
+
+        mockMvc.perform(post("/api/games/join")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"" + created.get("gameCode").asText() + "\",\"playerName\":\"P2\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(GameStatus.LOBBY, publicState.get(5, TimeUnit.SECONDS).getGameStatus());
+        assertEquals(GameStatus.LOBBY, privateState.get(5, TimeUnit.SECONDS).getGameStatus());
+    }
+
+    private static <T> CompletableFuture<T> first(StompSession session, String destination, Class<T> type,
+                                                  Predicate<T> matching) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                T state = type.cast(payload);
+                if (matching.test(state)) {
+                    future.complete(state);
+                }
+            }
+        });
+        return future;
+    }
+}
@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -222,6 +223,25 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$.gameStatus", is("FINISHED")))
                 .andExpect(jsonPath("$.players", hasSize(3)))
                 .andExpect(jsonPath("$.players[*].totalScore", everyItem(greaterThanOrEqualTo(0))));
+
+        // 7) The round is in the history; fetching it again with its ETag costs no body
+        String etag = mockMvc.perform(get("/api/games/{gameId}/rounds", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rounds", hasSize(1)))
+                .andExpect(jsonPath("$.rounds[0].roundNumber", is(1)))
+                .andExpect(jsonPath("$.rounds[0].guessedPlayerId", is(sitaId)))
+                .andExpect(jsonPath("$.rounds[0].chits." + ramuduId, is("RAMUDU")))
+                .andExpect(jsonPath("$.rounds[0].deltas." + ramuduId, is(5000)))
+                .andExpect(jsonPath("$.rounds[0].totals." + ramuduId, is(5000)))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertNotNull(etag, "history must carry an ETag");
+
+        mockMvc.perform(get("/api/games/{gameId}/rounds", gameId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -267,6 +287,18 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Only host can start game"));
     }
 
+    @Test
+    void overlongPlayerNameIsRejected() throws Exception {
+        mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            { "playerName": "%s", "totalRounds": 1 }
+                            """.formatted("x".repeat(100_000))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("INVALID_REQUEST")))
+                .andExpect(jsonPath("$.message", startsWith("playerName")));
+    }
+
     @Test
     void spamFilterBlocksTooManyActiveGamesPerCreator() throws Exception {
 
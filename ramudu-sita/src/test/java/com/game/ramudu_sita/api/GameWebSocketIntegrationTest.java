@@ -3,6 +3,7 @@ package com.game.ramudu_sita.api;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.api.dto.MyStateResponse;
 import com.game.ramudu_sita.model.GameStatus;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.AfterEach;
@@ -67,6 +68,24 @@ class GameWebSocketIntegrationTest {
     // ---- WebSocket helpers ----
 
     private StompSession connect() throws Exception {
+        return connect(new WebSocketHttpHeaders());
+    }
+
+    /**
+     * Connect as a player: the handshake carries the PLAYER_TOKEN cookie like a browser would.
+     */
+    private StompSession connectAs(Cookie playerCookie) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Cookie", playerCookie.getName() + "=" + playerCookie.getValue());
+        return connect(headers);
+    }
+
+    private StompSession connect(WebSocketHttpHeaders handshakeHeaders) throws Exception {
+        return connect(handshakeHeaders, new StompSessionHandlerAdapter() {
+        });
+    }
+
+    private StompSession connect(WebSocketHttpHeaders handshakeHeaders, StompSessionHandler handler) throws Exception {
         if (stompClient == null) {
             stompClient = new WebSocketStompClient(new StandardWebSocketClient());
             stompClient.setMessageConverter(new MappingJackson2MessageConverter());
@@ -75,8 +94,7 @@ class GameWebSocketIntegrationTest {
         String url = "ws://localhost:" + port + "/ws";
 
         CompletableFuture<StompSession> future =
-                stompClient.connectAsync(url, new WebSocketHttpHeaders(), new StompSessionHandlerAdapter() {
-                });
+                stompClient.connectAsync(url, handshakeHeaders, handler);
 
         return future.get(5, TimeUnit.SECONDS);
     }
@@ -84,7 +102,7 @@ class GameWebSocketIntegrationTest {
     /**
      * Subscribe to the game state topic and return a future for the *next* GamePublicState.
      */
-    private CompletableFuture<GamePublicState> awaitNextState(String gameId) {
+    private CompletableFuture<GamePublicState> awaitNextState(String gameId) throws InterruptedException {
         CompletableFuture<GamePublicState> future = new CompletableFuture<>();
 
         session.subscribe("/topic/games/" + gameId + "/state", new StompFrameHandler() {
@@ -100,6 +118,7 @@ class GameWebSocketIntegrationTest {
                 }
             }
         });
+        Thread.sleep(200); // SUBSCRIBE is handled asynchronously and the simple broker sends no RECEIPT
 
         return future;
     }
@@ -140,8 +159,8 @@ class GameWebSocketIntegrationTest {
         String gameId = createJson.get("gameId").asText();
         String gameCode = createJson.get("gameCode").asText();
 
-        // 2) Connect WebSocket
-        session = connect();
+        // 2) Connect WebSocket as the host: the state topic is for the game's players
+        session = connectAs(hostCookie);
 
         // 3) Subscribe and then trigger join (P2)
         CompletableFuture<GamePublicState> joinFuture = awaitNextState(gameId);
@@ -245,8 +264,8 @@ class GameWebSocketIntegrationTest {
                         .cookie(hostCookie))
                 .andExpect(status().isOk());
 
-        // 4) Connect WebSocket
-        session = connect();
+        // 4) Connect WebSocket as the host: the state topic is for the game's players
+        session = connectAs(hostCookie);
 
         // 5) Find Ramudu & Sita via /me endpoint, using each player's cookie
         var hostStateJson = mockMvc.perform(
@@ -333,4 +352,82 @@ class GameWebSocketIntegrationTest {
         assertNotNull(finalState.getLastRoundScoreDelta());
         assertFalse(finalState.getLastRoundScoreDelta().isEmpty());
     }
+
+    @Test
+    void websocketPushesPrivateStateToEachPlayer() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "playerName": "Host", "totalRounds": 1 }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie hostCookie = extractPlayerCookie(createResult);
+        JsonNode createJson = objectMapper.readTree(createResult.getResponse().getContentAsString());
+        String gameId = createJson.get("gameId").asText();
+        String gameCode = createJson.get("gameCode").asText();
+        String hostId = createJson.get("playerId").asText();
+
+        for (String name : new String[]{"P2", "P3"}) {
+            mockMvc.perform(post("/api/games/join")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    { "code": "%s", "playerName": "%s" }
+                                    """.formatted(gameCode, name)))
+                    .andExpect(status().isOk());
+        }
+
+        // Host connects with their cookie and listens on their private queue
+        session = connectAs(hostCookie);
+        CompletableFuture<MyStateResponse> myStateFuture = new CompletableFuture<>();
+        session.subscribe("/user/queue/games/" + gameId + "/me", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return MyStateResponse.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                MyStateResponse state = (MyStateResponse) payload;
+                if (state.getGameStatus() == GameStatus.IN_ROUND) {
+                    myStateFuture.complete(state);
+                }
+            }
+        });
+        Thread.sleep(200); // let the SUBSCRIBE reach the broker before triggering the broadcast
+
+        mockMvc.perform(post("/api/games/{gameId}/start", gameId)
+                        .cookie(hostCookie))
+                .andExpect(status().isOk());
+
+        MyStateResponse myState = myStateFuture.get(5, TimeUnit.SECONDS);
+        assertEquals(hostId, myState.getMe().id());
+        assertEquals(1, myState.getCurrentRoundNumber());
+        assertNotNull(myState.getMyChit(), "Private push must include the player's chit");
+        assertEquals(3, myState.getPlayers().size());
+    }
+
+    @Test
+    void onlySeatedPlayersMaySubscribeToStateTopic() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "playerName": "Host", "totalRounds": 1 }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        String gameId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("gameId").asText();
+
+        CompletableFuture<String> error = new CompletableFuture<>();
+        session = connect(new WebSocketHttpHeaders(), new StompSessionHandlerAdapter() {
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                error.complete(headers.getFirst("message")); // only ERROR frames reach the session handler
+            }
+        });
+        session.subscribe("/topic/games/" + gameId + "/state", new StompSessionHandlerAdapter() {
+        });
+
+        assertTrue(error.get(5, TimeUnit.SECONDS).contains("Only the game's players"));
+    }
 }
@@ -0,0 +1,86 @@
+package com.game.ramudu_sita.api;
+
+import com.game.ramudu_sita.rate.RateLimiterService;
+import com.game.ramudu_sita.service.GameService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private RateLimiterService rateLimiterService;
+
+    @AfterEach
+    void resetState() {
+        gameService.clearAllForTests();
+        rateLimiterService.clearAllForTests();
+    }
+
+    private void createGame(String ip, int expectedStatus) throws Exception {
+        mockMvc.perform(post("/api/games")
+                        .header("X-Forwarded-For", ip)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "playerName": "Host", "totalRounds": 1 }
+                                """))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    /**
+     * Value of the first sample of {@code metric} whose labels contain {@code label}.
+     */
+    private double scrape(String metric, String label) throws Exception {
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return body.lines()
+                .filter(line -> line.startsWith(metric + "{") && line.contains(label))
+                .map(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No sample " + metric + " with " + label + " in:\n" + body));
+    }
+
+    @Test
+    void gameLifecycleIsVisibleOnPrometheusEndpoint() throws Exception {
+        createGame("10.0.0.1", 200);
+
+        assertEquals(1.0, scrape("games_active", "status=\"LOBBY\""));
+        assertEquals(0.0, scrape("games_active", "status=\"IN_ROUND\""));
+        assertEquals(1.0, scrape("games_store_size", "index=\"id\""));
+        assertEquals(1.0, scrape("games_store_size", "index=\"code\""));
+        assertTrue(scrape("games_operations_seconds_count", "operation=\"createGame\",outcome=\"SUCCESS\"") >= 1);
+        assertTrue(scrape("games_broadcast_seconds_count", "kind=\"full\"") >= 1);
+    }
+
+    @Test
+    void rateLimitRejectionsAreCountedPerRule() throws Exception {
+        // 10 creates per minute; 6-10 are refused by the active-game cap, 11 by the rate limiter
+        for (int i = 0; i < 10; i++) {
+            createGame("10.0.0.2", i < 5 ? 200 : 400);
+        }
+        createGame("10.0.0.2", 429);
+
+        assertEquals(1.0, scrape("rate_limit_rejections_total", "rule=\"CREATE_GAME\""));
+        assertTrue(scrape("games_operations_seconds_count", "operation=\"createGame\",outcome=\"RATE_LIMITED\"") >= 1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.game.ramudu_sita.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * spring.threads.virtual.enabled=true: requests, STOMP channels and scheduled
+ * tasks all run on virtual threads, and a client still sees its frames in order.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+class VirtualThreadsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private ExecutorSubscribableChannel clientInboundChannel;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @Autowired
+    @Qualifier("taskScheduler") // the one @Scheduled methods run on
+    private TaskScheduler taskScheduler;
+
+    private WebSocketStompClient stompClient;
+
+    @AfterEach
+    void stopClient() {
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+    }
+
+    @Test
+    void everyExecutorRunsOnVirtualThreads() throws Exception {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        assertInstanceOf(VirtualThreadExecutor.class,
+                webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+
+        assertTrue(runsOnVirtualThread(clientInboundChannel));
+        assertTrue(runsOnVirtualThread(clientOutboundChannel));
+
+        CompletableFuture<Boolean> scheduled = new CompletableFuture<>();
+        taskScheduler.schedule(() -> scheduled.complete(Thread.currentThread().isVirtual()), Instant.now());
+        assertTrue(scheduled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void stateFramesArriveInPublishOrder() throws Exception {
+        MockHttpServletResponse createResponse = mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerName\":\"Host\",\"totalRounds\":1}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        JsonNode created = objectMapper.readTree(createResponse.getContentAsString());
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        // as the host: the state topic is for the game's players
+        WebSocketHttpHeaders handshake = new WebSocketHttpHeaders();
+        handshake.add("Cookie", "PLAYER_TOKEN=" + createResponse.getCookie("PLAYER_TOKEN").getValue());
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws",
+                handshake, new StompSessionHandlerAdapter() {
+                }).get(5, TimeUnit.SECONDS);
+        List<Integer> playerCounts = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> full = new CompletableFuture<>();
+        session.subscribe("/topic/games/" + created.get("gameId").asText() + "/state", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return GamePublicState.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                playerCounts.add(((GamePublicState) payload).getPlayers().size());
+                if (playerCounts.size() == 4) {
+                    full.complete(null);
+                }
+            }
+        });
+        Thread.sleep(200); // SUBSCRIBE is handled asynchronously and the simple broker sends no RECEIPT
+
+        // back-to-back joins: each broadcast is handed to the outbound channel on its own virtual thread
+        for (int i = 2; i <= 5; i++) {
+            mockMvc.perform(post("/api/games/join")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"code\":\"" + created.get("gameCode").asText() + "\",\"playerName\":\"P" + i + "\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        full.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(2, 3, 4, 5), playerCounts);
+    }
+
+    private static boolean runsOnVirtualThread(ExecutorSubscribableChannel channel) throws Exception {
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        assertNotNull(channel.getExecutor());
+        channel.getExecutor().execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        return virtual.get(5, TimeUnit.SECONDS);
+    }
+}
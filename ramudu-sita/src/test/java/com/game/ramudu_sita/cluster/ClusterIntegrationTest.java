@@ -0,0 +1,227 @@
+package com.game.ramudu_sita.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.game.ramudu_sita.RamuduSitaApplication;
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.service.GameService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three nodes in one JVM, talking over loopback.
+ */
+class ClusterIntegrationTest {
+
+    private static final String SECRET = "test-cluster-secret";
+    private static final int NODES = 3;
+
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final List<String> urls = new ArrayList<>();
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        for (int i = 0; i < NODES; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                urls.add("http://localhost:" + socket.getLocalPort());
+            }
+        }
+        for (String url : urls) {
+            // as command-line arguments: default properties would lose to application.yaml
+            contexts.add(new SpringApplicationBuilder(RamuduSitaApplication.class).run(
+                    "--server.port=" + URI.create(url).getPort(),
+                    "--app.cookie-secure=false",
+                    "--app.session.stateless=true",
+                    "--app.session.signing-keys[0].id=k1",
+                    "--app.session.signing-keys[0].secret=" + "a".repeat(43),
+                    "--app.cluster.enabled=true",
+                    "--app.cluster.secret=" + SECRET,
+                    "--app.cluster.self-url=" + url,
+                    "--app.cluster.members=" + String.join(",", urls)
+            ));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void gameIsPlayedOnItsOwnerWhicheverNodeIsCalled() throws Exception {
+        JsonNode created = createGame(0);
+        String gameId = created.get("gameId").asText();
+        String code = created.get("gameCode").asText();
+        String hostToken = created.get("token").asText();
+        assertEquals(code, HashRing.routingKey(gameId));
+
+        assertEquals(200, post(1, "/api/games/join", "{\"code\":\"" + code + "\",\"playerName\":\"P2\"}", null).statusCode());
+        assertEquals(200, post(2, "/api/games/join", "{\"code\":\"" + code + "\",\"playerName\":\"P3\"}", null).statusCode());
+        assertEquals(200, post(2, "/api/games/" + gameId + "/start", "", hostToken).statusCode());
+
+        HttpResponse<String> me = get(1, "/api/games/" + gameId + "/me", hostToken);
+        assertEquals(200, me.statusCode());
+        assertEquals(3, objectMapper.readTree(me.body()).get("players").size());
+
+        assertNotNull(gameService(0).getGame(gameId));
+        assertNull(gameService(1).getGame(gameId));
+        assertNull(gameService(2).getGame(gameId));
+    }
+
+    @Test
+    void updatesReachClientsOnOtherNodes() throws Exception {
+        JsonNode created = createGame(0);
+        String gameId = created.get("gameId").asText();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        try {
+            // the host, on a node other than the game's owner; the state topic is for the game's players
+            WebSocketHttpHeaders handshake = new WebSocketHttpHeaders();
+            handshake.add("Cookie", "PLAYER_TOKEN=" + created.get("token").asText());
+            StompSession session = stompClient.connectAsync(urls.get(1).replace("http", "ws") + "/ws",
+                    handshake, new StompSessionHandlerAdapter() {
+                    }).get(5, TimeUnit.SECONDS);
+            CompletableFuture<GamePublicState> next = new CompletableFuture<>();
+            session.subscribe("/topic/games/" + gameId + "/state", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return GamePublicState.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    next.complete((GamePublicState) payload);
+                }
+            });
+            Thread.sleep(200); // SUBSCRIBE is handled asynchronously and the simple broker sends no RECEIPT
+
+            String code = created.get("gameCode").asText();
+            assertEquals(200, post(2, "/api/games/join", "{\"code\":\"" + code + "\",\"playerName\":\"P2\"}", null).statusCode());
+
+            GamePublicState state = next.get(5, TimeUnit.SECONDS);
+            assertEquals(2, state.getPlayers().size());
+            assertEquals(GameStatus.LOBBY, state.getGameStatus());
+        } finally {
+            stompClient.stop();
+        }
+    }
+
+    @Test
+    void leavingNodeHandsItsGamesToTheRemainingOnes() throws Exception {
+        Map<String, String> tokenByGame = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            JsonNode created = createGame(0);
+            tokenByGame.put(created.get("gameId").asText(), created.get("token").asText());
+        }
+
+        try {
+            List<String> remaining = urls.subList(1, NODES);
+            for (int i = 0; i < NODES; i++) {
+                assertEquals(200, putMembers(i, remaining).statusCode());
+            }
+
+            assertEquals(0, gameService(0).gameCount());
+            for (Map.Entry<String, String> game : tokenByGame.entrySet()) {
+                String owner = clusterMembership(1).ownerOf(HashRing.routingKey(game.getKey()));
+                assertNotNull(gameService(urls.indexOf(owner)).getGame(game.getKey()));
+                // the old owner now forwards to the new one
+                assertEquals(200, get(0, "/api/games/" + game.getKey() + "/me", game.getValue()).statusCode());
+            }
+        } finally {
+            for (int i = 0; i < NODES; i++) {
+                putMembers(i, urls);
+            }
+        }
+    }
+
+    @Test
+    void clientCannotSkipRoutingWithTheForwardedHeader() throws Exception {
+        JsonNode created = createGame(0);
+        String gameId = created.get("gameId").asText();
+
+        HttpRequest forged = HttpRequest.newBuilder(URI.create(urls.get(1) + "/api/games/" + gameId + "/me"))
+                .header("Cookie", "PLAYER_TOKEN=" + created.get("token").asText())
+                .header(ClusterForwardingFilter.FORWARDED_HEADER, urls.get(2))
+                .GET()
+                .build();
+
+        // still routed to the owner instead of being handled, and not found, on node 1
+        assertEquals(200, http.send(forged, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    private JsonNode createGame(int node) throws Exception {
+        HttpResponse<String> response = post(node, "/api/games", "{\"playerName\":\"Host\",\"totalRounds\":3}", null);
+        assertEquals(200, response.statusCode(), response.body());
+        ObjectNode json = (ObjectNode) objectMapper.readTree(response.body());
+        // "PLAYER_TOKEN=abc; Path=/; HttpOnly; ..."
+        String cookie = response.headers().firstValue("Set-Cookie").orElseThrow();
+        json.put("token", cookie.substring("PLAYER_TOKEN=".length(), cookie.indexOf(';')));
+        return json;
+    }
+
+    private HttpResponse<String> post(int node, String path, String json, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(urls.get(node) + path))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", "10.0.0." + new Random().nextInt(250))
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Cookie", "PLAYER_TOKEN=" + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(int node, String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(urls.get(node) + path))
+                .header("Cookie", "PLAYER_TOKEN=" + token)
+                .GET()
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> putMembers(int node, List<String> members) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(urls.get(node) + "/internal/cluster/members"))
+                .header("Content-Type", "application/json")
+                .header(ClusterClient.SECRET_HEADER, SECRET)
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(members)))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static GameService gameService(int node) {
+        return contexts.get(node).getBean(GameService.class);
+    }
+
+    private static ClusterMembership clusterMembership(int node) {
+        return contexts.get(node).getBean(ClusterMembership.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.game.ramudu_sita.cluster;
+
+import com.game.ramudu_sita.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ClusterRelayTest {
+
+    private static final String PEER = "http://peer:8080";
+
+    private final ClusterMembership membership = mock(ClusterMembership.class);
+    private final ClusterClient client = mock(ClusterClient.class);
+    private final GameService gameService = mock(GameService.class);
+    private final List<List<ClusterRelay.Frame>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch peerSlow = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        when(membership.peers()).thenReturn(List.of(PEER));
+        doAnswer(call -> {
+            firstSendStarted.countDown();
+            assertTrue(peerSlow.await(5, TimeUnit.SECONDS));
+            batches.add(ClusterRelay.decode(call.getArgument(1)));
+            return null;
+        }).when(client).relay(eq(PEER), any());
+    }
+
+    private ClusterRelay relay(int maxQueued) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("gameService", gameService);
+        return new ClusterRelay(membership, client, beans.getBeanProvider(SimpMessagingTemplate.class),
+                beans.getBeanProvider(GameService.class), maxQueued);
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(destination.getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders());
+    }
+
+    @Test
+    void queuedUpdatesGoOutInOneBatchInOrder() throws Exception {
+        ClusterRelay relay = relay(100);
+        relay.preSend(message("/topic/games/g1/state"), null);
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            relay.preSend(message("/topic/games/g1/delta" + i), null);
+        }
+        peerSlow.countDown();
+
+        verify(client, timeout(5000).times(2)).relay(eq(PEER), any());
+        assertEquals(List.of(1, 3), batches.stream().map(List::size).toList());
+        assertEquals("/topic/games/g1/delta2", batches.get(1).get(2).destination());
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void fullQueueDropsEverythingAndResendsTheAffectedGames() throws Exception {
+        ClusterRelay relay = relay(2);
+        relay.preSend(message("/topic/games/g1/state"), null);
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        relay.preSend(message("/user/g2/1/queue/games/g2/me"), null);
+        relay.preSend(message("/topic/games/g3/state"), null);
+        relay.preSend(message("/topic/games/g3/delta"), null); // overflows
+        peerSlow.countDown();
+
+        verify(gameService, timeout(5000)).resendState("g2");
+        verify(gameService, timeout(5000)).resendState("g3");
+        verify(gameService, never()).resendState("g1");
+        assertEquals(1, batches.size(), "nothing queued survives an overflow");
+    }
+
+    @Test
+    void gameIdsComeFromTopicAndUserDestinations() {
+        assertEquals("AB2CDE-x1", ClusterRelay.gameIdOf("/topic/games/AB2CDE-x1/state"));
+        assertEquals("AB2CDE-x1", ClusterRelay.gameIdOf("/user/AB2CDE-x1/2/queue/games/AB2CDE-x1/me"));
+        assertNull(ClusterRelay.gameIdOf("/topic/lobby"));
+    }
+}
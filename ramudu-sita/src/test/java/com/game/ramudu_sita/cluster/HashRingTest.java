@@ -0,0 +1,50 @@
+package com.game.ramudu_sita.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTest {
+
+    private static final List<String> THREE = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+
+    @Test
+    void everyNodeBuildsTheSameRing() {
+        HashRing one = new HashRing(THREE, 128);
+        HashRing other = new HashRing(List.of(THREE.get(2), THREE.get(0), THREE.get(1)), 128);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(one.ownerOf("K" + i), other.ownerOf("K" + i));
+        }
+    }
+
+    @Test
+    void keysSpreadEvenlyAndOnlyTheNewNodesShareMovesOnJoin() {
+        HashRing before = new HashRing(THREE, 128);
+        HashRing after = new HashRing(List.of(THREE.get(0), THREE.get(1), THREE.get(2), "http://d:8080"), 128);
+
+        int keys = 40_000;
+        Map<String, Integer> perNode = new HashMap<>();
+        int moved = 0;
+        for (int i = 0; i < keys; i++) {
+            String key = "CODE" + i;
+            perNode.merge(before.ownerOf(key), 1, Integer::sum);
+            if (!before.ownerOf(key).equals(after.ownerOf(key))) {
+                assertEquals("http://d:8080", after.ownerOf(key)); // nothing moves between old nodes
+                moved++;
+            }
+        }
+        perNode.values().forEach(n -> assertTrue(Math.abs(n - keys / 3) < keys / 3 * 0.2, "share " + n));
+        assertTrue(Math.abs(moved - keys / 4) < keys / 4 * 0.25, "moved " + moved);
+    }
+
+    @Test
+    void routingKeyIsTheCodePrefixOfAGameId() {
+        assertEquals("ABC234", HashRing.routingKey("ABC234-0f8fad5b-d9cb-469f-a165-70867728950e"));
+        assertEquals("ABC234", HashRing.routingKey("ABC234"));
+    }
+}
@@ -0,0 +1,198 @@
+package com.game.ramudu_sita.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.model.GameState;
+import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.model.Player;
+import com.game.ramudu_sita.model.RoundState;
+import com.game.ramudu_sita.service.GameBroadcaster;
+import com.game.ramudu_sita.service.GameService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MappedGameJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<GameJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        opened.forEach(GameJournal::close);
+    }
+
+    private GameService startNode() {
+        AppProperties props = new AppProperties();
+        props.getJournal().setDirectory(dir.toString());
+        props.getJournal().setSegmentSize(DataSize.ofKilobytes(4)); // forces segment rolls
+        props.getJournal().setFsync(AppProperties.Journal.Fsync.ALWAYS);
+        MappedGameJournal journal = new MappedGameJournal(props.getJournal());
+        opened.add(journal);
+        GameService service = new GameService(new GameBroadcaster(mock(SimpMessagingTemplate.class),
+                new ObjectMapper(), null, props), props, journal);
+        service.restoreFromJournal();
+        return service;
+    }
+
+    private void restart() {
+        opened.forEach(GameJournal::close);
+        opened.clear();
+    }
+
+    @Test
+    void gamesSurviveRestartFromJournalAlone() {
+        GameService node = startNode();
+        GameService.CreateResult lobby = node.createGame("Lobby host", 3, "1.2.3.4");
+        node.joinGame(lobby.code(), "Waiting");
+        GameService.CreateResult played = playTwoRounds(node);
+        GameState before = node.getGame(played.gameId());
+        restart();
+
+        GameService restored = startNode();
+
+        assertEquals(2, restored.gameCount());
+        assertSameGame(before, restored.getGame(played.gameId()));
+        assertEquals(2, restored.getGame(lobby.gameId()).getPlayers().size());
+        // the code index is back too
+        assertEquals(lobby.gameId(), restored.joinGame(lobby.code(), "Late").gameId());
+    }
+
+    @Test
+    void snapshotDropsOldSegmentsAndLaterEventsStillReplay() throws IOException {
+        GameService node = startNode();
+        List<GameService.CreateResult> games = new ArrayList<>();
+        for (int i = 0; i < 40; i++) { // spans several 4 KB segments
+            games.add(playTwoRounds(node));
+        }
+        long segmentsBefore = count("journal-");
+
+        node.snapshotToJournal();
+        GameService.CreateResult afterSnapshot = playTwoRounds(node);
+        GameState before = node.getGame(afterSnapshot.gameId());
+        restart();
+
+        assertTrue(segmentsBefore > 1);
+        assertEquals(1, count("snapshot-"));
+        assertTrue(count("journal-") < segmentsBefore);
+
+        GameService restored = startNode();
+        assertEquals(41, restored.gameCount());
+        assertSameGame(before, restored.getGame(afterSnapshot.gameId()));
+        assertEquals(GameStatus.IN_ROUND, restored.getGame(games.get(0).gameId()).getStatus());
+        assertEquals(41, restored.countGames(GameStatus.IN_ROUND));
+    }
+
+    @Test
+    void tornTailIsDroppedOnReplay() throws IOException {
+        GameService node = startNode();
+        GameService.CreateResult game = node.createGame("Host", 3, null);
+        node.joinGame(game.code(), "P2");
+        restart();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+        // corrupt the last byte of the join record, as if the process died mid-write
+        byte[] bytes = Files.readAllBytes(segment);
+        int end = bytes.length;
+        while (bytes[end - 1] == 0) {
+            end--;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(end - 1);
+            file.write(bytes[end - 1] ^ 0xff);
+        }
+
+        GameService restored = startNode();
+        assertEquals(1, restored.getGame(game.gameId()).getPlayers().size());
+    }
+
+    @Test
+    void failedWriterRefusesChangesInsteadOfDroppingThem() throws Exception {
+        GameService node = startNode();
+        GameJournal journal = opened.get(0);
+        Files.delete(dir); // nowhere to create the first segment
+
+        try {
+            node.createGame("Host", 3, null);
+        } catch (IllegalStateException e) {
+            // the writer may already have failed on this very event
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.getFailure() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertInstanceOf(IOException.class, journal.getFailure());
+        assertThrows(IllegalStateException.class, () -> node.createGame("Other", 3, null));
+        assertThrows(IllegalStateException.class, node::snapshotToJournal);
+    }
+
+    private GameService.CreateResult playTwoRounds(GameService node) {
+        GameService.CreateResult host = node.createGame("Host", 5, null);
+        node.joinGame(host.code(), "P2");
+        node.joinGame(host.code(), "P3");
+        node.startGame(host.gameId(), host.seat());
+        for (int i = 0; i < 2; i++) {
+            RoundState round = node.getGame(host.gameId()).getCurrentRound();
+            node.makeGuess(host.gameId(), round.getRamuduSeat(), round.getSitaSeat());
+        }
+        return host;
+    }
+
+    private long count(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    private static void assertSameGame(GameState expected, GameState actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getCode(), actual.getCode());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCurrentRoundNumber(), actual.getCurrentRoundNumber());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (Player p : expected.getPlayers()) {
+            Player q = actual.getPlayer(p.getSeat());
+            assertEquals(p.getName(), q.getName());
+            assertEquals(p.isHost(), q.isHost());
+            assertEquals(p.getTotalScore(), q.getTotalScore());
+        }
+        assertSameRound(expected.getCurrentRound(), actual.getCurrentRound());
+        assertEquals(expected.getCompletedRounds().size(), actual.getCompletedRounds().size());
+        for (int i = 0; i < expected.getCompletedRounds().size(); i++) {
+            assertSameRound(expected.getCompletedRounds().get(i).toRoundState(),
+                    actual.getCompletedRounds().get(i).toRoundState());
+        }
+    }
+
+    private static void assertSameRound(RoundState r, RoundState s) {
+        if (r == null) {
+            assertNull(s);
+            return;
+        }
+        assertEquals(r.getRoundNumber(), s.getRoundNumber());
+        assertEquals(r.getStatus(), s.getStatus());
+        assertEquals(r.getAssignments(), s.getAssignments());
+        assertEquals(r.getGuessTargetSeat(), s.getGuessTargetSeat());
+        assertEquals(r.getScoreDelta(), s.getScoreDelta());
+    }
+}
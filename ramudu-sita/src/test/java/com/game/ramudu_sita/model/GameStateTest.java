@@ -2,29 +2,53 @@ package com.game.ramudu_sita.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameStateTest {
 
     @Test
-    void getCurrentRound_returnsRoundMatchingNumber() {
+    void startRound_makesItCurrent() {
         GameState game = new GameState("game-id", "ABC123", 5);
         assertNull(game.getCurrentRound());
 
-        RoundState r1 = new RoundState(1);
-        RoundState r2 = new RoundState(2);
-
-        game.getRounds().put(1, r1);
-        game.getRounds().put(2, r2);
+        RoundState r1 = new RoundState(1, 3);
+        RoundState r2 = new RoundState(2, 3);
 
-        game.setCurrentRoundNumber(1);
+        game.startRound(r1);
         assertSame(r1, game.getCurrentRound());
+        assertEquals(1, game.getCurrentRoundNumber());
 
-        game.setCurrentRoundNumber(2);
+        game.startRound(r2);
         assertSame(r2, game.getCurrentRound());
+        assertEquals(2, game.getCurrentRoundNumber());
+    }
 
-        game.setCurrentRoundNumber(3);
-        assertNull(game.getCurrentRound());
+    @Test
+    void archiveRound_keepsHistoryInOrderWithoutChangingEarlierViews() {
+        GameState game = new GameState("game-id", "ABC123", 5);
+        List<RoundSummary> empty = game.getCompletedRounds();
+
+        RoundState round = new RoundState(1, 3);
+        round.assign(0, ChitType.SITA);
+        round.assign(1, ChitType.RAMUDU);
+        round.assign(2, ChitType.HANUMAN);
+        round.scoreGuess(2);
+        game.archiveRound(RoundSummary.of(round));
+
+        assertTrue(empty.isEmpty());
+        RoundSummary summary = game.getCompletedRounds().get(0);
+        assertEquals(1, summary.getRoundNumber());
+        assertEquals(2, summary.getGuessedSeat());
+        assertEquals(ChitType.SITA, summary.getChit(0));
+        assertNull(summary.getChit(3));
+        assertEquals(5000, summary.getScoreDelta(0));
+        assertEquals(round.getScoreDelta(), summary.toRoundState().getScoreDelta());
     }
-}
 
+    @Test
+    void unscoredRoundCannotBeArchived() {
+        assertThrows(IllegalStateException.class, () -> RoundSummary.of(new RoundState(1, 3)));
+    }
+}
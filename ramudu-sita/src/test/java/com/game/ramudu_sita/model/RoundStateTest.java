@@ -0,0 +1,44 @@
+package com.game.ramudu_sita.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundStateTest {
+
+    private static RoundState dealt() {
+        RoundState round = new RoundState(1, 3);
+        round.assign(0, ChitType.BHARATA);
+        round.assign(1, ChitType.SITA);
+        round.assign(2, ChitType.RAMUDU);
+        return round;
+    }
+
+    @Test
+    void assign_tracksRamuduAndSitaSeats() {
+        RoundState round = dealt();
+        assertEquals(2, round.getRamuduSeat());
+        assertEquals(1, round.getSitaSeat());
+        assertEquals(ChitType.BHARATA, round.getChit(0));
+        assertNull(round.getChit(3));
+        assertFalse(round.isScored());
+        assertTrue(round.getScoreDelta().isEmpty());
+    }
+
+    @Test
+    void scoreGuess_ramuduFindsSita() {
+        RoundState round = dealt();
+        round.scoreGuess(1);
+        assertEquals(1, round.getGuessTargetSeat());
+        assertEquals(Map.of(0, 2000, 1, 0, 2, 5000), round.getScoreDelta());
+    }
+
+    @Test
+    void scoreGuess_wrongGuessGivesSitaTheRamuduPoints() {
+        RoundState round = dealt();
+        round.scoreGuess(0);
+        assertEquals(Map.of(0, 2000, 1, 5000, 2, 0), round.getScoreDelta());
+    }
+}
@@ -0,0 +1,132 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasedRateLimitBackendTest {
+
+    private static final String KEY = "JOIN_GAME:10.0.0.1";
+
+    private final AppProperties.RateLimit settings = new AppProperties.RateLimit();
+    private final AtomicLong clock = new AtomicLong();
+    private final InProcessSharedRateLimitStore store = new InProcessSharedRateLimitStore(settings, clock::get);
+
+    private List<RateLimiterService> nodes(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RateLimiterService(new LeasedRateLimitBackend(settings, store, clock::get)))
+                .toList();
+    }
+
+    private static int allowedRoundRobin(List<? extends RateLimiterService> nodes, int requests) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (nodes.get(i % nodes.size()).tryAcquire(KEY, 60, 60, RateLimitAlgorithm.FIXED_WINDOW)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @Test
+    void nodesSharingStoreEnforceOneClusterWideLimit() {
+        assertEquals(60, allowedRoundRobin(nodes(3), 300));
+
+        // for comparison: independent in-memory nodes give the client the limit once per node
+        List<RateLimiterService> unshared = IntStream.range(0, 3).mapToObj(i -> new RateLimiterService()).toList();
+        assertEquals(180, allowedRoundRobin(unshared, 300));
+    }
+
+    @Test
+    void leasesBatchStoreRoundTrips() {
+        List<RateLimiterService> nodes = nodes(3);
+
+        assertEquals(60, allowedRoundRobin(nodes, 300));
+        // 6 permits per lease and refusals cached for the lease TTL: a handful of
+        // round trips instead of one per request
+        assertTrue(store.callCount() <= 15, "store calls: " + store.callCount());
+    }
+
+    @Test
+    void refusalIsCachedUntilLeaseTtlPasses() {
+        settings.setLeaseFraction(1.0);
+        RateLimiterService node = nodes(1).get(0);
+        assertTrue(node.tryAcquire(KEY, 1, 1, RateLimitAlgorithm.TOKEN_BUCKET));
+        assertFalse(node.tryAcquire(KEY, 1, 1, RateLimitAlgorithm.TOKEN_BUCKET));
+        assertEquals(2, store.callCount());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertFalse(node.tryAcquire(KEY, 1, 1, RateLimitAlgorithm.TOKEN_BUCKET));
+        assertEquals(2, store.callCount());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertTrue(node.tryAcquire(KEY, 1, 1, RateLimitAlgorithm.TOKEN_BUCKET));
+        assertEquals(3, store.callCount());
+    }
+
+    @Test
+    void oneCallerRenewsWhileTheOthersFailFast() throws Exception {
+        int callers = 8;
+        CountDownLatch othersDone = new CountDownLatch(callers - 1);
+        AtomicInteger storeCalls = new AtomicInteger();
+        SharedRateLimitStore slowStore = (key, permits, limit, windowSeconds, algorithm) -> {
+            storeCalls.incrementAndGet();
+            try {
+                othersDone.await(5, TimeUnit.SECONDS); // hold the renewal open until everyone else has tried
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return store.acquire(key, permits, limit, windowSeconds, algorithm);
+        };
+        LeasedRateLimitBackend backend = new LeasedRateLimitBackend(settings, slowStore, clock::get);
+
+        AtomicInteger allowed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                if (backend.tryAcquire(KEY, 60, 60, RateLimitAlgorithm.FIXED_WINDOW)) {
+                    allowed.incrementAndGet();
+                } else {
+                    othersDone.countDown();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertEquals(1, storeCalls.get());
+        assertEquals(1, allowed.get());
+        // the batch it fetched is all there: 5 more permits without another round trip
+        for (int i = 0; i < 5; i++) {
+            assertTrue(backend.tryAcquire(KEY, 60, 60, RateLimitAlgorithm.FIXED_WINDOW));
+        }
+        assertEquals(1, storeCalls.get());
+    }
+
+    @Test
+    void expiredLeaseCarriesItsUnusedPermitsOver() {
+        LeasedRateLimitBackend backend = new LeasedRateLimitBackend(settings, store, clock::get);
+        assertTrue(backend.tryAcquire(KEY, 60, 60, RateLimitAlgorithm.FIXED_WINDOW)); // leases 6, 5 left
+
+        clock.addAndGet(settings.getLeaseTtl().toNanos() + 1);
+        assertTrue(backend.tryAcquire(KEY, 60, 60, RateLimitAlgorithm.FIXED_WINDOW)); // tops up 1, 5 left
+        assertEquals(2, store.callCount());
+
+        int allowed = 2;
+        while (backend.tryAcquire(KEY, 60, 60, RateLimitAlgorithm.FIXED_WINDOW)) {
+            allowed++;
+        }
+        // nothing leased and dropped on expiry: the whole window's limit is still reachable from one node
+        assertEquals(60, allowed);
+    }
+}
@@ -0,0 +1,96 @@
+package com.game.ramudu_sita.rate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitAlgorithmTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private static int allowed(RateLimitAlgorithm algorithm, AtomicLong state, long now, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (algorithm.tryAcquire(state, now, 10, MINUTE)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitAlgorithm.class)
+    void allowsLimitThenRejects(RateLimitAlgorithm algorithm) {
+        AtomicLong state = new AtomicLong();
+
+        assertEquals(10, allowed(algorithm, state, 5 * SECOND, 15));
+    }
+
+    @Test
+    void fixedWindowAllowsDoubleBurstAcrossBoundary() {
+        AtomicLong state = new AtomicLong();
+
+        assertEquals(10, allowed(RateLimitAlgorithm.FIXED_WINDOW, state, MINUTE - SECOND, 10));
+        assertEquals(10, allowed(RateLimitAlgorithm.FIXED_WINDOW, state, MINUTE + SECOND, 10));
+    }
+
+    @Test
+    void slidingWindowCarriesPreviousWindowAcrossBoundary() {
+        AtomicLong state = new AtomicLong();
+
+        assertEquals(10, allowed(RateLimitAlgorithm.SLIDING_WINDOW, state, MINUTE - SECOND, 10));
+        // 6s into the next window 90% of the previous window still counts
+        assertEquals(1, allowed(RateLimitAlgorithm.SLIDING_WINDOW, state, MINUTE + 6 * SECOND, 10));
+        // a window later only the current one counts
+        assertEquals(10, allowed(RateLimitAlgorithm.SLIDING_WINDOW, state, 3 * MINUTE, 10));
+    }
+
+    @Test
+    void tokenBucketRefillsEvenly() {
+        AtomicLong state = new AtomicLong();
+
+        assertEquals(10, allowed(RateLimitAlgorithm.TOKEN_BUCKET, state, MINUTE, 10));
+        // one token back every 6s
+        assertEquals(0, allowed(RateLimitAlgorithm.TOKEN_BUCKET, state, MINUTE + 5 * SECOND, 10));
+        assertEquals(2, allowed(RateLimitAlgorithm.TOKEN_BUCKET, state, MINUTE + 12 * SECOND, 10));
+        assertEquals(10, allowed(RateLimitAlgorithm.TOKEN_BUCKET, state, 5 * MINUTE, 20));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitAlgorithm.class)
+    void concurrentCallersNeverExceedLimit(RateLimitAlgorithm algorithm) throws InterruptedException {
+        AtomicLong state = new AtomicLong();
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 10_000; i++) {
+                        if (algorithm.tryAcquire(state, SECOND, 1000, MINUTE)) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(1000, allowed.get());
+    }
+}
@@ -0,0 +1,123 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitCounterStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private RateLimiterService limiter(Duration idleTtl, int maxKeys) {
+        AppProperties.RateLimit settings = new AppProperties.RateLimit();
+        settings.setIdleTtl(idleTtl);
+        settings.setMaxKeys(maxKeys);
+        return new RateLimiterService(settings, clock::get);
+    }
+
+    private void advance(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void idleKeysAreForgottenAndActiveKeysKeepTheirState() {
+        RateLimiterService limiter = limiter(Duration.ofMinutes(2), 1000);
+        limiter.checkRate("GUESS:active", 1, 600);
+        limiter.checkRate("GUESS:idle", 1, 600);
+
+        for (int i = 0; i < 3; i++) {
+            advance(120);
+            // still limited: its state survives every rotation
+            assertThrows(RateLimitExceededException.class, () -> limiter.checkRate("GUESS:active", 1, 600));
+        }
+
+        assertEquals(1, limiter.trackedKeyCount());
+        assertEquals(1, limiter.idleEvictionCount());
+        assertEquals(0, limiter.capacityEvictionCount());
+    }
+
+    @Test
+    void millionAddressFloodKeepsStoreBounded() {
+        int maxKeys = 10_000;
+        RateLimiterService limiter = limiter(Duration.ofMinutes(2), maxKeys);
+        long heapBefore = usedHeapAfterGc();
+
+        for (int i = 0; i < 1_000_000; i++) {
+            String ip = (i >>> 24) + "." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+            limiter.checkRate("JOIN_GAME:" + ip, 60, 60);
+            if (i % 1000 == 0) {
+                assertTrue(limiter.trackedKeyCount() <= maxKeys, "tracked " + limiter.trackedKeyCount());
+            }
+        }
+
+        assertTrue(limiter.trackedKeyCount() <= maxKeys);
+        assertEquals(1_000_000, limiter.trackedKeyCount() + limiter.capacityEvictionCount());
+        // a million tracked keys would be ~100 MB; the capped store is a couple of MB
+        long retained = usedHeapAfterGc() - heapBefore;
+        assertTrue(retained < 32L * 1024 * 1024, "retained " + retained + " bytes");
+    }
+
+    @Test
+    void lookupsRacingRotationsNeverFail() throws Exception {
+        // a tiny store rotates every few inserts and on every clock tick
+        RateLimitCounterStore store = new RateLimitCounterStore(Duration.ofNanos(1), 4);
+        int threads = 8;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < 200_000; i++) {
+                        store.stateFor("key" + (i & 7), clock.incrementAndGet()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        }
+        assertTrue(store.size() <= 8 + threads);
+    }
+
+    @Test
+    void concurrentPromotionsKeepTheCounter() throws Exception {
+        RateLimitCounterStore store = new RateLimitCounterStore(Duration.ofSeconds(1), 1000);
+        long second = TimeUnit.SECONDS.toNanos(1);
+        int threads = 4;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int round = 1; round <= 500; round++) {
+                String key = "key" + round;
+                store.stateFor(key, round * second).set(42);
+                long afterRotation = (round + 1) * second; // first lookup rotates: the key is in the previous generation
+                List<Future<AtomicLong>> lookups = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    lookups.add(pool.submit(() -> {
+                        start.await();
+                        return store.stateFor(key, afterRotation);
+                    }));
+                }
+                for (Future<AtomicLong> lookup : lookups) {
+                    assertEquals(42, lookup.get(5, TimeUnit.SECONDS).get(), "round " + round);
+                }
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,95 @@
+package com.game.ramudu_sita.rate;
+
+import com.game.ramudu_sita.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitRulesTest {
+
+    static class Controller {
+        @RateLimited(rule = "GUESS", limit = 20, window = 60)
+        public void guess() {
+        }
+
+        @RateLimited(rule = "CREATE_GAME", limit = 10, window = 60)
+        public void create() {
+        }
+
+        @RateLimited(rule = "CREATE_GAME", limit = 5, window = 60)
+        public void createWithOtherLimit() {
+        }
+
+        public void me() {
+        }
+    }
+
+    private final AppProperties props = new AppProperties();
+    private final Controller controller = new Controller();
+
+    private RateLimitRules rules(String... methods) {
+        RateLimitRules rules = new RateLimitRules(props, new SimpleMeterRegistry(),
+                new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class));
+        rules.resolve(List.of(methods).stream().map(this::handler).toList());
+        return rules;
+    }
+
+    private HandlerMethod handler(String method) {
+        try {
+            return new HandlerMethod(controller, Controller.class.getMethod(method));
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void resolvesAnnotatedHandlersOnly() {
+        RateLimitRules rules = rules("guess", "me");
+
+        RateLimitRule guess = rules.ruleFor(handler("guess"));
+        assertEquals("GUESS", guess.name());
+        assertEquals(20, guess.limit());
+        assertEquals(60, guess.windowSeconds());
+        assertEquals(RateLimitAlgorithm.TOKEN_BUCKET, guess.algorithm());
+        assertNull(rules.ruleFor(handler("me")));
+        assertNull(rules.ruleFor(new Object()));
+    }
+
+    @Test
+    void configOverridesAnnotation() {
+        AppProperties.RateLimit.Rule override = new AppProperties.RateLimit.Rule();
+        override.setLimit(3);
+        override.setWindow(Duration.ofMinutes(5));
+        override.setAlgorithm(RateLimitAlgorithm.SLIDING_WINDOW);
+        props.getRateLimit().getRules().put("GUESS", override);
+        props.getRateLimit().setIdleTtl(Duration.ofMinutes(5));
+
+        RateLimitRule guess = rules("guess").ruleFor(handler("guess"));
+
+        assertEquals(3, guess.limit());
+        assertEquals(300, guess.windowSeconds());
+        assertEquals(RateLimitAlgorithm.SLIDING_WINDOW, guess.algorithm());
+    }
+
+    @Test
+    void rejectsInconsistentOrUnknownRules() {
+        assertThrows(IllegalStateException.class, () -> rules("create", "createWithOtherLimit"));
+
+        props.getRateLimit().getRules().put("GUES", new AppProperties.RateLimit.Rule());
+        assertThrows(IllegalStateException.class, () -> rules("guess"));
+    }
+
+    @Test
+    void rejectsIdleTtlShorterThanAWindow() {
+        props.getRateLimit().setIdleTtl(Duration.ofSeconds(30));
+
+        assertThrows(IllegalStateException.class, () -> rules("guess"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.game.ramudu_sita.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.api.dto.GameStateDelta;
+import com.game.ramudu_sita.api.dto.MyStateResponse;
+import com.game.ramudu_sita.api.dto.PlayerIds;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.model.ChitType;
+import com.game.ramudu_sita.model.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameBroadcasterDeltaTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private GameService gameService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getBroadcast().setDeltaEnabled(true);
+        props.getBroadcast().setSnapshotInterval(20);
+        gameService = new GameService(new GameBroadcaster(messagingTemplate, objectMapper, null, props), props);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GameStateDelta> deltasSent(String gameId) {
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, atLeast(0)).send(eq("/topic/games/" + gameId + "/delta"), captor.capture());
+        return captor.getAllValues().stream().map(this::decode).toList();
+    }
+
+    private GameStateDelta decode(Message<byte[]> message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), GameStateDelta.class);
+        } catch (java.io.IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void createSendsSnapshotThenJoinSendsPlayerAddedPatch() {
+        var create = gameService.createGame("Host", 1, null);
+        gameService.joinGame(create.code(), "P2");
+
+        List<GameStateDelta> deltas = deltasSent(create.gameId());
+        assertEquals(2, deltas.size());
+
+        GameStateDelta snapshot = deltas.get(0);
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(1, snapshot.getState().getPlayers().size());
+
+        GameStateDelta join = deltas.get(1);
+        assertFalse(join.isSnapshot());
+        assertNull(join.getState());
+        assertEquals(snapshot.getVersion(), join.getBaseVersion());
+        assertEquals(1, join.getPatches().size());
+        assertEquals(GameStateDelta.Op.PLAYER_ADDED, join.getPatches().get(0).op());
+        assertEquals("P2", join.getPatches().get(0).player().name());
+    }
+
+    @Test
+    void startAndGuessSendStatusAndScorePatches() {
+        var create = gameService.createGame("Host", 1, null);
+        var p2 = gameService.joinGame(create.code(), "P2");
+        var p3 = gameService.joinGame(create.code(), "P3");
+        reset(messagingTemplate);
+
+        gameService.startGame(create.gameId(), create.seat());
+
+        List<GameStateDelta> afterStart = deltasSent(create.gameId());
+        assertFalse(afterStart.isEmpty());
+        GameStateDelta.Patch started = afterStart.get(0).getPatches().get(0);
+        assertEquals(GameStateDelta.Op.STATUS_CHANGED, started.op());
+        assertEquals(GameStatus.IN_ROUND, started.gameStatus());
+        assertEquals(1, started.currentRoundNumber());
+        reset(messagingTemplate);
+
+        List<MyStateResponse> states = Stream.of(create.seat(), p2.seat(), p3.seat())
+                .map(id -> gameService.getMyState(create.gameId(), id))
+                .toList();
+        String ramudu = playerWith(states, ChitType.RAMUDU);
+        String sita = playerWith(states, ChitType.SITA);
+        gameService.makeGuess(create.gameId(), PlayerIds.parse(ramudu), PlayerIds.parse(sita));
+
+        List<GameStateDelta> afterGuess = deltasSent(create.gameId());
+        List<GameStateDelta.Patch> patches = afterGuess.stream()
+                .flatMap(d -> d.getPatches().stream())
+                .toList();
+        GameStateDelta.Patch scores = patches.stream()
+                .filter(p -> p.op() == GameStateDelta.Op.SCORES_APPLIED)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(5000, scores.totals().get(ramudu));
+        assertEquals(3, scores.scoreDelta().size());
+        assertTrue(patches.stream().anyMatch(p -> p.op() == GameStateDelta.Op.STATUS_CHANGED
+                && p.gameStatus() == GameStatus.REVEAL));
+    }
+
+    @Test
+    void snapshotIsResentEveryInterval() {
+        AppProperties props = new AppProperties();
+        props.getBroadcast().setDeltaEnabled(true);
+        props.getBroadcast().setSnapshotInterval(2);
+        gameService = new GameService(new GameBroadcaster(messagingTemplate, objectMapper, null, props), props);
+
+        var create = gameService.createGame("Host", 1, null);
+        gameService.joinGame(create.code(), "P2");
+        gameService.joinGame(create.code(), "P3");
+
+        List<Boolean> snapshots = deltasSent(create.gameId()).stream().map(GameStateDelta::isSnapshot).toList();
+        assertEquals(List.of(true, false, true), snapshots);
+    }
+
+    @Test
+    void resyncReturnsSnapshotOfCurrentVersion() {
+        var create = gameService.createGame("Host", 1, null);
+        var join = gameService.joinGame(create.code(), "P2");
+
+        GameStateDelta resync = gameService.resync(create.gameId(), join.seat());
+
+        assertTrue(resync.isSnapshot());
+        assertEquals(2, resync.getState().getPlayers().size());
+        List<GameStateDelta> deltas = deltasSent(create.gameId());
+        assertEquals(deltas.get(deltas.size() - 1).getVersion(), resync.getVersion());
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.resync(create.gameId(), 7));
+    }
+
+    @Test
+    void deltaTopicIsSilentWhenDisabled() {
+        gameService = new GameService(messagingTemplate);
+
+        var create = gameService.createGame("Host", 1, null);
+        gameService.joinGame(create.code(), "P2");
+
+        verify(messagingTemplate, never()).send(eq("/topic/games/" + create.gameId() + "/delta"), any());
+    }
+
+    private static String playerWith(List<MyStateResponse> states, ChitType chit) {
+        return states.stream()
+                .filter(s -> s.getMyChit() == chit)
+                .map(s -> s.getMe().id())
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.ramudu_sita.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.ramudu_sita.api.dto.GamePublicState;
+import com.game.ramudu_sita.config.AppProperties;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameBroadcasterSpectatorTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private GameService gameService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getBroadcast().setSpectatorUpdatesPerSecond(5);
+        gameService = new GameService(messagingTemplate, props);
+    }
+
+    private GamePublicState decode(Message<byte[]> message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), GamePublicState.class);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void unwatchedGameSendsNothingToSpectators() {
+        AppProperties props = new AppProperties();
+        List<Runnable> fanOuts = new ArrayList<>();
+        GameService service = new GameService(new GameBroadcaster(messagingTemplate, objectMapper, null, props,
+                new CompositeMeterRegistry(), fanOuts::add), props);
+
+        var create = service.createGame("Host", 3, null);
+        service.joinGame(create.code(), "P2");
+        assertEquals(List.of(), fanOuts);
+
+        // the same updates for a watched game do reach the sender
+        service.spectate(create.gameId());
+        service.joinGame(create.code(), "P3");
+        assertEquals(1, fanOuts.size());
+        fanOuts.get(0).run();
+        verify(messagingTemplate).send(eq("/topic/games/" + create.gameId() + "/spectate"),
+                argThat((Message<byte[]> m) -> decode(m).getPlayers().size() == 3));
+    }
+
+    @Test
+    void spectatorsGetLatestStateAtThrottledRateWhilePlayersGetEveryOne() {
+        var create = gameService.createGame("Host", 3, null);
+        GamePublicState watched = gameService.spectate(create.gameId());
+        assertEquals(1, watched.getPlayers().size());
+
+        reset(messagingTemplate);
+        for (int i = 2; i <= 5; i++) {
+            gameService.joinGame(create.code(), "P" + i);
+        }
+
+        String spectate = "/topic/games/" + create.gameId() + "/spectate";
+        verify(messagingTemplate, timeout(2000)).send(eq(spectate),
+                argThat((Message<byte[]> m) -> decode(m).getPlayers().size() == 5));
+        // the first join goes out at once, the other three collapse into the next send
+        verify(messagingTemplate, atMost(2)).send(eq(spectate), any());
+        verify(messagingTemplate, times(4)).send(eq("/topic/games/" + create.gameId() + "/state"), any());
+    }
+}
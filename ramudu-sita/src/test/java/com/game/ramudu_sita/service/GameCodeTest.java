@@ -0,0 +1,132 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.model.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCodeTest {
+
+    @Test
+    void codesRoundTripThroughPackedForm() {
+        assertEquals(0, GameCode.parse("AAAAAA"));
+        assertEquals((1 << GameCode.BITS) - 1, GameCode.parse("999999"));
+        for (String code : new String[]{"AAAAAA", "K7QZ2M", "999999", "HJN3PX"}) {
+            assertEquals(code, GameCode.format(GameCode.parse(code)));
+        }
+    }
+
+    @Test
+    void anythingElseIsNotACode() {
+        for (String code : new String[]{null, "", "ABCDE", "ABCDEFG", "ABC1EF", "abcdef", "ABCDEÉ", "ABC EF"}) {
+            assertEquals(GameCode.NONE, GameCode.parse(code), String.valueOf(code));
+        }
+        assertThrows(IllegalArgumentException.class, () -> GameCode.format(-1));
+        assertThrows(IllegalArgumentException.class, () -> GameCode.format(1 << GameCode.BITS));
+    }
+
+    @Test
+    void indexFindsGamesAcrossRebuilds() {
+        GameCodeIndex index = new GameCodeIndex();
+        GameState[] games = new GameState[5_000];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new GameState("g" + i, GameCode.format(i * 7919), 3);
+            assertTrue(index.putIfAbsent(i * 7919, games[i]));
+        }
+        assertFalse(index.putIfAbsent(0, games[1]));
+
+        // removals leave tombstones; churn through enough of them to force rebuilds
+        for (int i = 0; i < games.length; i += 2) {
+            assertTrue(index.remove(i * 7919, games[i]));
+        }
+        assertFalse(index.remove(7919, games[0]), "only the game holding the code may remove it");
+        for (int i = 0; i < games.length; i += 2) {
+            assertTrue(index.putIfAbsent(i * 7919, games[i]));
+            assertTrue(index.remove(i * 7919, games[i]));
+        }
+
+        assertEquals(games.length / 2, index.size());
+        for (int i = 0; i < games.length; i++) {
+            assertSame(i % 2 == 0 ? null : games[i], index.get(i * 7919));
+        }
+        assertNull(index.get(GameCode.parse("999999")));
+    }
+
+    @Test
+    void concurrentLookupsNeverSeeAnotherCodesGame() throws Exception {
+        GameCodeIndex index = new GameCodeIndex();
+        GameState[] games = new GameState[800];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new GameState("g" + i, GameCode.format(i), 3);
+        }
+        for (int i = 0; i < 400; i++) { // a crowded table, so removed slots get reused
+            index.putIfAbsent(i, games[i]);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> wrong = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                Random random = new Random();
+                while (!done.get()) {
+                    int code = random.nextInt(games.length);
+                    GameState game = index.get(code);
+                    if (game != null && game != games[code]) {
+                        wrong.compareAndSet(null, GameCode.format(code) + " -> " + game.getCode());
+                    }
+                }
+            }));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 500_000; i++) { // swap a live code for a dead one, keeping the table crowded
+            int out = random.nextInt(games.length);
+            int in = random.nextInt(games.length);
+            if (index.remove(out, games[out])) {
+                index.putIfAbsent(in, games[in]);
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(wrong.get());
+    }
+
+    @Test
+    void poolNeverRepeatsAndOnlyHandsOutAvailableCodes() {
+        Set<Integer> taken = ConcurrentHashMap.newKeySet();
+        // like a node owning one code in 16, with every code it has handed out still in use
+        GameCodePool pool = new GameCodePool(64, code -> code % 16 == 3 && !taken.contains(code), new Random(42));
+
+        for (int i = 0; i < 20_000; i++) {
+            int code = pool.take();
+            assertEquals(3, code % 16);
+            assertTrue(taken.add(code), "code handed out twice");
+        }
+    }
+
+    @Test
+    void poolSkipsCodesThatStoppedBeingAvailable() {
+        GameCodePool reference = new GameCodePool(64, code -> true, new Random(7));
+        int first = reference.take();
+        int second = reference.take();
+
+        Set<Integer> inUse = ConcurrentHashMap.newKeySet();
+        GameCodePool pool = new GameCodePool(64, code -> !inUse.contains(code), new Random(7));
+        assertEquals(first, pool.take());
+        inUse.add(second); // e.g. an imported game, after the pool picked the code
+        int next = pool.take();
+        assertNotEquals(second, next);
+        assertNotEquals(first, next);
+    }
+}
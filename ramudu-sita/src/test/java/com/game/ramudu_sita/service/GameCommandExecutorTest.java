@@ -0,0 +1,129 @@
+package com.game.ramudu_sita.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCommandExecutorTest {
+
+    private final GameCommandExecutor executor = new GameCommandExecutor();
+
+    @BeforeEach
+    void registerGames() {
+        for (String gameId : List.of("game-1", "game-a", "game-b", "game-x")) {
+            executor.register(gameId);
+        }
+    }
+
+    @Test
+    void commandsForSameGameNeverOverlap() throws Exception {
+        int[] counter = {0}; // deliberately unsynchronized
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    executor.execute("game-1", () -> counter[0]++);
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        assertEquals(8_000, counter[0]);
+    }
+
+    @Test
+    void differentGamesRunInParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        Future<Boolean> a = callers.submit(() -> executor.execute("game-a", () -> awaitOther(bothRunning)));
+        Future<Boolean> b = callers.submit(() -> executor.execute("game-b", () -> awaitOther(bothRunning)));
+
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertTrue(b.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+
+    @Test
+    void commandExceptionsPropagateToCaller() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> executor.execute("game-x", () -> {
+                    throw new IllegalStateException("Only host can start game");
+                }));
+        assertEquals("Only host can start game", ex.getMessage());
+
+        // mailbox keeps working after a failed command
+        assertEquals(42, executor.execute("game-x", () -> 42));
+    }
+
+    @Test
+    void unknownOrRemovedGamesGetNoMailbox() {
+        assertThrows(IllegalArgumentException.class, () -> executor.execute("game-unknown", () -> 1));
+        assertFalse(executor.executeIfPresent("game-unknown", () -> fail("ran")));
+
+        executor.remove("game-x");
+        assertThrows(IllegalArgumentException.class, () -> executor.execute("game-x", () -> 1));
+        assertEquals(-1, executor.executeIfPresent("game-x", () -> 1, -1));
+    }
+
+    @Test
+    void commandsQueuedBehindRemovalAreRejected() throws Exception {
+        CompletableFuture<Boolean> late = new CompletableFuture<>();
+        Thread caller = new Thread(() -> late.complete(executor.executeIfPresent("game-x", () -> { })));
+
+        executor.execute("game-x", () -> {
+            caller.start();
+            // blocked on its result means it is queued behind this command
+            while (caller.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            executor.remove("game-x");
+        });
+
+        assertFalse(late.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nestedCommandForSameGameRunsInline() {
+        List<String> order = new ArrayList<>();
+
+        int result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> executor.execute("game-1", () -> {
+            order.add("outer");
+            int inner = executor.execute("game-1", () -> {
+                order.add("inner");
+                return 41;
+            });
+            order.add("outer again");
+            return inner + 1;
+        }));
+
+        assertEquals(42, result);
+        assertEquals(List.of("outer", "inner", "outer again"), order);
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.model.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceCleanupTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getGames().setIdleTtl(Duration.ofMillis(400));
+        props.getGames().setFinishedTtl(Duration.ofMillis(100));
+        gameService = new GameService(messagingTemplate, props);
+    }
+
+    @Test
+    void nothingIsEvictedBeforeItsDeadline() {
+        var game = gameService.createGame("Host", 3, null);
+
+        assertEquals(0, gameService.cleanupOldGames());
+        assertNotNull(gameService.getGame(game.gameId()));
+    }
+
+    @Test
+    void idleGamesAreEvictedAfterIdleTtl() throws InterruptedException {
+        var game = gameService.createGame("Host", 3, null);
+
+        Thread.sleep(450);
+
+        assertEquals(1, gameService.cleanupOldGames());
+        assertNull(gameService.getGame(game.gameId()));
+        assertThrows(IllegalArgumentException.class, () -> gameService.joinGame(game.code(), "Late"));
+    }
+
+    @Test
+    void finishedGamesUseTheShorterTtl() throws InterruptedException {
+        var finished = gameService.createGame("A", 3, null);
+        var lobby = gameService.createGame("B", 3, null);
+        gameService.getGame(finished.gameId()).setStatus(GameStatus.FINISHED);
+
+        Thread.sleep(150);
+
+        assertEquals(1, gameService.cleanupOldGames());
+        assertNull(gameService.getGame(finished.gameId()));
+        assertNotNull(gameService.getGame(lobby.gameId()));
+    }
+
+    @Test
+    void activityPushesTheDeadlineBack() throws InterruptedException {
+        var game = gameService.createGame("Host", 3, null);
+
+        Thread.sleep(250);
+        gameService.joinGame(game.code(), "P2"); // broadcasts, which touches the game
+        Thread.sleep(250);
+
+        // original deadline has passed, but the game was active since
+        assertEquals(0, gameService.cleanupOldGames());
+        assertNotNull(gameService.getGame(game.gameId()));
+
+        Thread.sleep(200);
+        assertEquals(1, gameService.cleanupOldGames());
+    }
+
+    @Test
+    void evictingAnUnfinishedGameFreesTheCreatorSlot() throws InterruptedException {
+        String ip = "3.3.3.3";
+        for (int i = 0; i < 5; i++) {
+            gameService.createGame("Host-" + i, 3, ip);
+        }
+        assertThrows(IllegalStateException.class, () -> gameService.createGame("Overflow", 3, ip));
+
+        Thread.sleep(450);
+        assertEquals(5, gameService.cleanupOldGames());
+
+        assertDoesNotThrow(() -> gameService.createGame("Again", 3, ip));
+    }
+}
@@ -59,4 +59,44 @@ class GameServiceSpamTest {
 
         assertDoesNotThrow(() -> service.createGame("C", 3, ip));
     }
+
+    @Test
+    void finishingAGameFreesExactlyOneSlot() {
+        String ip = "7.7.7.7";
+
+        var first = service.createGame("A", 3, ip);
+        for (int i = 0; i < 4; i++) {
+            service.createGame("Host-" + i, 3, ip);
+        }
+
+        service.getGame(first.gameId()).setStatus(GameStatus.FINISHED);
+
+        assertDoesNotThrow(() -> service.createGame("Replacement", 3, ip));
+        assertThrows(IllegalStateException.class, () -> service.createGame("Overflow", 3, ip));
+    }
+
+    @Test
+    void limitIsTrackedPerCreator() {
+        for (int i = 0; i < 5; i++) {
+            service.createGame("Host-" + i, 3, "1.1.1.1");
+        }
+
+        assertDoesNotThrow(() -> service.createGame("Other", 3, "2.2.2.2"));
+    }
+
+    @Test
+    void failedCreateDoesNotKeepItsSlot() {
+        String ip = "3.3.3.3";
+        service.setCodeOwnership(code -> {
+            throw new IllegalStateException("Cluster membership unavailable");
+        });
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalStateException.class, () -> service.createGame("Unlucky", 3, ip));
+        }
+
+        service.setCodeOwnership(code -> true);
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> service.createGame("Host", 3, ip));
+        }
+    }
 }
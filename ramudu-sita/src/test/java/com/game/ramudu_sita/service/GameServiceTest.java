@@ -1,8 +1,10 @@
 package com.game.ramudu_sita.service;
 
 import com.game.ramudu_sita.api.dto.MyStateResponse;
+import com.game.ramudu_sita.api.dto.PlayerIds;
 import com.game.ramudu_sita.model.ChitType;
 import com.game.ramudu_sita.model.GameStatus;
+import com.game.ramudu_sita.model.Player;
 import com.game.ramudu_sita.model.RoundStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,15 +38,15 @@ class GameServiceTest {
 
         assertNotNull(result.gameId());
         assertNotNull(result.code());
-        assertNotNull(result.playerId());
+        assertEquals(0, result.seat());
 
-        MyStateResponse myState = gameService.getMyState(result.gameId(), result.playerId());
+        MyStateResponse myState = gameService.getMyState(result.gameId(), result.seat());
         assertEquals(GameStatus.LOBBY, myState.getGameStatus());
         assertEquals(5, myState.getTotalRounds());
         assertEquals(1, myState.getPlayers().size());
 
         var me = myState.getMe();
-        assertEquals(result.playerId(), me.id());
+        assertEquals(PlayerIds.format(result.seat()), me.id());
         assertEquals("Host", me.name());
         assertTrue(me.host());
         assertEquals(0, me.totalScore());
@@ -55,16 +57,27 @@ class GameServiceTest {
         var create = gameService.createGame("Host", 5, null);
         var join = gameService.joinGame(create.code(), "Player2");
 
-        assertNotNull(join.playerId());
+        assertEquals(1, join.seat());
         assertEquals(create.gameId(), join.gameId());
 
-        MyStateResponse hostState = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse p2State = gameService.getMyState(create.gameId(), join.playerId());
+        MyStateResponse hostState = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse p2State = gameService.getMyState(create.gameId(), join.seat());
 
         assertEquals(2, hostState.getPlayers().size());
         assertEquals(2, p2State.getPlayers().size());
     }
 
+    @Test
+    void createAndJoin_rejectBlankOrOverlongNames() {
+        String overlong = "x".repeat(Player.MAX_NAME_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> gameService.createGame(overlong, 5, null));
+        assertThrows(IllegalArgumentException.class, () -> gameService.createGame(" ", 5, null));
+
+        var create = gameService.createGame("x".repeat(Player.MAX_NAME_LENGTH), 5, null);
+        assertThrows(IllegalArgumentException.class, () -> gameService.joinGame(create.code(), overlong));
+        assertEquals(1, gameService.getMyState(create.gameId(), create.seat()).getPlayers().size());
+    }
+
     @Test
     void startGame_requiresHost() {
         var create = gameService.createGame("Host", 5, null);
@@ -72,7 +85,7 @@ class GameServiceTest {
 
         // starting with non-host should fail
         assertThrows(IllegalStateException.class,
-                () -> gameService.startGame(create.gameId(), join1.playerId()));
+                () -> gameService.startGame(create.gameId(), join1.seat()));
     }
 
     @Test
@@ -81,7 +94,7 @@ class GameServiceTest {
         // only 1 player (host)
 
         assertThrows(IllegalStateException.class,
-                () -> gameService.startGame(create.gameId(), create.playerId()));
+                () -> gameService.startGame(create.gameId(), create.seat()));
     }
 
     @Test
@@ -90,12 +103,12 @@ class GameServiceTest {
         var join1 = gameService.joinGame(create.code(), "P2");
         var join2 = gameService.joinGame(create.code(), "P3");
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
         // each player sees a chit & round info
-        MyStateResponse hostState = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse p2State = gameService.getMyState(create.gameId(), join1.playerId());
-        MyStateResponse p3State = gameService.getMyState(create.gameId(), join2.playerId());
+        MyStateResponse hostState = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse p2State = gameService.getMyState(create.gameId(), join1.seat());
+        MyStateResponse p3State = gameService.getMyState(create.gameId(), join2.seat());
 
         assertEquals(GameStatus.IN_ROUND, hostState.getGameStatus());
         assertEquals(1, hostState.getCurrentRoundNumber());
@@ -122,12 +135,12 @@ class GameServiceTest {
         var join1 = gameService.joinGame(create.code(), "P2");
         var join2 = gameService.joinGame(create.code(), "P3");
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
         // find Ramudu & Sita by inspecting each player's chit
-        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.playerId());
-        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.playerId());
+        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.seat());
+        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.seat());
 
         var allStates = List.of(sHost, sP2, sP3);
 
@@ -144,10 +157,10 @@ class GameServiceTest {
                 .orElseThrow();
 
         // Ramudu guesses correctly
-        gameService.makeGuess(create.gameId(), ramuduPlayerId, sitaPlayerId);
+        gameService.makeGuess(create.gameId(), PlayerIds.parse(ramuduPlayerId), PlayerIds.parse(sitaPlayerId));
 
         // After single round, game should be FINISHED
-        MyStateResponse anyState = gameService.getMyState(create.gameId(), create.playerId());
+        MyStateResponse anyState = gameService.getMyState(create.gameId(), create.seat());
         assertEquals(GameStatus.FINISHED, anyState.getGameStatus());
         assertEquals(1, anyState.getCurrentRoundNumber());
 
@@ -165,17 +178,44 @@ class GameServiceTest {
         assertTrue(totals.get(thirdPlayerId) > 0);
     }
 
+    @Test
+    void statusCounts_followGamesThroughTheirLifecycle() {
+        var create = gameService.createGame("Host", 1, null);
+        var join1 = gameService.joinGame(create.code(), "P2");
+        var join2 = gameService.joinGame(create.code(), "P3");
+        assertEquals(1, gameService.countGames(GameStatus.LOBBY));
+
+        gameService.startGame(create.gameId(), create.seat());
+        assertEquals(0, gameService.countGames(GameStatus.LOBBY));
+        assertEquals(1, gameService.countGames(GameStatus.IN_ROUND));
+
+        List<MyStateResponse> states = List.of(
+                gameService.getMyState(create.gameId(), create.seat()),
+                gameService.getMyState(create.gameId(), join1.seat()),
+                gameService.getMyState(create.gameId(), join2.seat()));
+        String ramudu = states.stream().filter(s -> s.getMyChit() == ChitType.RAMUDU)
+                .map(s -> s.getMe().id()).findFirst().orElseThrow();
+        String sita = states.stream().filter(s -> s.getMyChit() == ChitType.SITA)
+                .map(s -> s.getMe().id()).findFirst().orElseThrow();
+        gameService.makeGuess(create.gameId(), PlayerIds.parse(ramudu), PlayerIds.parse(sita));
+
+        assertEquals(0, gameService.countGames(GameStatus.IN_ROUND));
+        assertEquals(0, gameService.countGames(GameStatus.REVEAL));
+        assertEquals(1, gameService.countGames(GameStatus.FINISHED));
+        assertEquals(1, gameService.gameCount());
+    }
+
     @Test
     void makeGuess_incorrectGuess_setsRamuduZeroAndSitaThousand() {
         var create = gameService.createGame("Host", 1, null);
         var join1 = gameService.joinGame(create.code(), "P2");
         var join2 = gameService.joinGame(create.code(), "P3");
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
-        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.playerId());
-        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.playerId());
+        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.seat());
+        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.seat());
 
         var allStates = List.of(sHost, sP2, sP3);
 
@@ -198,9 +238,9 @@ class GameServiceTest {
                 .findFirst()
                 .orElseThrow();
 
-        gameService.makeGuess(create.gameId(), ramuduPlayerId, wrongTargetId);
+        gameService.makeGuess(create.gameId(), PlayerIds.parse(ramuduPlayerId), PlayerIds.parse(wrongTargetId));
 
-        MyStateResponse anyState = gameService.getMyState(create.gameId(), create.playerId());
+        MyStateResponse anyState = gameService.getMyState(create.gameId(), create.seat());
         Map<String, Integer> totals = anyState.getPlayers().stream()
                 .collect(Collectors.toMap(MyStateResponse.PlayerView::id,
                         MyStateResponse.PlayerView::totalScore));
@@ -217,11 +257,11 @@ class GameServiceTest {
         var join1 = gameService.joinGame(create.code(), "P2");
         var join2 = gameService.joinGame(create.code(), "P3");
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
-        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.playerId());
-        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.playerId());
+        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.seat());
+        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.seat());
 
         var allStates = List.of(sHost, sP2, sP3);
 
@@ -241,7 +281,31 @@ class GameServiceTest {
         String someTarget = ramuduPlayerId; // doesn't matter
 
         assertThrows(IllegalStateException.class,
-                () -> gameService.makeGuess(create.gameId(), nonRamuduId, someTarget));
+                () -> gameService.makeGuess(create.gameId(), PlayerIds.parse(nonRamuduId), PlayerIds.parse(someTarget)));
+    }
+
+    @Test
+    void makeGuess_atEmptySeatThrows() {
+        var create = gameService.createGame("Host", 1, null);
+        gameService.joinGame(create.code(), "P2");
+        gameService.joinGame(create.code(), "P3");
+        gameService.startGame(create.gameId(), create.seat());
+
+        int ramudu = gameService.getGame(create.gameId()).getCurrentRound().getRamuduSeat();
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.makeGuess(create.gameId(), ramudu, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.makeGuess(create.gameId(), ramudu, PlayerIds.parse("stranger")));
+    }
+
+    @Test
+    void playerIdsRoundTripAndRejectAnythingElse() {
+        for (int seat : new int[]{0, 4, 15, 16, 123}) {
+            assertEquals(seat, PlayerIds.parse(PlayerIds.format(seat)));
+        }
+        for (String id : new String[]{null, "", "p", "0", "p-1", "p01", "q1", "p1x", "p12345"}) {
+            assertEquals(PlayerIds.NONE, PlayerIds.parse(id), id);
+        }
     }
 
     @Test
@@ -250,11 +314,11 @@ class GameServiceTest {
         var join1 = gameService.joinGame(create.code(), "P2");
         var join2 = gameService.joinGame(create.code(), "P3");
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
-        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.playerId());
-        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.playerId());
+        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.seat());
+        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.seat());
 
         var allStates = List.of(sHost, sP2, sP3);
 
@@ -271,26 +335,28 @@ class GameServiceTest {
                 .orElseThrow();
 
         // first guess (valid)
-        gameService.makeGuess(create.gameId(), ramuduPlayerId, sitaPlayerId);
+        gameService.makeGuess(create.gameId(), PlayerIds.parse(ramuduPlayerId), PlayerIds.parse(sitaPlayerId));
 
         // second guess in same game should fail (round is completed / game finished)
         assertThrows(IllegalStateException.class,
-                () -> gameService.makeGuess(create.gameId(), ramuduPlayerId, sitaPlayerId));
+                () -> gameService.makeGuess(create.gameId(), PlayerIds.parse(ramuduPlayerId), PlayerIds.parse(sitaPlayerId)));
     }
 
     @Test
-    void startGame_withTooManyPlayersForChitsThrows() {
-        // we only have 5 chits in CHITS; add 6 players total
+    void joinGame_beyondOnePlayerPerChitIsRejected() {
+        // we only have 5 chits in CHITS; a 6th player would leave startGame unable to deal
         var create = gameService.createGame("Host", 1, null);
         gameService.joinGame(create.code(), "P2");
         gameService.joinGame(create.code(), "P3");
         gameService.joinGame(create.code(), "P4");
         gameService.joinGame(create.code(), "P5");
-        gameService.joinGame(create.code(), "P6"); // now 6 players
 
-        // distributeChits inside startGame should blow up
         assertThrows(IllegalStateException.class,
-                () -> gameService.startGame(create.gameId(), create.playerId()));
+                () -> gameService.joinGame(create.code(), "P6"));
+
+        // so a full game still starts
+        gameService.startGame(create.gameId(), create.seat());
+        assertEquals(GameStatus.IN_ROUND, gameService.getMyState(create.gameId(), create.seat()).getGameStatus());
     }
 }
 
@@ -1,7 +1,11 @@
 package com.game.ramudu_sita.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.ramudu_sita.api.dto.GamePublicState;
 import com.game.ramudu_sita.api.dto.MyStateResponse;
+import com.game.ramudu_sita.api.dto.PlayerIds;
+import com.game.ramudu_sita.config.AppProperties;
+import com.game.ramudu_sita.config.PlayerPrincipal;
 import com.game.ramudu_sita.model.GameStatus;
 import com.game.ramudu_sita.model.RoundStatus;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,23 +28,39 @@ class GameServiceWebSocketEventsTest {
 
     private GameService gameService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @BeforeEach
     void setUp() {
         gameService = new GameService(messagingTemplate);
     }
 
+    // public state is sent pre-serialized (see GameBroadcaster)
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Message<byte[]>> messageCaptor() {
+        return ArgumentCaptor.forClass(Message.class);
+    }
+
+    private GamePublicState decode(Message<byte[]> message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), GamePublicState.class);
+        } catch (java.io.IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     @Test
     void createGame_broadcastsLobbyStateToTopic() {
         var result = gameService.createGame("Host", 3, null);
 
         ArgumentCaptor<String> destCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<GamePublicState> payloadCaptor = ArgumentCaptor.forClass(GamePublicState.class);
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
 
         verify(messagingTemplate, atLeastOnce())
-                .convertAndSend(destCaptor.capture(), payloadCaptor.capture());
+                .send(destCaptor.capture(), payloadCaptor.capture());
 
         String destination = destCaptor.getValue();
-        GamePublicState state = payloadCaptor.getValue();
+        GamePublicState state = decode(payloadCaptor.getValue());
 
         assertEquals("/topic/games/" + result.gameId() + "/state", destination);
         assertEquals(result.gameId(), state.getGameId());
@@ -60,13 +81,13 @@ class GameServiceWebSocketEventsTest {
         var join = gameService.joinGame(create.code(), "P2");
 
         ArgumentCaptor<String> destCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<GamePublicState> payloadCaptor = ArgumentCaptor.forClass(GamePublicState.class);
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
 
         verify(messagingTemplate, atLeastOnce())
-                .convertAndSend(destCaptor.capture(), payloadCaptor.capture());
+                .send(destCaptor.capture(), payloadCaptor.capture());
 
         String destination = destCaptor.getValue();
-        GamePublicState state = payloadCaptor.getValue();
+        GamePublicState state = decode(payloadCaptor.getValue());
 
         assertEquals("/topic/games/" + create.gameId() + "/state", destination);
         assertEquals(2, state.getPlayers().size());
@@ -83,15 +104,15 @@ class GameServiceWebSocketEventsTest {
 
         reset(messagingTemplate);
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
         ArgumentCaptor<String> destCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<GamePublicState> payloadCaptor = ArgumentCaptor.forClass(GamePublicState.class);
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
 
         verify(messagingTemplate, atLeastOnce())
-                .convertAndSend(destCaptor.capture(), payloadCaptor.capture());
+                .send(destCaptor.capture(), payloadCaptor.capture());
 
-        GamePublicState state = payloadCaptor.getValue();
+        GamePublicState state = decode(payloadCaptor.getValue());
 
         assertEquals(create.gameId(), state.getGameId());
         assertEquals(GameStatus.IN_ROUND, state.getGameStatus());
@@ -107,12 +128,12 @@ class GameServiceWebSocketEventsTest {
         var join1 = gameService.joinGame(create.code(), "P2");
         var join2 = gameService.joinGame(create.code(), "P3");
 
-        gameService.startGame(create.gameId(), create.playerId());
+        gameService.startGame(create.gameId(), create.seat());
 
         // Find ramudu and sita using existing API
-        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.playerId());
-        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.playerId());
-        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.playerId());
+        MyStateResponse sHost = gameService.getMyState(create.gameId(), create.seat());
+        MyStateResponse sP2 = gameService.getMyState(create.gameId(), join1.seat());
+        MyStateResponse sP3 = gameService.getMyState(create.gameId(), join2.seat());
 
         var allStates = java.util.List.of(sHost, sP2, sP3);
 
@@ -130,19 +151,124 @@ class GameServiceWebSocketEventsTest {
 
         reset(messagingTemplate);
 
-        gameService.makeGuess(create.gameId(), ramuduPlayerId, sitaPlayerId);
+        gameService.makeGuess(create.gameId(), PlayerIds.parse(ramuduPlayerId), PlayerIds.parse(sitaPlayerId));
 
         ArgumentCaptor<String> destCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<GamePublicState> payloadCaptor = ArgumentCaptor.forClass(GamePublicState.class);
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
 
         verify(messagingTemplate, atLeastOnce())
-                .convertAndSend(destCaptor.capture(), payloadCaptor.capture());
+                .send(destCaptor.capture(), payloadCaptor.capture());
 
-        GamePublicState finalState = payloadCaptor.getValue();
+        GamePublicState finalState = decode(payloadCaptor.getValue());
         assertEquals(GameStatus.FINISHED, finalState.getGameStatus());
         assertEquals(1, finalState.getCurrentRoundNumber());
         assertNotNull(finalState.getLastRoundScoreDelta());
         assertFalse(finalState.getLastRoundScoreDelta().isEmpty());
     }
-}
 
+    @Test
+    void makeGuess_midGame_sendsRevealThenOneStateForNextRound() {
+        var create = gameService.createGame("Host", 2, null);
+        var join1 = gameService.joinGame(create.code(), "P2");
+        var join2 = gameService.joinGame(create.code(), "P3");
+        gameService.startGame(create.gameId(), create.seat());
+
+        var players = java.util.List.of(create.seat(), join1.seat(), join2.seat());
+        int ramudu = playerWithChit(create.gameId(), players, "RAMUDU");
+        int sita = playerWithChit(create.gameId(), players, "SITA");
+
+        reset(messagingTemplate);
+
+        gameService.makeGuess(create.gameId(), ramudu, sita);
+
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
+        verify(messagingTemplate, times(2))
+                .send(eq("/topic/games/" + create.gameId() + "/state"), payloadCaptor.capture());
+
+        // REVEAL still goes out on its own, then round 2 is dealt in the same command
+        GamePublicState reveal = decode(payloadCaptor.getAllValues().get(0));
+        GamePublicState next = decode(payloadCaptor.getAllValues().get(1));
+        assertEquals(GameStatus.REVEAL, reveal.getGameStatus());
+        assertFalse(reveal.getLastRoundScoreDelta().isEmpty());
+        assertEquals(GameStatus.IN_ROUND, next.getGameStatus());
+        assertEquals(2, next.getCurrentRoundNumber());
+        assertTrue(next.getVersion() > reveal.getVersion());
+
+        // private states only for the state the command ended in
+        for (int seat : players) {
+            ArgumentCaptor<MyStateResponse> captor = ArgumentCaptor.forClass(MyStateResponse.class);
+            verify(messagingTemplate).convertAndSendToUser(eq(PlayerPrincipal.name(create.gameId(), seat)),
+                    eq("/queue/games/" + create.gameId() + "/me"), captor.capture());
+            assertEquals(2, captor.getValue().getCurrentRoundNumber());
+        }
+    }
+
+    @Test
+    void coalesceWindow_mergesJoinBurstIntoOneSend() {
+        AppProperties props = new AppProperties();
+        props.getBroadcast().setCoalesceWindow(java.time.Duration.ofMillis(300));
+        gameService = new GameService(messagingTemplate, props);
+
+        var create = gameService.createGame("Host", 3, null);
+        gameService.joinGame(create.code(), "P2");
+        gameService.joinGame(create.code(), "P3");
+
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
+        verify(messagingTemplate, after(800).times(1))
+                .send(eq("/topic/games/" + create.gameId() + "/state"), payloadCaptor.capture());
+        assertEquals(3, decode(payloadCaptor.getValue()).getPlayers().size());
+    }
+
+    private int playerWithChit(String gameId, java.util.List<Integer> seats, String chit) {
+        return seats.stream()
+                .filter(seat -> chit.equals(String.valueOf(gameService.getMyState(gameId, seat).getMyChit())))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void startGame_pushesEachPlayerTheirPrivateState() {
+        var create = gameService.createGame("Host", 3, null);
+        var join1 = gameService.joinGame(create.code(), "P2");
+        var join2 = gameService.joinGame(create.code(), "P3");
+
+        reset(messagingTemplate);
+
+        gameService.startGame(create.gameId(), create.seat());
+
+        String destination = "/queue/games/" + create.gameId() + "/me";
+        for (int seat : java.util.List.of(create.seat(), join1.seat(), join2.seat())) {
+            ArgumentCaptor<MyStateResponse> captor = ArgumentCaptor.forClass(MyStateResponse.class);
+            verify(messagingTemplate).convertAndSendToUser(eq(PlayerPrincipal.name(create.gameId(), seat)),
+                    eq(destination), captor.capture());
+
+            MyStateResponse pushed = captor.getValue();
+            assertEquals(PlayerIds.format(seat), pushed.getMe().id());
+            assertEquals(GameStatus.IN_ROUND, pushed.getGameStatus());
+            assertEquals(RoundStatus.WAITING_FOR_RAMUDU, pushed.getRoundStatus());
+            assertNotNull(pushed.getMyChit());
+        }
+    }
+
+    @Test
+    void repeatedPublishOfSameVersionReusesSerializedPayload() {
+        var create = gameService.createGame("Host", 3, null);
+        var game = gameService.getGame(create.gameId());
+        GameBroadcaster broadcaster = new GameBroadcaster(messagingTemplate, objectMapper, null);
+
+        reset(messagingTemplate);
+        broadcaster.publishPublicState(game);
+        broadcaster.publishPublicState(game);
+
+        ArgumentCaptor<Message<byte[]>> payloadCaptor = messageCaptor();
+        verify(messagingTemplate, times(2)).send(eq("/topic/games/" + create.gameId() + "/state"), payloadCaptor.capture());
+        var sent = payloadCaptor.getAllValues();
+        assertSame(sent.get(0).getPayload(), sent.get(1).getPayload());
+
+        // a change bumps the version and produces a fresh payload
+        game.markChanged();
+        broadcaster.publishPublicState(game);
+        verify(messagingTemplate, times(3)).send(eq("/topic/games/" + create.gameId() + "/state"), payloadCaptor.capture());
+        assertNotSame(sent.get(0).getPayload(), payloadCaptor.getValue().getPayload());
+    }
+}
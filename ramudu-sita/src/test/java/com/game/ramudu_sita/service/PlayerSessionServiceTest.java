@@ -0,0 +1,140 @@
+package com.game.ramudu_sita.service;
+
+import com.game.ramudu_sita.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PlayerSessionServiceTest {
+
+    private static AppProperties.Session.SigningKey key(String id, char fill) {
+        AppProperties.Session.SigningKey key = new AppProperties.Session.SigningKey();
+        key.setId(id);
+        key.setSecret(Base64.getUrlEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes()));
+        return key;
+    }
+
+    private static AppProperties.Session stateless(AppProperties.Session.SigningKey... keys) {
+        AppProperties.Session settings = new AppProperties.Session();
+        settings.setStateless(true);
+        settings.setSigningKeys(List.of(keys));
+        return settings;
+    }
+
+    @Test
+    void honoursConfiguredTtl() {
+        AppProperties.Session settings = new AppProperties.Session();
+        settings.setTtlSeconds(60);
+        PlayerSessionService sessions = new PlayerSessionService(settings);
+
+        var session = sessions.createSession("game-1", 1);
+
+        assertTrue(session.expiresAt().isBefore(Instant.now().plus(Duration.ofSeconds(61))));
+        assertEquals(1, sessions.sessionCount());
+    }
+
+    @Test
+    void statelessTokenIsVerifiedWithoutStoringIt() {
+        PlayerSessionService sessions = new PlayerSessionService(stateless(key("k1", 'a')));
+        var created = sessions.createSession("game-1", 1);
+
+        // another node with the same keys accepts it
+        var verified = new PlayerSessionService(stateless(key("k1", 'a')))
+                .requireValidSession(created.token(), "game-1");
+
+        assertEquals(1, verified.seat());
+        assertEquals(created.expiresAt().getEpochSecond(), verified.expiresAt().getEpochSecond());
+        assertEquals(0, sessions.sessionCount());
+        assertThrows(IllegalStateException.class, () -> sessions.requireValidSession(created.token(), "game-2"));
+    }
+
+    @Test
+    void statelessTokenRejectsTamperingAndExpiry() {
+        PlayerSessionService sessions = new PlayerSessionService(stateless(key("k1", 'a')));
+        String token = sessions.createSession("game-1", 1).token();
+
+        String otherPlayer = new PlayerSessionService(stateless(key("k1", 'b')))
+                .createSession("game-1", 2).token();
+        String forged = token.substring(0, token.lastIndexOf('.')) + otherPlayer.substring(otherPlayer.lastIndexOf('.'));
+        assertNull(sessions.findValidSession(forged));
+        assertNull(sessions.findValidSession("k1.garbage"));
+        assertNull(sessions.findValidSession("k1.!!.!!"));
+
+        AppProperties.Session expired = stateless(key("k1", 'a'));
+        expired.setTtlSeconds(-1);
+        String old = new PlayerSessionService(expired).createSession("game-1", 1).token();
+        assertNull(sessions.findValidSession(old));
+    }
+
+    @Test
+    void rotatedKeysKeepVerifyingOldTokens() {
+        String oldToken = new PlayerSessionService(stateless(key("k1", 'a')))
+                .createSession("game-1", 1).token();
+
+        PlayerSessionService rotated = new PlayerSessionService(stateless(key("k2", 'b'), key("k1", 'a')));
+        String newToken = rotated.createSession("game-1", 1).token();
+
+        assertNotNull(rotated.findValidSession(oldToken));
+        assertTrue(newToken.startsWith("k2."));
+        assertNull(new PlayerSessionService(stateless(key("k2", 'b'))).findValidSession(oldToken));
+    }
+
+    @Test
+    void evictingGameDropsItsSessions() throws InterruptedException {
+        AppProperties props = new AppProperties();
+        props.getGames().setIdleTtl(Duration.ofMillis(100));
+        GameService gameService = new GameService(mock(SimpMessagingTemplate.class), props);
+        PlayerSessionService sessions = new PlayerSessionService();
+        gameService.addGameRemovedListener(sessions::removeGameSessions);
+
+        var evicted = gameService.createGame("Host", 3, null);
+        String token = sessions.createSession(evicted.gameId(), evicted.seat()).token();
+        Thread.sleep(150);
+        var live = gameService.createGame("Host", 3, null);
+        String liveToken = sessions.createSession(live.gameId(), live.seat()).token();
+
+        assertEquals(1, gameService.cleanupOldGames());
+
+        assertNull(sessions.findValidSession(token));
+        assertNotNull(sessions.findValidSession(liveToken));
+        assertEquals(1, sessions.sessionCount());
+    }
+
+    @Test
+    void cleanupRemovesOnlyExpiredSessions() throws InterruptedException {
+        AppProperties.Session settings = new AppProperties.Session();
+        settings.setTtlSeconds(1);
+        PlayerSessionService sessions = new PlayerSessionService(settings);
+        sessions.createSession("game-1", 1);
+
+        assertEquals(0, sessions.cleanupExpiredSessions());
+        Thread.sleep(1100);
+        sessions.createSession("game-1", 2);
+
+        assertEquals(1, sessions.cleanupExpiredSessions());
+        assertEquals(1, sessions.sessionCount());
+    }
+
+    @Test
+    void usedSessionSlidesItsExpiry() throws InterruptedException {
+        AppProperties.Session settings = new AppProperties.Session();
+        settings.setTtlSeconds(2);
+        PlayerSessionService sessions = new PlayerSessionService(settings);
+        var created = sessions.createSession("game-1", 1);
+
+        Thread.sleep(1200); // past half the TTL
+        var used = sessions.requireValidSession(created.token(), "game-1");
+        assertTrue(used.expiresAt().isAfter(created.expiresAt()));
+
+        Thread.sleep(1000); // original expiry has passed
+        assertEquals(0, sessions.cleanupExpiredSessions());
+        assertNotNull(sessions.findValidSession(created.token()));
+    }
+}
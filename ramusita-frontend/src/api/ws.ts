@@ -3,7 +3,8 @@ import { WS_BASE_URL } from "../config";
 
 export function createStompClient(
   gameId: string,
-  onState: (state: any) => void
+  onState: (state: any) => void,
+  onMyState: (myState: any) => void
 ) {
   const client = new Client({
     brokerURL: WS_BASE_URL,
@@ -12,6 +13,11 @@ export function createStompClient(
       client.subscribe(`/topic/games/${gameId}/state`, (msg) => {
         onState(JSON.parse(msg.body));
       });
+      // private view (my chit, scores) pushed by the server after every update;
+      // the handshake's PLAYER_TOKEN cookie tells the server who we are
+      client.subscribe(`/user/queue/games/${gameId}/me`, (msg) => {
+        onMyState(JSON.parse(msg.body));
+      });
     },
   });
 
@@ -47,8 +47,8 @@ export const useGameStore = create<GameState>((set, get) => {
     };
 
     const attachWebSocket = (gameId: string) => {
-        const stomp = createStompClient(gameId, async (publicState: any) => {
-            // 1) Update state + round history based on *public* state
+        const onPublicState = (publicState: any) => {
+            // Update state + round history based on *public* state
             set((current) => {
                 const roundHistory = [...(current.roundHistory || [])];
 
@@ -79,18 +79,28 @@ export const useGameStore = create<GameState>((set, get) => {
 
                 return {
                     ...current,
-                    state: publicState,
+                    // keep private fields (myChit, ...) until the pushed /me view replaces them
+                    state: {
+                        ...(current.state || {}),
+                        ...publicState,
+                    },
                     roundHistory,
                 };
             });
+        };
 
-            // 2) immediately overlay private view (/me) to restore myChit etc.
-            try {
-                await refreshMyState();
-            } catch (e) {
-                console.warn("Failed to overlay /me on WS state", e);
-            }
-        });
+        // private view pushed on /user/queue/games/{id}/me right after each public update
+        const onMyState = (my: any) => {
+            set((current) => ({
+                me: my.me,
+                state: {
+                    ...(current.state || {}),
+                    ...my,
+                },
+            }));
+        };
+
+        const stomp = createStompClient(gameId, onPublicState, onMyState);
 
         return stomp;
     };
@@ -156,7 +166,7 @@ export const useGameStore = create<GameState>((set, get) => {
             const { gameId } = get();
             if (!gameId) return;
             await http.post(`/games/${gameId}/start`);
-            // WS + refreshMyState will handle UI updates
+            // WS public + private pushes will handle UI updates
         },
 
         async leaveGame() {
@@ -193,7 +203,7 @@ export const useGameStore = create<GameState>((set, get) => {
             await http.post(`/games/${gameId}/rounds/current/guess`, {
                 guessedPlayerId: playerId,
             });
-            // WS + refreshMyState will handle REVEAL/FINISHED
+            // WS public + private pushes will handle REVEAL/FINISHED
         },
 
         async restoreFromStorage() {
@@ -215,6 +225,10 @@ export const useGameStore = create<GameState>((set, get) => {
                 const meRes = await http.get(`/games/${gameId}/me`);
                 const my = meRes.data;
 
+                // rounds played before the reload; the browser revalidates it by ETag
+                const roundsRes = await http.get(`/games/${gameId}/rounds`);
+                const roundHistory: RoundHistoryEntry[] = roundsRes.data.rounds;
+
                 const stomp = attachWebSocket(gameId);
 
                 set({
@@ -223,7 +237,7 @@ export const useGameStore = create<GameState>((set, get) => {
                     me: my.me,
                     state: my,
                     stomp,
-                    roundHistory: [], // start fresh
+                    roundHistory,
                 });
             } catch (e) {
                 console.warn("Failed to restore /me, clearing storage", e);